@@ -3,11 +3,16 @@ package hexagon.core;
 import java.util.Optional;
 
 import hexagon.core.components.Component;
+import hexagon.core.states.EntityRegistry;
 import hexagon.core.states.GameState;
 
 /**
  * Represents an entity in the ECS system.
  * Entities are references to the components they "store".
+ * <p>
+ * 	Every entity is identified by an {@code int} handle made of an index and a generation.
+ * 	Indices of destroyed entities are reused, the generation allows to tell stale entities apart.
+ * </p>
  * 
  * @author Nico
  */
@@ -15,14 +20,67 @@ public final class GameEntity {
 
 	/**State this entity is in */
 	private final GameState state;
+	/**Entity handle, contains the entity's index and generation */
+	private final int handle;
 
 	/**
 	 * Creates a new entity.
+	 * Entities should be created with {@link GameState#createEntity()},
+	 * which allocates a valid handle.
 	 * 
 	 * @param state The game state the entity is in
+	 * @param handle The entity's handle
 	 */
-	public GameEntity(GameState state) {
+	public GameEntity(GameState state, int handle) {
 		this.state = state;
+		this.handle = handle;
+	}
+
+	/**
+	 * Gets this entity's handle.
+	 * 
+	 * @return An {@code int} containing this entity's index and generation
+	 */
+	public int handle() {
+		return this.handle;
+	}
+
+	/**
+	 * Gets this entity's index.
+	 * Indices are used to index components in the components table
+	 * and are reused when entities are destroyed.
+	 * 
+	 * @return This entity's index
+	 */
+	public int index() {
+		return EntityRegistry.indexOf(this.handle);
+	}
+
+	/**
+	 * Gets this entity's generation.
+	 * 
+	 * @return The number of times this entity's index was reused
+	 */
+	public int generation() {
+		return EntityRegistry.generationOf(this.handle);
+	}
+
+	/**
+	 * Checks if this entity is still alive,
+	 * i.e., if it has not been destroyed.
+	 * 
+	 * @return True if this entity is alive, false if it was destroyed
+	 */
+	public boolean isAlive() {
+		return this.state.isAlive(this);
+	}
+
+	/**
+	 * Destroys this entity and removes all of its components.
+	 * The entity is destroyed at the end of the current frame.
+	 */
+	public void destroy() {
+		this.state.destroyEntity(this);
 	}
 
 	/**
@@ -55,7 +113,8 @@ public final class GameEntity {
 
 	/**
 	 * Adds a component to this entity.
-	 * Will store the component in the game state this entity is in.
+	 * Will store the component in the game state this entity is in at the end of the current frame,
+	 * so the component cannot be found with {@link GameEntity#getComponent(Class)} until then.
 	 * 
 	 * @param component The component to add
 	 */
@@ -65,13 +124,23 @@ public final class GameEntity {
 
 	/**
 	 * Removes a component from this entity.
-	 * Marks the requested component to be removed.
-	 * Components marked to be removed will be removed the next frame.
+	 * The component will be removed at the end of the current frame.
 	 * 
 	 * @param <T> Class of the component
 	 * @param type Type of the component to remove
 	 */
 	public <T extends Component> void removeComponent(Class<T> type) {
-		this.getComponent(type).markToRemove();
+		this.state.removeComponent(this, type);
+	}
+
+	/**
+	 * Removes a specific component from this entity.
+	 * The component will be removed at the end of the current frame,
+	 * unless it was replaced by another component of the same type in the meantime.
+	 * 
+	 * @param component The component to remove
+	 */
+	public void removeComponent(Component component) {
+		this.state.removeComponent(this, component);
 	}
 }
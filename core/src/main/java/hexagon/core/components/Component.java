@@ -1,5 +1,6 @@
 package hexagon.core.components;
 
+import hexagon.core.GameEntity;
 import hexagon.utils.json.JsonObject;
 
 /**
@@ -17,6 +18,8 @@ import hexagon.utils.json.JsonObject;
  */
 public abstract class Component {
 	
+	/**The entity that holds this component */
+	private GameEntity entity = null;
 	/**If this component was marked to be removed */
 	private boolean remove = false;
 
@@ -29,21 +32,51 @@ public abstract class Component {
 	 */
 	public abstract void init(JsonObject jsonObject);
 
+	/**
+	 * Gets the entity that holds this component.
+	 * 
+	 * @return The entity this component was added to or {@code null} if it was never added to an entity
+	 */
+	public final GameEntity entity() {
+		return this.entity;
+	}
+
+	/**
+	 * Sets the entity that holds this component.
+	 * Called from the game state when the component is added.
+	 * 
+	 * @param entity The entity this component is added to
+	 */
+	public final void setEntity(GameEntity entity) {
+		this.entity = entity;
+		this.remove = false;
+	}
+
 	/**
 	 * Marks this component to be removed.
-	 * Components marked to be removed will be removed the next frame.
+	 * Components marked to be removed will be removed at the end of the current frame,
+	 * unless the entity's component was replaced by a different one in the meantime.
 	 * Components cannot be removed directly to avoid concurrent modification.
 	 */
 	public final void markToRemove() {
-		this.remove = true;
+		if(!this.remove) {
+			this.remove = true;
+			if(this.entity != null) {
+				this.entity.removeComponent(this);
+			}
+		}
 	}
 
 	/**
 	 * Checks if this component was marked to be removed,
-	 * i.e., if {@link Component#markToRemove} was called this frame.
+	 * i.e., if {@link Component#markToRemove} was called since it was added to an entity.
+	 * 
+	 * @deprecated Removal is now recorded in the state's command buffer,
+	 * 		use {@link GameEntity#getComponent(Class)} to check if the component is still attached.
 	 * 
 	 * @return True if this component was marked to be removed, otherwise false.
 	 */
+	@Deprecated
 	public final boolean markedForRemoval() {
 		return this.remove;
 	}
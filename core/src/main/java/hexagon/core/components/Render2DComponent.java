@@ -1,5 +1,11 @@
 package hexagon.core.components;
 
+import hexagon.core.rendering.RenderItem;
+import hexagon.lwjgl.opengl.AbstractTexture;
+import hexagon.lwjgl.opengl.ShaderProgram;
+import hexagon.math.matrix.Matrix4;
+import hexagon.math.vector.Float2;
+import hexagon.math.vector.Float4;
 import hexagon.utils.json.JsonObject;
 
 public abstract class Render2DComponent extends Component {
@@ -15,7 +21,11 @@ public abstract class Render2DComponent extends Component {
 		});
 	}
 
-	public abstract void render(Transform transform);
+	public abstract void render(RenderItem item, Matrix4 transformation);
+
+	public abstract ShaderProgram shader();
+
+	public abstract AbstractTexture texture();
 
 	public int sortingLayer() {
 		return this.sortingLayer;
@@ -24,4 +34,12 @@ public abstract class Render2DComponent extends Component {
 	public int orderInLayer() {
 		return this.orderInLayer;
 	}
+
+	public Float2 offset() {
+		return Float2.ZERO;
+	}
+
+	public Float4 tint() {
+		return Float4.ONE;
+	}
 }
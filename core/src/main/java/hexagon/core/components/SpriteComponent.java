@@ -1,32 +1,31 @@
 package hexagon.core.components;
 
-import hexagon.core.rendering.Camera;
-import hexagon.lwjgl.opengl.DrawCalls;
+import hexagon.core.rendering.RenderItem;
+import hexagon.core.rendering.SpriteBatch;
 import hexagon.lwjgl.opengl.ShaderProgram;
 import hexagon.lwjgl.opengl.Texture;
-import hexagon.lwjgl.opengl.VertexObject;
+import hexagon.math.matrix.Matrix4;
 import hexagon.math.vector.Float2;
+import hexagon.math.vector.Float4;
 import hexagon.utils.json.JsonObject;
 
 /**
  * A component that represents a sprite.
  * Contains a reference to a texture and a reference to a shader.
+ * Sprites are rendered through the {@link SpriteBatch}.
  * 
  * @author Nico
  */
 public final class SpriteComponent extends Render2DComponent {
 
-	private static VertexObject quadModel = VertexObject.with()
-			.attribute(0, new float[] {-0.5f,0.5f, -0.5f,-0.5f, 0.5f,-0.5f, 0.5f,0.5f}, 2)
-			.indices(new int[] {0,1,3, 3,1,2})
-			.create();
-	
 	/**The texture this sprite uses */
 	private Texture texture = Texture.ERROR;
 	/**The shader this sprite uses */
 	private ShaderProgram shader = ShaderProgram.getOrLoad("/shaders/sprites_default.json");
 	/**The offset of the sprite */
 	private Float2 offset = Float2.ZERO;
+	/**The color this sprite is multiplied by */
+	private Float4 tint = Float4.ONE;
 
 	@Override
 	public void init(JsonObject jsonObject) {
@@ -40,18 +39,14 @@ public final class SpriteComponent extends Render2DComponent {
 		jsonObject.getObject("offset").ifPresent(offsetJson -> {
 			this.offset = new Float2(offsetJson.getFloat("x", 0.0f), offsetJson.getFloat("y", 0.0f));
 		});
+		jsonObject.getObject("tint").ifPresent(tintJson -> {
+			this.tint = new Float4(tintJson.getFloat("r", 1.0f), tintJson.getFloat("g", 1.0f), tintJson.getFloat("b", 1.0f), tintJson.getFloat("a", 1.0f));
+		});
 	}
 
 	@Override
-	public void render(Transform transform) {
-		quadModel.bindIfNotBound();
-		this.texture.bindIfNotBound();
-		this.shader.start();
-		this.shader.load("projection_matrix", Camera.main().projection());
-		this.shader.load("view_matrix", Camera.main().view());
-		this.shader.load("transformation_matrix", transform.matrix());
-		this.shader.load("offset", this.offset);
-		DrawCalls.drawElements(6);
+	public void render(RenderItem item, Matrix4 transformation) {
+		SpriteBatch.instance().draw(item.texture(), item.shader(), transformation, item.offset(), item.tint());
 	}
 
 	/**
@@ -59,6 +54,7 @@ public final class SpriteComponent extends Render2DComponent {
 	 * 
 	 * @return A {@link Texture} object
 	 */
+	@Override
 	public Texture texture() {
 		return this.texture;
 	}
@@ -86,6 +82,7 @@ public final class SpriteComponent extends Render2DComponent {
 	 * 
 	 * @return A {@link ShaderProgram} object
 	 */
+	@Override
 	public ShaderProgram shader() {
 		return this.shader;
 	}
@@ -114,6 +111,7 @@ public final class SpriteComponent extends Render2DComponent {
 	 * 
 	 * @return A {@link Float2} vector with the sprite's offset
 	 */
+	@Override
 	public Float2 offset() {
 		return this.offset;
 	}
@@ -158,4 +156,38 @@ public final class SpriteComponent extends Render2DComponent {
 	public void setOffsetY(float y) {
 		this.setOffset(this.offset.x(), y);
 	}
+
+	/**
+	 * Gets this sprite's tint.
+	 * The sprite's texture is multiplied by this color.
+	 * 
+	 * @return A {@link Float4} containing the red, green, blue, and alpha components of the tint
+	 */
+	@Override
+	public Float4 tint() {
+		return this.tint;
+	}
+
+	/**
+	 * Sets this sprite's tint.
+	 * The sprite's texture is multiplied by this color.
+	 * 
+	 * @param tint A {@link Float4} containing the red, green, blue, and alpha components of the tint
+	 */
+	public void setTint(Float4 tint) {
+		this.tint = tint != null ? tint : Float4.ONE;
+	}
+
+	/**
+	 * Sets this sprite's tint.
+	 * The sprite's texture is multiplied by this color.
+	 * 
+	 * @param r Red component
+	 * @param g Green component
+	 * @param b Blue component
+	 * @param a Alpha component
+	 */
+	public void setTint(float r, float g, float b, float a) {
+		this.setTint(new Float4(r, g, b, a));
+	}
 }
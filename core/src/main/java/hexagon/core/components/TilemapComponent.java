@@ -1,14 +1,23 @@
 package hexagon.core.components;
 
+import java.util.Arrays;
+import java.util.Optional;
+
 import hexagon.core.rendering.Camera;
+import hexagon.core.rendering.RenderItem;
+import hexagon.core.rendering.TilemapChunks;
 import hexagon.lwjgl.opengl.ArrayTexture;
+import hexagon.lwjgl.opengl.DataTexture;
 import hexagon.lwjgl.opengl.DrawCalls;
 import hexagon.lwjgl.opengl.ShaderProgram;
 import hexagon.lwjgl.opengl.VertexObject;
 import hexagon.math.geometry.SizeInt;
+import hexagon.math.matrix.Matrix4;
 import hexagon.math.vector.Float2;
-import hexagon.utils.json.JsonArray;
+import hexagon.utils.Log;
+import hexagon.utils.json.JsonNumberReader;
 import hexagon.utils.json.JsonObject;
+import hexagon.utils.resources.ResourceLoadingException;
 
 public class TilemapComponent extends Render2DComponent {
 
@@ -16,6 +25,15 @@ public class TilemapComponent extends Render2DComponent {
 	private ShaderProgram shader = ShaderProgram.getOrLoad("/shaders/tilemaps_default.json");
 	private ArrayTexture tilesetTexture = ArrayTexture.ERROR;
 	private SizeInt tilemapSize = new SizeInt(0, 0);
+	private TilemapChunks chunks = new TilemapChunks(0, 0, TilemapChunks.DEFAULT_CHUNK_SIZE, 0.0f, 0.0f);
+	private int[] visibleChunks = new int[0];
+	private int[] tileIds = new int[0];
+	private float[] vertexTiles = new float[0];
+	private int[] dirtyStart = new int[0];
+	private int[] dirtyEnd = new int[0];
+	private boolean dirty = false;
+	private DataTexture dataTexture;
+	private Float2 origin = new Float2(0.0f, 0.0f);
 
 	@Override
 	public void init(JsonObject jsonObject) {
@@ -29,67 +47,333 @@ public class TilemapComponent extends Render2DComponent {
 		// Tilemap origin
 		JsonObject originJson = jsonObject.getObjectOrEmpty("origin");
 		Float2 origin = new Float2(originJson.getFloat("x", 0.0f), originJson.getFloat("y", 0.0f));
+		this.origin = origin;
 
-		// Vertex data
-		JsonArray tilesJson = jsonObject.getArrayOrEmpty("tiles");
-		float[] vertices = new float[this.width() * this.height() * 6 * 2];
-		float[] tiles = new float[this.width() * this.height() * 6];
-		int vertexPointer = 0, vertexTilePointer = 0, mapTilePointer = 0;
-		for(int y = 0; y < this.height(); y++) {
-			for(int x = 0; x < this.width(); x++) {
-				int tile = tilesJson.getInt(mapTilePointer++).orElse(0);
-				tiles[vertexTilePointer++] = tile; // Top left
-				vertices[vertexPointer++] = origin.x() + x;
-				vertices[vertexPointer++] = origin.y() + y + 1;
-				tiles[vertexTilePointer++] = tile; // Bottom left
-				vertices[vertexPointer++] = origin.x() + x;
-				vertices[vertexPointer++] = origin.y() + y;
-				tiles[vertexTilePointer++] = tile; // Bottom right
-				vertices[vertexPointer++] = origin.x() + x + 1;
-				vertices[vertexPointer++] = origin.y() + y;
-				tiles[vertexTilePointer++] = tile; // Bottom right
-				vertices[vertexPointer++] = origin.x() + x + 1;
-				vertices[vertexPointer++] = origin.y() + y;
-				tiles[vertexTilePointer++] = tile; // Top right
-				vertices[vertexPointer++] = origin.x() + x + 1;
-				vertices[vertexPointer++] = origin.y() + y + 1;
-				tiles[vertexTilePointer++] = tile; // Top left
-				vertices[vertexPointer++] = origin.x() + x;
-				vertices[vertexPointer++] = origin.y() + y + 1;
-			}
+		// Tiles
+		this.chunks = new TilemapChunks(this.width(), this.height(), jsonObject.getInt("chunkSize", TilemapChunks.DEFAULT_CHUNK_SIZE), origin.x(), origin.y());
+		this.visibleChunks = new int[this.chunks.count()];
+		this.tileIds = Arrays.copyOf(this.readTiles(jsonObject), this.width() * this.height());
+
+		// Tiles are stored either in a data texture or in the vertices
+		boolean textureMode = jsonObject.getString("mode", "vertices").equals("texture");
+		int invalidTile = textureMode ? invalidTextureTile(this.tileIds, this.tileIds.length) : -1;
+		if(invalidTile >= 0) {
+			Log.error("Tile id " + this.tileIds[invalidTile] + " cannot be stored in a data texture, using vertices mode");
+		}
+		if(textureMode && invalidTile < 0) {
+			this.createDataTexture(origin);
+		} else {
+			this.createVertices(origin);
 		}
 
-		// Create mesh
-		this.tilemapMesh = VertexObject.with()
-				.attribute(0, vertices, 2)
-				.attribute(1, tiles, 1)
-				.create();
-		
 		// Get tileset
 		jsonObject.getString("tileset").ifPresent(tilesetKey -> {
 			this.tilesetTexture = ArrayTexture.getOrLoad(tilesetKey);
 		});
 	}
 
+	/**
+	 * Used internally to read the tile ids.
+	 * Tiles are either in the "tiles" array or in a separate file containing only an array of numbers,
+	 * which is faster to read for large tilemaps.
+	 * 
+	 * @param jsonObject The component's json object
+	 * 
+	 * @return The tile ids, row by row
+	 */
+	private int[] readTiles(JsonObject jsonObject) {
+		Optional<String> tilesFile = jsonObject.getString("tilesFile");
+		if(tilesFile.isPresent()) {
+			try {
+				return JsonNumberReader.readInts(tilesFile.get());
+			} catch (ResourceLoadingException e) {
+				Log.error("Could not load tiles " + tilesFile.get());
+			}
+		}
+		return jsonObject.getArrayOrEmpty("tiles").toIntArray();
+	}
+
+	/**
+	 * Used internally to find a tile id that cannot be stored in a data texture.
+	 * 
+	 * @param tiles The tile ids
+	 * @param length Number of ids to check
+	 * 
+	 * @return The index of the first id that is not between 0 and {@link DataTexture#MAX_VALUE} or -1 if all ids are valid
+	 */
+	private static int invalidTextureTile(int[] tiles, int length) {
+		for(int i = 0; i < length; i++) {
+			if(tiles[i] < 0 || tiles[i] > DataTexture.MAX_VALUE) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Used internally to create the mesh in vertices mode.
+	 * Every tile has its own quad and its id is stored in the vertices, chunk by chunk.
+	 * 
+	 * @param origin Position of the tilemap's origin
+	 */
+	private void createVertices(Float2 origin) {
+		this.dirtyStart = new int[this.chunks.count()];
+		this.dirtyEnd = new int[this.chunks.count()];
+		float[] vertices = new float[this.chunks.vertexCount() * 2];
+		float[] tiles = new float[this.chunks.vertexCount()];
+		int vertexPointer = 0, vertexTilePointer = 0;
+		for(int chunk = 0; chunk < this.chunks.count(); chunk++) {
+			int chunkX = this.chunks.tileX(chunk), chunkY = this.chunks.tileY(chunk);
+			for(int y = chunkY; y < chunkY + this.chunks.chunkHeight(chunk); y++) {
+				for(int x = chunkX; x < chunkX + this.chunks.chunkWidth(chunk); x++) {
+					int tile = this.tileIds[y * this.width() + x];
+					tiles[vertexTilePointer++] = tile; // Top left
+					vertices[vertexPointer++] = origin.x() + x;
+					vertices[vertexPointer++] = origin.y() + y + 1;
+					tiles[vertexTilePointer++] = tile; // Bottom left
+					vertices[vertexPointer++] = origin.x() + x;
+					vertices[vertexPointer++] = origin.y() + y;
+					tiles[vertexTilePointer++] = tile; // Bottom right
+					vertices[vertexPointer++] = origin.x() + x + 1;
+					vertices[vertexPointer++] = origin.y() + y;
+					tiles[vertexTilePointer++] = tile; // Bottom right
+					vertices[vertexPointer++] = origin.x() + x + 1;
+					vertices[vertexPointer++] = origin.y() + y;
+					tiles[vertexTilePointer++] = tile; // Top right
+					vertices[vertexPointer++] = origin.x() + x + 1;
+					vertices[vertexPointer++] = origin.y() + y + 1;
+					tiles[vertexTilePointer++] = tile; // Top left
+					vertices[vertexPointer++] = origin.x() + x;
+					vertices[vertexPointer++] = origin.y() + y + 1;
+				}
+			}
+		}
+
+		// Create mesh, tiles can be changed later
+		this.vertexTiles = tiles;
+		this.tilemapMesh = VertexObject.with()
+				.attribute(0, vertices, 2)
+				.dynamicAttribute(1, tiles, 1)
+				.create();
+	}
+
+	/**
+	 * Used internally to create the mesh and the data texture in texture mode.
+	 * Every chunk is a single quad and tile ids are stored in a {@code GL_R16UI} texture with one texel per tile.
+	 * 
+	 * @param origin Position of the tilemap's origin
+	 */
+	private void createDataTexture(Float2 origin) {
+		short[] tiles = new short[this.tileIds.length];
+		for(int i = 0; i < tiles.length; i++) {
+			tiles[i] = (short) this.tileIds[i];
+		}
+		this.dataTexture = DataTexture.create(this.width(), this.height(), tiles);
+		float[] vertices = new float[this.chunks.count() * TilemapChunks.VERTICES_PER_TILE * 2];
+		int vertexPointer = 0;
+		for(int chunk = 0; chunk < this.chunks.count(); chunk++) {
+			float left = origin.x() + this.chunks.tileX(chunk);
+			float bottom = origin.y() + this.chunks.tileY(chunk);
+			float right = left + this.chunks.chunkWidth(chunk);
+			float top = bottom + this.chunks.chunkHeight(chunk);
+			float[] quad = {left, top, left, bottom, right, bottom, right, bottom, right, top, left, top};
+			System.arraycopy(quad, 0, vertices, vertexPointer, quad.length);
+			vertexPointer += quad.length;
+		}
+		this.tilemapMesh = VertexObject.with()
+				.attribute(0, vertices, 2)
+				.create();
+		this.shader = ShaderProgram.getOrLoad("/shaders/tilemaps_data_texture.json");
+	}
+
 	@Override
-	public void render(Transform transform) {
+	public void render(RenderItem item, Matrix4 transformation) {
 		this.tilemapMesh.bindIfNotBound();
-		this.tilesetTexture.bindIfNotBound();
-		this.shader.start();
-		this.shader.load("projection_matrix", Camera.main().projection());
-		this.shader.load("view_matrix", Camera.main().view());
-		this.shader.load("transformation_matrix", transform.matrix());
-		DrawCalls.drawTriangles(0, this.width() * this.height() * 6);
+		this.flushTiles();
+		item.texture().bindIfNotBound();
+		item.shader().start();
+		item.shader().load("transformation_matrix", transformation);
+		if(this.dataTexture != null) {
+			this.dataTexture.bindIfNotBound(1);
+			item.shader().load("tile_data", 1);
+			item.shader().load("tilemap_origin", item.offset());
+		}
+		int visible = this.chunks.visibleChunks(transformation.multiply(Camera.main().viewProjection()), this.visibleChunks);
+		for(int i = 0; i < visible; i++) {
+			// Chunks that are next to each other in the mesh are drawn with a single draw call
+			int first = this.firstVertex(this.visibleChunks[i]);
+			int count = this.vertexCount(this.visibleChunks[i]);
+			while(i + 1 < visible && this.visibleChunks[i + 1] == this.visibleChunks[i] + 1) {
+				count += this.vertexCount(this.visibleChunks[++i]);
+			}
+			DrawCalls.drawTriangles(first, count);
+		}
+	}
+
+	/**
+	 * Used internally to get the index of a chunk's first vertex in the mesh.
+	 * 
+	 * @param chunk Index of the chunk
+	 * 
+	 * @return The index of the chunk's first vertex
+	 */
+	private int firstVertex(int chunk) {
+		return this.dataTexture != null ? chunk * TilemapChunks.VERTICES_PER_TILE : this.chunks.firstVertex(chunk);
+	}
+
+	/**
+	 * Used internally to get the number of vertices of a chunk in the mesh.
+	 * 
+	 * @param chunk Index of the chunk
+	 * 
+	 * @return The number of vertices of the chunk
+	 */
+	private int vertexCount(int chunk) {
+		return this.dataTexture != null ? TilemapChunks.VERTICES_PER_TILE : this.chunks.vertexCount(chunk);
+	}
+
+	/**
+	 * Changes a tile in the tilemap.
+	 * The change is uploaded to the GPU the next time the tilemap is rendered.
+	 * In texture mode, ids that are not between 0 and {@link DataTexture#MAX_VALUE} are rejected with an error.
+	 * 
+	 * @param x X coordinate of the tile
+	 * @param y Y coordinate of the tile
+	 * @param tile Id of the new tile
+	 */
+	public synchronized void setTile(int x, int y, int tile) {
+		if(this.dataTexture != null && (tile < 0 || tile > DataTexture.MAX_VALUE)) {
+			Log.error("Tile id " + tile + " cannot be stored in a data texture");
+		} else if(x >= 0 && y >= 0 && x < this.width() && y < this.height() && this.tileIds[y * this.width() + x] != tile) {
+			this.tileIds[y * this.width() + x] = tile;
+			this.markTile(x, y, tile);
+		}
+	}
+
+	/**
+	 * Changes a rectangular region of tiles in the tilemap.
+	 * Tiles outside of the tilemap are ignored.
+	 * The changes are uploaded to the GPU the next time the tilemap is rendered.
+	 * In texture mode, the whole region is rejected with an error if an id is not between 0 and {@link DataTexture#MAX_VALUE}.
+	 * 
+	 * @param x X coordinate of the region's first tile
+	 * @param y Y coordinate of the region's first tile
+	 * @param width Width of the region in tiles
+	 * @param height Height of the region in tiles
+	 * @param tiles Ids of the new tiles, row by row
+	 * 
+	 * @throws IllegalArgumentException If the width or the height are negative or if there are less than {@code width * height} tiles
+	 */
+	public synchronized void setTiles(int x, int y, int width, int height, int[] tiles) {
+		if(width < 0 || height < 0 || tiles == null || tiles.length < (long) width * height) {
+			throw new IllegalArgumentException("Cannot set a region of " + width + "x" + height + " tiles from " + (tiles != null ? tiles.length : 0) + " tiles");
+		}
+		int invalidTile = this.dataTexture != null ? invalidTextureTile(tiles, width * height) : -1;
+		if(invalidTile >= 0) {
+			Log.error("Tile id " + tiles[invalidTile] + " cannot be stored in a data texture");
+			return;
+		}
+		for(int j = Math.max(0, -y); j < height && y + j < this.height(); j++) {
+			for(int i = Math.max(0, -x); i < width && x + i < this.width(); i++) {
+				int tile = tiles[j * width + i];
+				int index = (y + j) * this.width() + x + i;
+				if(this.tileIds[index] != tile) {
+					this.tileIds[index] = tile;
+					this.markTile(x + i, y + j, tile);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets a tile in the tilemap.
+	 * 
+	 * @param x X coordinate of the tile
+	 * @param y Y coordinate of the tile
+	 * 
+	 * @return The id of the tile or 0 if the coordinates are outside of the tilemap
+	 */
+	public synchronized int tile(int x, int y) {
+		if(x >= 0 && y >= 0 && x < this.width() && y < this.height()) {
+			return this.tileIds[y * this.width() + x];
+		}
+		return 0;
+	}
+
+	/**
+	 * Used internally to write a tile in the vertex data and add its vertices to the dirty range of its chunk,
+	 * or to write it in the data texture in texture mode.
+	 * Only called for tiles whose id is different from the one in {@code tileIds}.
+	 * 
+	 * @param x X coordinate of the tile
+	 * @param y Y coordinate of the tile
+	 * @param tile Id of the tile
+	 */
+	private void markTile(int x, int y, int tile) {
+		if(this.dataTexture != null) {
+			this.dataTexture.set(x, y, tile);
+			return;
+		}
+		int vertex = this.chunks.vertexOf(x, y);
+		for(int i = vertex; i < vertex + TilemapChunks.VERTICES_PER_TILE; i++) {
+			this.vertexTiles[i] = tile;
+		}
+		int chunk = this.chunks.chunkOf(x, y);
+		if(this.dirtyStart[chunk] == this.dirtyEnd[chunk]) {
+			this.dirtyStart[chunk] = vertex;
+			this.dirtyEnd[chunk] = vertex + TilemapChunks.VERTICES_PER_TILE;
+		} else {
+			this.dirtyStart[chunk] = Math.min(this.dirtyStart[chunk], vertex);
+			this.dirtyEnd[chunk] = Math.max(this.dirtyEnd[chunk], vertex + TilemapChunks.VERTICES_PER_TILE);
+		}
+		this.dirty = true;
+	}
+
+	/**
+	 * Used internally to upload the tiles that were changed since the last frame.
+	 * Every chunk that was changed is uploaded with a single call.
+	 */
+	private synchronized void flushTiles() {
+		if(this.dataTexture != null) {
+			this.dataTexture.flush();
+		} else if(this.dirty) {
+			for(int chunk = 0; chunk < this.chunks.count(); chunk++) {
+				if(this.dirtyStart[chunk] != this.dirtyEnd[chunk]) {
+					this.tilemapMesh.updateAttribute(1, this.dirtyStart[chunk], this.vertexTiles, this.dirtyEnd[chunk] - this.dirtyStart[chunk]);
+					this.dirtyStart[chunk] = this.dirtyEnd[chunk] = 0;
+				}
+			}
+			this.dirty = false;
+		}
+	}
+
+	public TilemapChunks chunks() {
+		return this.chunks;
+	}
+
+	public DataTexture dataTexture() {
+		return this.dataTexture;
 	}
 
 	public VertexObject mesh() {
 		return this.tilemapMesh;
 	}
 
+	@Override
 	public ShaderProgram shader() {
 		return this.shader;
 	}
 
+	@Override
+	public ArrayTexture texture() {
+		return this.tilesetTexture;
+	}
+
+	@Override
+	public Float2 offset() {
+		return this.origin;
+	}
+
 	public ArrayTexture tileset() {
 		return this.tilesetTexture;
 	}
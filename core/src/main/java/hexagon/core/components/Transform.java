@@ -10,10 +10,81 @@ import hexagon.math.matrix.Matrix4;
  */
 public abstract class Transform extends Component {
 
+	/**Pose at the start of the current tick or {@code null} if it was never stored */
+	private volatile Pose previousPose = null;
+
 	/**
 	 * Computes the transformation matrix.
 	 * 
 	 * @return A transformation matrix with this transform's transformation
 	 */
 	public abstract Matrix4 matrix();
+
+	/**
+	 * Gets an immutable snapshot of this transform's current values.
+	 * 
+	 * @return The current pose of this transform
+	 */
+	public abstract Pose pose();
+
+	/**
+	 * Gets a counter that is incremented every time this transform's position, rotation, or scale change.
+	 * Can be used to skip work for entities that did not move.
+	 * 
+	 * @return The number of changes of this transform
+	 */
+	public abstract int changes();
+
+	/**
+	 * Stores the current pose as the previous one.
+	 * Called by the system scheduler at the start of every tick.
+	 */
+	public void storePreviousState() {
+		this.previousPose = this.pose();
+	}
+
+	/**
+	 * Gets the pose at the start of the current tick.
+	 * Used to interpolate between ticks when rendering.
+	 * 
+	 * @return The previous pose or the current one if no previous state was stored
+	 */
+	public Pose previousPose() {
+		Pose previous = this.previousPose;
+		return previous != null ? previous : this.pose();
+	}
+
+	/**
+	 * Immutable snapshot of the values of a transform.
+	 */
+	public interface Pose {
+
+		/**
+		 * Gets the transformation matrix of this pose.
+		 * 
+		 * @return The transformation matrix
+		 */
+		Matrix4 matrix();
+
+		/**
+		 * Interpolates between this pose and the given one.
+		 * By default only the translation is interpolated, while the rotation and the scale are the ones of the given pose,
+		 * because interpolating the other elements of the matrices would shear and shrink rotating objects.
+		 * 
+		 * @param next The pose to interpolate to
+		 * @param alpha Interpolation factor between 0 and 1
+		 * 
+		 * @return The interpolated transformation matrix
+		 */
+		default Matrix4 interpolate(Pose next, float alpha) {
+			Matrix4 from = this.matrix();
+			Matrix4 to = next.matrix();
+			return new Matrix4(
+				to.m00(), to.m01(), to.m02(), to.m03(),
+				to.m10(), to.m11(), to.m12(), to.m13(),
+				to.m20(), to.m21(), to.m22(), to.m23(),
+				from.m30() + (to.m30() - from.m30()) * alpha, from.m31() + (to.m31() - from.m31()) * alpha, from.m32() + (to.m32() - from.m32()) * alpha, to.m33()
+			);
+		}
+	}
 }
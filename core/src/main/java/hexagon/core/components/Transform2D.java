@@ -1,44 +1,210 @@
 package hexagon.core.components;
 
-import hexagon.math.matrix.Matrices;
 import hexagon.math.matrix.Matrix4;
 import hexagon.math.vector.Float2;
 import hexagon.utils.json.JsonObject;
 
 /**
  * Component that holds transformations in a 2D space.
+ * <p>
+ * 	The transform's values are stored in plain fields.
+ * 	When the game state uses archetype storage, they are stored instead in a slot of the {@link Transform2DColumns}
+ * 	of the chunk the entity lives in, so that systems can stream through the transforms of a chunk.
+ * </p>
+ * <p>
+ * 	The transformation matrix is cached and only computed again when the position, rotation, or scale change.
+ * </p>
  * 
  * @author Nico
  */
 public final class Transform2D extends Transform {
 
-	/**Position in a 2D space */
-	private Float2 position = Float2.ZERO;
-	/**Rotation angle in degrees */
+	/**Position on the x axis, used when this transform is not stored in columns */
+	private float x = 0.0f;
+	/**Position on the y axis, used when this transform is not stored in columns */
+	private float y = 0.0f;
+	/**Rotation angle in degrees, used when this transform is not stored in columns */
 	private float rotation = 0.0f;
-	/**Scaling on the two axis */
-	private Float2 scale = Float2.ONE;
+	/**Scale on the x axis, used when this transform is not stored in columns */
+	private float scaleX = 1.0f;
+	/**Scale on the y axis, used when this transform is not stored in columns */
+	private float scaleY = 1.0f;
+	/**Columns of the chunk that stores this transform's values or {@code null} if the values are stored in this object */
+	private Transform2DColumns columns = null;
+	/**Index of this transform in the columns */
+	private int slot = 0;
+
+	/**Cached pose with the transformation matrix, null if it needs to be computed again */
+	private Pose2D pose = null;
+	/**Number of changes */
+	private int changes = 0;
 
 	@Override
 	public void init(JsonObject jsonObject) {
 		jsonObject.getObject("position").ifPresent(positionJson -> {
-			float x = positionJson.getFloat("x", this.position.x());
-			float y = positionJson.getFloat("y", this.position.y());
-			this.position = new Float2(x, y);
+			float x = positionJson.getFloat("x", this.positionX());
+			float y = positionJson.getFloat("y", this.positionY());
+			this.setPosition(x, y);
 		});
-		this.rotation = jsonObject.getFloat("rotation", 0.0f);
+		this.setRotation(jsonObject.getFloat("rotation", 0.0f));
 		jsonObject.getObject("scale").ifPresent(scaleJson -> {
-			float x = scaleJson.getFloat("x", this.scale.x());
-			float y = scaleJson.getFloat("y", this.scale.y());
-			this.scale = new Float2(x, y);
+			float x = scaleJson.getFloat("x", this.scaleX());
+			float y = scaleJson.getFloat("y", this.scaleY());
+			this.setScale(x, y);
 		});
 	}
 
 	@Override
 	public Matrix4 matrix() {
-		return Matrices.scaling(scale)
-				.multiply(Matrices.zRotationDegrees(this.rotation))
-				.multiply(Matrices.translation(this.position).transposed());
+		return this.pose().matrix();
+	}
+
+	@Override
+	public Pose pose() {
+		Pose2D pose = this.pose;
+		if(pose == null) {
+			float x = this.positionX(), y = this.positionY(), rotation = this.rotation(), scaleX = this.scaleX(), scaleY = this.scaleY();
+			pose = new Pose2D(x, y, rotation, scaleX, scaleY, computeMatrix(x, y, rotation, scaleX, scaleY));
+			this.pose = pose;
+		}
+		return pose;
+	}
+
+	/**
+	 * Used internally to compute a transformation matrix.
+	 * 
+	 * @param x Position on the x axis
+	 * @param y Position on the y axis
+	 * @param rotation Rotation angle in degrees
+	 * @param scaleX Scale on the x axis
+	 * @param scaleY Scale on the y axis
+	 * 
+	 * @return The transformation matrix
+	 */
+	private static Matrix4 computeMatrix(float x, float y, float rotation, float scaleX, float scaleY) {
+		double radians = Math.toRadians(rotation);
+		float cos = (float) Math.cos(radians);
+		float sin = (float) Math.sin(radians);
+		return new Matrix4(
+			scaleX * cos, scaleX * sin, 0.0f, 0.0f,
+			-scaleY * sin, scaleY * cos, 0.0f, 0.0f,
+			0.0f, 0.0f, 1.0f, 0.0f,
+			x, y, 0.0f, 1.0f
+		);
+	}
+
+	@Override
+	public int changes() {
+		return this.changes;
+	}
+
+	/**
+	 * Used internally to invalidate the cached pose when a value changes.
+	 */
+	private void changed() {
+		this.pose = null;
+		this.changes++;
+	}
+
+	/**
+	 * Moves this transform's values to a slot of the given columns.
+	 * Called from the archetype chunk when the entity is moved to it.
+	 * 
+	 * @param columns The columns this transform should use
+	 * @param slot Index of this transform in the given columns
+	 */
+	public void moveTo(Transform2DColumns columns, int slot) {
+		float x = this.positionX(), y = this.positionY(), rotation = this.rotation(), scaleX = this.scaleX(), scaleY = this.scaleY();
+		this.columns = columns;
+		this.slot = slot;
+		this.store(x, y, rotation, scaleX, scaleY);
+	}
+
+	/**
+	 * Moves this transform's values out of the columns it is using and back into this object.
+	 * Called from the archetype chunk when the transform is removed from it.
+	 * Does nothing if the transform is not stored in columns.
+	 */
+	public void detach() {
+		if(this.columns != null) {
+			float x = this.positionX(), y = this.positionY(), rotation = this.rotation(), scaleX = this.scaleX(), scaleY = this.scaleY();
+			this.columns = null;
+			this.slot = 0;
+			this.store(x, y, rotation, scaleX, scaleY);
+		}
+	}
+
+	/**
+	 * Checks if this transform's values are stored in the given slot of the given columns.
+	 * 
+	 * @param columns Transform columns
+	 * @param slot Index in the columns
+	 * 
+	 * @return True if this transform is stored in that slot
+	 */
+	public boolean isStoredIn(Transform2DColumns columns, int slot) {
+		return this.columns == columns && this.slot == slot;
+	}
+
+	/**
+	 * Used internally to write all values either in the columns or in this object.
+	 * 
+	 * @param x Position on the x axis
+	 * @param y Position on the y axis
+	 * @param rotation Rotation angle in degrees
+	 * @param scaleX Scale on the x axis
+	 * @param scaleY Scale on the y axis
+	 */
+	private void store(float x, float y, float rotation, float scaleX, float scaleY) {
+		if(this.columns != null) {
+			this.columns.x[this.slot] = x;
+			this.columns.y[this.slot] = y;
+			this.columns.rotation[this.slot] = rotation;
+			this.columns.scaleX[this.slot] = scaleX;
+			this.columns.scaleY[this.slot] = scaleY;
+		} else {
+			this.x = x;
+			this.y = y;
+			this.rotation = rotation;
+			this.scaleX = scaleX;
+			this.scaleY = scaleY;
+		}
+	}
+
+	/**
+	 * Gets the position on the x axis without allocating a vector.
+	 * 
+	 * @return Position x
+	 */
+	public float positionX() {
+		return this.columns != null ? this.columns.x[this.slot] : this.x;
+	}
+
+	/**
+	 * Gets the position on the y axis without allocating a vector.
+	 * 
+	 * @return Position y
+	 */
+	public float positionY() {
+		return this.columns != null ? this.columns.y[this.slot] : this.y;
+	}
+
+	/**
+	 * Gets the scale on the x axis without allocating a vector.
+	 * 
+	 * @return Scale x
+	 */
+	public float scaleX() {
+		return this.columns != null ? this.columns.scaleX[this.slot] : this.scaleX;
+	}
+
+	/**
+	 * Gets the scale on the y axis without allocating a vector.
+	 * 
+	 * @return Scale y
+	 */
+	public float scaleY() {
+		return this.columns != null ? this.columns.scaleY[this.slot] : this.scaleY;
 	}
 
 	/**
@@ -47,7 +213,7 @@ public final class Transform2D extends Transform {
 	 * @return This transform's position
 	 */
 	public Float2 position() {
-		return this.position;
+		return new Float2(this.positionX(), this.positionY());
 	}
 
 	/**
@@ -57,7 +223,8 @@ public final class Transform2D extends Transform {
 	 * @param y Position y
 	 */
 	public void setPosition(float x, float y) {
-		this.position = new Float2(x, y);
+		this.store(x, y, this.rotation(), this.scaleX(), this.scaleY());
+		this.changed();
 	}
 
 	/**
@@ -67,7 +234,8 @@ public final class Transform2D extends Transform {
 	 * @param position New position
 	 */
 	public void setPosition(Float2 position) {
-		this.position = position != null ? position : Float2.ZERO;
+		if(position != null) this.setPosition(position.x(), position.y());
+		else this.setPosition(0.0f, 0.0f);
 	}
 
 	/**
@@ -77,7 +245,7 @@ public final class Transform2D extends Transform {
 	 * @param y Translation y
 	 */
 	public void translate(float x, float y) {
-		this.position = this.position.plus(x, y);
+		this.setPosition(this.positionX() + x, this.positionY() + y);
 	}
 
 	/**
@@ -86,7 +254,7 @@ public final class Transform2D extends Transform {
 	 * @param translation Translation vector
 	 */
 	public void translate(Float2 translation) {
-		this.position = this.position.plus(translation);
+		if(translation != null) this.translate(translation.x(), translation.y());
 	}
 
 	/**
@@ -95,7 +263,7 @@ public final class Transform2D extends Transform {
 	 * @return Rotation angle in degrees
 	 */
 	public float rotation() {
-		return this.rotation;
+		return this.columns != null ? this.columns.rotation[this.slot] : this.rotation;
 	}
 
 	/**
@@ -104,7 +272,8 @@ public final class Transform2D extends Transform {
 	 * @param degrees Rotation angle in degrees
 	 */
 	public void setRotation(float degrees) {
-		this.rotation = degrees;
+		this.store(this.positionX(), this.positionY(), degrees, this.scaleX(), this.scaleY());
+		this.changed();
 	}
 
 	/**
@@ -113,7 +282,7 @@ public final class Transform2D extends Transform {
 	 * @param degrees Rotation angle in degrees
 	 */
 	public void rotate(float degrees) {
-		this.rotation += degrees;
+		this.setRotation(this.rotation() + degrees);
 	}
 
 	/**
@@ -122,7 +291,7 @@ public final class Transform2D extends Transform {
 	 * @return Object's scale
 	 */
 	public Float2 scale() {
-		return this.scale;
+		return new Float2(this.scaleX(), this.scaleY());
 	}
 
 	/**
@@ -132,7 +301,8 @@ public final class Transform2D extends Transform {
 	 * @param y Scale y
 	 */
 	public void setScale(float x, float y) {
-		this.scale = new Float2(x, y);
+		this.store(this.positionX(), this.positionY(), this.rotation(), x, y);
+		this.changed();
 	}
 
 	/**
@@ -142,6 +312,37 @@ public final class Transform2D extends Transform {
 	 * @param scale Scale vector
 	 */
 	public void setScale(Float2 scale) {
-		this.scale = scale != null ? scale : Float2.ZERO;
+		if(scale != null) this.setScale(scale.x(), scale.y());
+		else this.setScale(0.0f, 0.0f);
+	}
+
+	/**
+	 * Pose of a 2D transform.
+	 * Interpolates position, rotation, and scale separately and then computes the matrix,
+	 * rotating along the shortest arc between the two angles.
+	 * 
+	 * @param x Position on the x axis
+	 * @param y Position on the y axis
+	 * @param rotation Rotation angle in degrees
+	 * @param scaleX Scale on the x axis
+	 * @param scaleY Scale on the y axis
+	 * @param matrix Transformation matrix computed from the other values
+	 */
+	private static record Pose2D(float x, float y, float rotation, float scaleX, float scaleY, Matrix4 matrix) implements Pose {
+
+		@Override
+		public Matrix4 interpolate(Pose next, float alpha) {
+			if(next instanceof Pose2D to) {
+				float rotation = this.rotation + (float) Math.IEEEremainder(to.rotation - this.rotation, 360.0) * alpha;
+				return computeMatrix(
+					this.x + (to.x - this.x) * alpha,
+					this.y + (to.y - this.y) * alpha,
+					rotation,
+					this.scaleX + (to.scaleX - this.scaleX) * alpha,
+					this.scaleY + (to.scaleY - this.scaleY) * alpha
+				);
+			}
+			return Pose.super.interpolate(next, alpha);
+		}
 	}
 }
@@ -0,0 +1,53 @@
+package hexagon.core.components;
+
+import java.util.Arrays;
+
+/**
+ * Struct-of-arrays storage for {@link Transform2D} data.
+ * <p>
+ * 	Positions, rotations and scales are stored in parallel primitive arrays,
+ * 	so that transforms that live in the same archetype chunk are laid out contiguously in memory.
+ * 	Every {@link Transform2D} stored in a chunk reads and writes its values from one slot of the chunk's columns.
+ * 	Systems can read the columns directly, but should only modify transforms through {@link Transform2D}.
+ * </p>
+ * 
+ * @author Nico
+ */
+public final class Transform2DColumns {
+
+	/**Position on the x axis */
+	public final float[] x;
+	/**Position on the y axis */
+	public final float[] y;
+	/**Rotation angle in degrees */
+	public final float[] rotation;
+	/**Scale on the x axis */
+	public final float[] scaleX;
+	/**Scale on the y axis */
+	public final float[] scaleY;
+
+	/**
+	 * Creates transform columns.
+	 * Slots are initialized with the identity transformation.
+	 * 
+	 * @param capacity Number of slots
+	 */
+	public Transform2DColumns(int capacity) {
+		this.x = new float[capacity];
+		this.y = new float[capacity];
+		this.rotation = new float[capacity];
+		this.scaleX = new float[capacity];
+		this.scaleY = new float[capacity];
+		Arrays.fill(this.scaleX, 1.0f);
+		Arrays.fill(this.scaleY, 1.0f);
+	}
+
+	/**
+	 * Gets the number of slots.
+	 * 
+	 * @return The length of the columns
+	 */
+	public int capacity() {
+		return this.x.length;
+	}
+}
\ No newline at end of file
@@ -7,45 +7,86 @@ import hexagon.utils.json.JsonObject;
 
 /**
  * Component that holds transformations in a 3D space.
+ * <p>
+ * 	The transformation matrix is cached and only computed again when the position, rotation, or scale change.
+ * 	Values are stored as floats, so that mutators that take floats do not allocate.
+ * </p>
  * 
  * @author Nico
  */
 public final class Transform3D extends Transform {
 
 	/**Position in a 3D space */
-	private Float3 position = Float3.ZERO;
+	private float x = 0.0f, y = 0.0f, z = 0.0f;
 	/**Rotation around the 3 axis */
-	private Float3 rotation = Float3.ZERO;
+	private float pitch = 0.0f, yaw = 0.0f, roll = 0.0f;
 	/**Object's scale */
-	private Float3 scale = Float3.ONE;
+	private float scaleX = 1.0f, scaleY = 1.0f, scaleZ = 1.0f;
+
+	/**Cached transformation matrix, null if it needs to be computed again */
+	private Matrix4 matrix = null;
+	/**Cached pose, null if it needs to be created again */
+	private Pose pose = null;
+	/**Number of changes */
+	private int changes = 0;
 
 	@Override
 	public void init(JsonObject jsonObject) {
 		jsonObject.getObject("position").ifPresent(positionJson -> {
-			float x = positionJson.getFloat("x", this.position.x());
-			float y = positionJson.getFloat("y", this.position.y());
-			float z = positionJson.getFloat("z", this.position.z());
-			this.position = new Float3(x, y, z);
+			float x = positionJson.getFloat("x", this.x);
+			float y = positionJson.getFloat("y", this.y);
+			float z = positionJson.getFloat("z", this.z);
+			this.setPosition(x, y, z);
 		});
 		jsonObject.getObject("rotation").ifPresent(rotationJson -> {
-			float x = rotationJson.getFloat("x", this.rotation.x());
-			float y = rotationJson.getFloat("y", this.rotation.y());
-			float z = rotationJson.getFloat("z", this.rotation.z());
-			this.rotation = new Float3(x, y, z);
+			float x = rotationJson.getFloat("x", this.pitch);
+			float y = rotationJson.getFloat("y", this.yaw);
+			float z = rotationJson.getFloat("z", this.roll);
+			this.setRotation(x, y, z);
 		});
 		jsonObject.getObject("scale").ifPresent(scaleJson -> {
-			float x = scaleJson.getFloat("x", this.scale.x());
-			float y = scaleJson.getFloat("y", this.scale.y());
-			float z = scaleJson.getFloat("z", this.scale.z());
-			this.scale = new Float3(x, y, z);
+			float x = scaleJson.getFloat("x", this.scaleX);
+			float y = scaleJson.getFloat("y", this.scaleY);
+			float z = scaleJson.getFloat("z", this.scaleZ);
+			this.setScale(x, y, z);
 		});
 	}
 
 	@Override
 	public Matrix4 matrix() {
-		return Matrices.scaling(this.scale)
-				.multiply(Matrices.rotationDegrees(this.rotation))
-				.multiply(Matrices.translation(this.position).transposed());
+		Matrix4 matrix = this.matrix;
+		if(matrix == null) {
+			matrix = Matrices.scaling(this.scale())
+					.multiply(Matrices.rotationDegrees(this.rotation()))
+					.multiply(Matrices.translation(this.position()).transposed());
+			this.matrix = matrix;
+		}
+		return matrix;
+	}
+
+	@Override
+	public Pose pose() {
+		Pose pose = this.pose;
+		if(pose == null) {
+			Matrix4 matrix = this.matrix();
+			pose = () -> matrix;
+			this.pose = pose;
+		}
+		return pose;
+	}
+
+	@Override
+	public int changes() {
+		return this.changes;
+	}
+
+	/**
+	 * Used internally to invalidate the cached matrix when a value changes.
+	 */
+	private void changed() {
+		this.matrix = null;
+		this.pose = null;
+		this.changes++;
 	}
 
 	/**
@@ -54,7 +95,7 @@ public final class Transform3D extends Transform {
 	 * @return This transform's position
 	 */
 	public Float3 position() {
-		return this.position;
+		return new Float3(this.x, this.y, this.z);
 	}
 
 	/**
@@ -65,7 +106,10 @@ public final class Transform3D extends Transform {
 	 * @param z Position z
 	 */
 	public void setPosition(float x, float y, float z) {
-		this.position = new Float3(x, y, z);
+		this.x = x;
+		this.y = y;
+		this.z = z;
+		this.changed();
 	}
 
 	/**
@@ -75,7 +119,8 @@ public final class Transform3D extends Transform {
 	 * @param position New position
 	 */
 	public void setPosition(Float3 position) {
-		this.position = position != null ? position : Float3.ZERO;
+		if(position != null) this.setPosition(position.x(), position.y(), position.z());
+		else this.setPosition(0.0f, 0.0f, 0.0f);
 	}
 
 	/**
@@ -86,7 +131,7 @@ public final class Transform3D extends Transform {
 	 * @param z Translation z
 	 */
 	public void translate(float x, float y, float z) {
-		this.position = this.position.plus(x, y, z);
+		this.setPosition(this.x + x, this.y + y, this.z + z);
 	}
 
 	/**
@@ -95,7 +140,7 @@ public final class Transform3D extends Transform {
 	 * @param translation Translation vector
 	 */
 	public void translate(Float3 translation) {
-		this.position = this.position.plus(translation);
+		if(translation != null) this.translate(translation.x(), translation.y(), translation.z());
 	}
 
 	/**
@@ -104,7 +149,7 @@ public final class Transform3D extends Transform {
 	 * @return A vector containing the rotation around the 3 axis
 	 */
 	public Float3 rotation() {
-		return this.rotation;
+		return new Float3(this.pitch, this.yaw, this.roll);
 	}
 
 	/**
@@ -115,7 +160,10 @@ public final class Transform3D extends Transform {
 	 * @param z Rotation around z axis
 	 */
 	public void setRotation(float x, float y, float z) {
-		this.rotation = new Float3(x, y, z);
+		this.pitch = x;
+		this.yaw = y;
+		this.roll = z;
+		this.changed();
 	}
 
 	/**
@@ -124,7 +172,8 @@ public final class Transform3D extends Transform {
 	 * @param rotation A vector containing the rotation around the 3 axis
 	 */
 	public void setRotation(Float3 rotation) {
-		this.rotation = rotation != null ? rotation : Float3.ZERO;
+		if(rotation != null) this.setRotation(rotation.x(), rotation.y(), rotation.z());
+		else this.setRotation(0.0f, 0.0f, 0.0f);
 	}
 
 	/**
@@ -135,7 +184,7 @@ public final class Transform3D extends Transform {
 	 * @param z Rotation around z axis
 	 */
 	public void rotate(float x, float y, float z) {
-		this.rotation = this.rotation.plus(x, y, z);
+		this.setRotation(this.pitch + x, this.yaw + y, this.roll + z);
 	}
 
 	/**
@@ -144,7 +193,7 @@ public final class Transform3D extends Transform {
 	 * @param rotation A vector containing the rotation around the 3 axis
 	 */
 	public void rotate(Float3 rotation) {
-		this.rotation = this.rotation.plus(rotation);
+		if(rotation != null) this.rotate(rotation.x(), rotation.y(), rotation.z());
 	}
 
 	/**
@@ -153,7 +202,7 @@ public final class Transform3D extends Transform {
 	 * @return Object's scale
 	 */
 	public Float3 scale() {
-		return this.scale;
+		return new Float3(this.scaleX, this.scaleY, this.scaleZ);
 	}
 
 	/**
@@ -164,7 +213,10 @@ public final class Transform3D extends Transform {
 	 * @param z Scale z
 	 */
 	public void setScale(float x, float y, float z) {
-		this.scale = new Float3(x, y, z);
+		this.scaleX = x;
+		this.scaleY = y;
+		this.scaleZ = z;
+		this.changed();
 	}
 
 	/**
@@ -174,6 +226,7 @@ public final class Transform3D extends Transform {
 	 * @param scale Scale vector
 	 */
 	public void setScale(Float3 scale) {
-		this.scale = scale != null ? scale : Float3.ZERO;
+		if(scale != null) this.setScale(scale.x(), scale.y(), scale.z());
+		else this.setScale(0.0f, 0.0f, 0.0f);
 	}
 }
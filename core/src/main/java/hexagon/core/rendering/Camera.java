@@ -1,20 +1,44 @@
 package hexagon.core.rendering;
 
 import hexagon.lwjgl.glfw.WindowSize;
-import hexagon.math.matrix.Matrices;
+import hexagon.lwjgl.opengl.UniformBuffer;
 import hexagon.math.matrix.Matrix4;
+import hexagon.math.matrix.Matrix4f;
 import hexagon.math.vector.Float3;
 
 /**
  * Class that represents the scene's camera.
  * Holds the camera's transformation and the screen projection.
+ * <p>
+ * 	The main camera's matrices are stored in a uniform buffer bound to {@link Camera#UNIFORM_BINDING},
+ * 	which shaders can read by declaring the following uniform block:
+ * </p>
+ * <pre>
+ * layout(std140) uniform Camera {
+ * 	mat4 projection_matrix;
+ * 	mat4 view_matrix;
+ * };
+ * </pre>
  * 
  * @author Nico
  */
 public final class Camera {
 
+	/**Binding point of the camera uniform buffer */
+	public static final int UNIFORM_BINDING = 0;
+	/**Name of the camera uniform block in the shader code */
+	public static final String UNIFORM_BLOCK = "Camera";
+
 	/**Current main camera */
 	private static Camera main = new Camera();
+	/**Uniform buffer containing the main camera's matrices, created the first time it is updated */
+	private static UniformBuffer uniformBuffer;
+	/**Values currently stored in the uniform buffer */
+	private static final float[] uniformData = new float[32];
+	/**Camera whose matrices are in the uniform buffer */
+	private static Camera uploadedCamera;
+	/**Version of the camera when its matrices were uploaded */
+	private static long uploadedVersion;
 
 	/**
 	 * Gets the current main camera.
@@ -25,6 +49,39 @@ public final class Camera {
 		return main;
 	}
 
+	/**
+	 * Uploads the main camera's projection and view matrices to the camera uniform buffer.
+	 * The buffer is only updated if the main camera or its version changed since the last upload.
+	 * Called once per frame from the render thread.
+	 */
+	public static void updateUniformBuffer() {
+		Camera camera = main;
+		long version = camera.version();
+		if(uniformBuffer == null) {
+			uniformBuffer = UniformBuffer.create(UNIFORM_BLOCK, UNIFORM_BINDING, uniformData.length);
+		} else if(camera == uploadedCamera && version == uploadedVersion) {
+			return;
+		}
+		store(camera.projection(), 0);
+		store(camera.view(), 16);
+		uniformBuffer.update(0, uniformData, uniformData.length);
+		uploadedCamera = camera;
+		uploadedVersion = version;
+	}
+
+	/**
+	 * Used internally to store a matrix in the uniform data array.
+	 * 
+	 * @param matrix The matrix to store
+	 * @param offset Index of the first element
+	 */
+	private static void store(Matrix4 matrix, int offset) {
+		uniformData[offset] = matrix.m00(); uniformData[offset + 1] = matrix.m01(); uniformData[offset + 2] = matrix.m02(); uniformData[offset + 3] = matrix.m03();
+		uniformData[offset + 4] = matrix.m10(); uniformData[offset + 5] = matrix.m11(); uniformData[offset + 6] = matrix.m12(); uniformData[offset + 7] = matrix.m13();
+		uniformData[offset + 8] = matrix.m20(); uniformData[offset + 9] = matrix.m21(); uniformData[offset + 10] = matrix.m22(); uniformData[offset + 11] = matrix.m23();
+		uniformData[offset + 12] = matrix.m30(); uniformData[offset + 13] = matrix.m31(); uniformData[offset + 14] = matrix.m32(); uniformData[offset + 15] = matrix.m33();
+	}
+
 	/**Camera position */
 	private Float3 position = Float3.ZERO;
 	/**Camera rotation */
@@ -37,34 +94,114 @@ public final class Camera {
 	/**Far plane distance */
 	private float farPlane = 1000.0f;
 
+	/**Cached projection matrix, null if it needs to be computed again */
+	private Matrix4 projection;
+	/**Cached view matrix, null if it needs to be computed again */
+	private Matrix4 view;
+	/**Cached view-projection matrix, null if it needs to be computed again */
+	private Matrix4 viewProjection;
+	/**Window size version the projection matrix was computed with */
+	private int windowVersion = -1;
+	/**Incremented every time the camera's matrices change */
+	private long version = 0;
+	/**Scratch matrix used to compute the view matrix */
+	private final Matrix4f viewScratch = new Matrix4f();
+	/**Scratch matrix used to compute the view matrix */
+	private final Matrix4f rotationScratch = new Matrix4f();
+
 	/**
-	 * Computes the projection matrix.
+	 * Gets the projection matrix.
+	 * The matrix is only computed again if the field of view, the planes, or the window size changed.
 	 * Used in rendering.
 	 * 
 	 * @return The projection matrix
 	 */
-	public Matrix4 projection() {
-		float m00 = 1.0f / (float) Math.tan(Math.toRadians(fov / 2.0f));
-		float m11 = m00 * WindowSize.aspectRatio();
-		float m22 = -(this.farPlane + this.nearPlane) / (this.farPlane - this.nearPlane);
-		float m32 = -(2 * this.farPlane * this.nearPlane) / (this.farPlane - this.nearPlane);
-		return new Matrix4(
-			m00, 0.0f, 0.0f, 0.0f,
-			0.0f, m11, 0.0f, 0.0f,
-			0.0f, 0.0f, m22, -1.0f,
-			0.0f, 0.0f, m32, 0.0f
-		);
+	public synchronized Matrix4 projection() {
+		this.checkWindowSize();
+		if(this.projection == null) {
+			float m00 = 1.0f / (float) Math.tan(Math.toRadians(fov / 2.0f));
+			float m11 = m00 * WindowSize.aspectRatio();
+			float m22 = -(this.farPlane + this.nearPlane) / (this.farPlane - this.nearPlane);
+			float m32 = -(2 * this.farPlane * this.nearPlane) / (this.farPlane - this.nearPlane);
+			this.projection = new Matrix4(
+				m00, 0.0f, 0.0f, 0.0f,
+				0.0f, m11, 0.0f, 0.0f,
+				0.0f, 0.0f, m22, -1.0f,
+				0.0f, 0.0f, m32, 0.0f
+			);
+		}
+		return this.projection;
 	}
 
 	/**
-	 * Computes the view matrix.
+	 * Gets the view matrix.
+	 * The matrix is only computed again if the camera's position or rotation changed.
 	 * Used in rendering.
 	 * 
 	 * @return A matrix containing the camera's transformations
 	 */
-	public Matrix4 view() {
-		return Matrices.translation(this.position.negative()).transposed()
-			.multiply(Matrices.rotationDegrees(this.rotation));
+	public synchronized Matrix4 view() {
+		if(this.view == null) {
+			Float3 rotation = this.rotation != null ? this.rotation : Float3.ZERO;
+			this.view = this.viewScratch.translation(-this.position.x(), -this.position.y(), -this.position.z())
+				.mul(this.rotationScratch.rotationDegrees(rotation.x(), rotation.y(), rotation.z()))
+				.toMatrix4();
+		}
+		return this.view;
+	}
+
+	/**
+	 * Gets the product of the view and the projection matrices.
+	 * Transforms a point the same way as applying the view matrix and then the projection matrix.
+	 * 
+	 * @return The view-projection matrix
+	 */
+	public synchronized Matrix4 viewProjection() {
+		Matrix4 projection = this.projection();
+		if(this.viewProjection == null) {
+			this.viewProjection = this.view().multiply(projection);
+		}
+		return this.viewProjection;
+	}
+
+	/**
+	 * Gets a number that is incremented every time the camera's matrices change.
+	 * Can be used to skip uploading the camera's matrices if they did not change.
+	 * 
+	 * @return The camera's version
+	 */
+	public synchronized long version() {
+		this.checkWindowSize();
+		return this.version;
+	}
+
+	/**
+	 * Used internally to invalidate the projection matrix if the window size changed.
+	 */
+	private void checkWindowSize() {
+		int windowVersion = WindowSize.version();
+		if(windowVersion != this.windowVersion) {
+			this.windowVersion = windowVersion;
+			this.invalidateProjection();
+		}
+	}
+
+	/**
+	 * Used internally to invalidate the projection matrix when the projection parameters change.
+	 */
+	private synchronized void invalidateProjection() {
+		this.projection = null;
+		this.viewProjection = null;
+		this.version++;
+	}
+
+	/**
+	 * Used internally to invalidate the view matrix when the camera moves or rotates.
+	 */
+	private synchronized void invalidateView() {
+		this.view = null;
+		this.viewProjection = null;
+		this.version++;
 	}
 
 	/**
@@ -92,6 +229,7 @@ public final class Camera {
 	 */
 	public void setPosition(Float3 position) {
 		this.position = position != null ? position : Float3.ZERO;
+		this.invalidateView();
 	}
 
 	/**
@@ -103,6 +241,7 @@ public final class Camera {
 	 */
 	public void setPosition(float x, float y, float z) {
 		this.position = new Float3(x, y, z);
+		this.invalidateView();
 	}
 
 	/**
@@ -112,6 +251,7 @@ public final class Camera {
 	 */
 	public void move(Float3 translation) {
 		this.position = this.position.plus(translation);
+		this.invalidateView();
 	}
 
 	/**
@@ -123,6 +263,7 @@ public final class Camera {
 	 */
 	public void move(float x, float y, float z) {
 		this.position = this.position.plus(x, y, z);
+		this.invalidateView();
 	}
 
 	/**
@@ -168,6 +309,7 @@ public final class Camera {
 	 */
 	public void setPitch(float pitch) {
 		this.rotation = new Float3(pitch, this.yaw(), this.roll());
+		this.invalidateView();
 	}
 
 	/**
@@ -177,6 +319,7 @@ public final class Camera {
 	 */
 	public void setYaw(float yaw) {
 		this.rotation = new Float3(this.pitch(), yaw, this.roll());
+		this.invalidateView();
 	}
 
 	/**
@@ -186,6 +329,7 @@ public final class Camera {
 	 */
 	public void setRoll(float roll) {
 		this.rotation = new Float3(this.pitch(), this.yaw(), roll);
+		this.invalidateView();
 	}
 
 	/**
@@ -195,6 +339,7 @@ public final class Camera {
 	 */
 	public void setRotation(Float3 rotation) {
 		this.rotation = rotation;
+		this.invalidateView();
 	}
 
 	/**
@@ -215,6 +360,7 @@ public final class Camera {
 	 */
 	public void rotate(Float3 rotation) {
 		this.rotation = this.rotation.plus(rotation);
+		this.invalidateView();
 	}
 
 	/**
@@ -226,6 +372,7 @@ public final class Camera {
 	 */
 	public void rotate(float x, float y, float z) {
 		this.rotation = this.rotation.plus(x, y, z);
+		this.invalidateView();
 	}
 
 	/**
@@ -271,6 +418,7 @@ public final class Camera {
 	 */
 	public void setFov(float fov) {
 		this.fov = fov;
+		this.invalidateProjection();
 	}
 
 	/**
@@ -289,6 +437,7 @@ public final class Camera {
 	 */
 	public void setNearPlane(float nearPlane) {
 		this.nearPlane = nearPlane;
+		this.invalidateProjection();
 	}
 
 	/**
@@ -307,6 +456,7 @@ public final class Camera {
 	 */
 	public void setFarPlane(float farPlane) {
 		this.farPlane = farPlane;
+		this.invalidateProjection();
 	}
 
 	/**
@@ -320,5 +470,6 @@ public final class Camera {
 		this.fov = fov;
 		this.nearPlane = nearPlane;
 		this.farPlane = farPlane;
+		this.invalidateProjection();
 	}
 }
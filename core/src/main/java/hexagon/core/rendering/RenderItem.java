@@ -0,0 +1,61 @@
+package hexagon.core.rendering;
+
+import hexagon.core.components.Render2DComponent;
+import hexagon.core.components.Transform;
+import hexagon.core.components.Transform.Pose;
+import hexagon.lwjgl.opengl.AbstractTexture;
+import hexagon.lwjgl.opengl.ShaderProgram;
+import hexagon.math.matrix.Matrix4;
+import hexagon.math.vector.Float2;
+import hexagon.math.vector.Float4;
+
+/**
+ * Snapshot of everything that is needed to render an object.
+ * <p>
+ * 	Render items are created by rendering systems at the end of every tick
+ * 	and are read by the render thread, so that the render thread never reads components while they are being modified.
+ * 	Renderers must read their offset and tint from the item instead of from their own fields.
+ * </p>
+ * 
+ * @author Nico
+ * 
+ * @param renderer The component that renders this item
+ * @param previousPose Pose of the transform at the start of the tick
+ * @param pose Pose of the transform at the time the item was created
+ * @param shader Shader to use
+ * @param texture Texture to use
+ * @param sortingLayer Sorting layer of the renderer
+ * @param orderInLayer Order in layer of the renderer
+ * @param sortingY Position on the y axis used for y-sorting
+ * @param offset Offset of the renderer from its transform
+ * @param tint Color the renderer is multiplied by
+ */
+public record RenderItem(Render2DComponent renderer, Pose previousPose, Pose pose, ShaderProgram shader, AbstractTexture texture, int sortingLayer, int orderInLayer, float sortingY, Float2 offset, Float4 tint) {
+
+	/**
+	 * Creates a render item with the current state of the given components.
+	 * 
+	 * @param renderer The render component
+	 * @param transform The entity's transform
+	 * @param sortingY Position on the y axis used for y-sorting
+	 * 
+	 * @return A new render item
+	 */
+	public static RenderItem of(Render2DComponent renderer, Transform transform, float sortingY) {
+		return new RenderItem(renderer, transform.previousPose(), transform.pose(), renderer.shader(), renderer.texture(), renderer.sortingLayer(), renderer.orderInLayer(), sortingY, renderer.offset(), renderer.tint());
+	}
+
+	/**
+	 * Interpolates between the pose at the start of the tick and the one at the end of the tick.
+	 * Returns the current transformation without interpolating if the pose did not change during the tick.
+	 * 
+	 * @param alpha Interpolation factor between 0 and 1
+	 * 
+	 * @return The interpolated transformation matrix
+	 * 
+	 * @see Pose#interpolate(Pose, float)
+	 */
+	public Matrix4 transformation(float alpha) {
+		return alpha >= 1.0f || this.previousPose == this.pose ? this.pose.matrix() : this.previousPose.interpolate(this.pose, alpha);
+	}
+}
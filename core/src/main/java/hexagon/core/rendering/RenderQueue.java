@@ -0,0 +1,407 @@
+package hexagon.core.rendering;
+
+import java.util.Arrays;
+
+import hexagon.core.GameEntity;
+
+/**
+ * Queue of render items sorted by a packed 64-bit key.
+ * <p>
+ * 	Every item is submitted with a key that encodes, from the most significant bits to the least significant ones,
+ * 	the sorting layer (8 bits), the depth in the layer (32 bits), the shader id (12 bits), and the texture id (12 bits).
+ * 	Sorting by key renders layers in order, then items in depth order,
+ * 	and groups items with the same shader and texture together to minimize state changes.
+ * </p>
+ * <p>
+ * 	Keys are sorted with a least significant digit radix sort over primitive arrays that are reused between frames,
+ * 	so sorting does not allocate once the queue has grown to its working size.
+ * 	Digits that are the same in all keys are skipped.
+ * </p>
+ * 
+ * @author Nico
+ */
+public final class RenderQueue {
+
+	/**Number of bits used for the shader id and for the texture id */
+	private static final int ID_BITS = 12;
+	/**Mask for shader and texture ids */
+	private static final int ID_MASK = (1 << ID_BITS) - 1;
+
+	/**
+	 * Packs the given values in a sort key.
+	 * 
+	 * @param sortingLayer Sorting layer, between -128 and 127
+	 * @param depth Depth in the layer, compared as an unsigned integer
+	 * @param shaderId Id of the shader, only the lowest 12 bits are used
+	 * @param textureId Id of the texture, only the lowest 12 bits are used
+	 * 
+	 * @return The sort key
+	 */
+	public static long key(int sortingLayer, int depth, int shaderId, int textureId) {
+		return ((long) ((sortingLayer + 128) & 0xff) << 56)
+				| ((depth & 0xffffffffL) << 24)
+				| ((long) (shaderId & ID_MASK) << ID_BITS)
+				| (textureId & ID_MASK);
+	}
+
+	/**
+	 * Packs the sorting layer, shader, and texture of the given item in a sort key.
+	 * 
+	 * @param item The render item
+	 * @param depth Depth of the item in its layer
+	 * 
+	 * @return The sort key
+	 */
+	public static long key(RenderItem item, int depth) {
+		int shaderId = item.shader() != null ? item.shader().id : 0;
+		int textureId = item.texture() != null ? item.texture().id() : 0;
+		return key(item.sortingLayer(), depth, shaderId, textureId);
+	}
+
+	/**
+	 * Converts an order in layer to a depth that can be used in a sort key.
+	 * 
+	 * @param orderInLayer Order in layer, between -128 and 127
+	 * 
+	 * @return A depth that sorts in the same order as the given order in layer
+	 */
+	public static int depth(int orderInLayer) {
+		return orderInLayer + 128;
+	}
+
+	/**
+	 * Converts a float to a depth that can be used in a sort key.
+	 * Comparing the returned values as unsigned integers gives the same order as comparing the floats.
+	 * 
+	 * @param value The value to convert
+	 * 
+	 * @return A depth that sorts in the same order as the given value
+	 */
+	public static int depth(float value) {
+		int bits = Float.floatToIntBits(value);
+		return bits ^ ((bits >> 31) | 0x80000000);
+	}
+
+	/**Sort keys */
+	private long[] keys = new long[256];
+	/**Indices of the items, sorted together with the keys */
+	private int[] indices = new int[256];
+	/**Buffer used by the radix sort */
+	private long[] swapKeys = new long[256];
+	/**Buffer used by the radix sort */
+	private int[] swapIndices = new int[256];
+	/**Submitted items, in submission order */
+	private RenderItem[] items = new RenderItem[256];
+	/**Histograms of all the digits of the keys */
+	private final int[][] counts = new int[8][256];
+	/**Number of items in the queue */
+	private int size = 0;
+	/**Position of every entity's item the last time the queue was sorted, indexed by entity index */
+	private int[] ranks = new int[256];
+	/**Handles of the entities in the order they had the last time the queue was sorted */
+	private int[] previousHandles = new int[256];
+	/**Number of items the last time the queue was sorted coherently */
+	private int previousSize = 0;
+	/**Buffer used to restore the previous order */
+	private int[] placed = new int[256];
+
+	/**
+	 * Removes all items from the queue.
+	 */
+	public void clear() {
+		Arrays.fill(this.items, 0, this.size, null);
+		this.size = 0;
+	}
+
+	/**
+	 * Adds an item to the queue.
+	 * 
+	 * @param item The item to add
+	 * @param key The item's sort key
+	 */
+	public void submit(RenderItem item, long key) {
+		if(this.size == this.keys.length) {
+			int capacity = this.size * 2;
+			this.keys = Arrays.copyOf(this.keys, capacity);
+			this.indices = Arrays.copyOf(this.indices, capacity);
+			this.swapKeys = new long[capacity];
+			this.swapIndices = new int[capacity];
+			this.items = Arrays.copyOf(this.items, capacity);
+		}
+		this.keys[this.size] = key;
+		this.indices[this.size] = this.size;
+		this.items[this.size] = item;
+		this.size++;
+	}
+
+	/**
+	 * Gets the number of items in the queue.
+	 * 
+	 * @return The number of items in the queue
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Gets an item from the queue.
+	 * If the queue was sorted, items are returned in sorted order.
+	 * 
+	 * @param index Index between 0 and {@code size() - 1}
+	 * 
+	 * @return The item at the given position
+	 */
+	public RenderItem get(int index) {
+		return this.items[this.indices[index]];
+	}
+
+	/**
+	 * Gets the sort key of an item.
+	 * 
+	 * @param index Index between 0 and {@code size() - 1}
+	 * 
+	 * @return The key of the item at the given position
+	 */
+	public long key(int index) {
+		return this.keys[index];
+	}
+
+	/**
+	 * Sorts the queue by key.
+	 * The sort is stable, items with the same key keep the order they were submitted in.
+	 */
+	public void sort() {
+		this.radixSort(0, this.size);
+		this.previousSize = 0;
+	}
+
+	/**
+	 * Sorts the queue by key, starting from the order of the previous call to this method.
+	 * <p>
+	 * 	Items are first arranged in the order their entities had in the previous frame,
+	 * 	then the order is repaired with an insertion sort, so only items whose key changed are moved.
+	 * 	Items of entities that were not in the previous frame are sorted separately and merged in.
+	 * 	Falls back to a full sort if too many items have changed position.
+	 * </p>
+	 * <p>
+	 * 	This is close to linear when the order of most items does not change between frames.
+	 * 	Items must have a renderer that belongs to an entity, which is used to track the item between frames.
+	 * </p>
+	 */
+	public void sortCoherent() {
+		int retained = this.restorePreviousOrder();
+		if(!this.insertionSort(retained)) {
+			this.radixSort(0, this.size);
+		} else if(retained < this.size) {
+			this.radixSort(retained, this.size);
+			this.merge(retained);
+		}
+		this.recordOrder();
+	}
+
+	/**
+	 * Used internally to sort a range of the queue with a least significant digit radix sort.
+	 * 
+	 * @param start First index of the range (inclusive)
+	 * @param end Last index of the range (exclusive)
+	 */
+	private void radixSort(int start, int end) {
+		if(end - start < 2) {
+			return;
+		}
+		for(int[] count : this.counts) {
+			Arrays.fill(count, 0);
+		}
+		for(int i = start; i < end; i++) {
+			long key = this.keys[i];
+			for(int digit = 0; digit < 8; digit++) {
+				this.counts[digit][(int) (key >>> (digit * 8)) & 0xff]++;
+			}
+		}
+		long[] sourceKeys = this.keys, targetKeys = this.swapKeys;
+		int[] sourceIndices = this.indices, targetIndices = this.swapIndices;
+		for(int digit = 0; digit < 8; digit++) {
+			int[] count = this.counts[digit];
+			if(count[(int) (sourceKeys[start] >>> (digit * 8)) & 0xff] == end - start) {
+				continue;
+			}
+			for(int i = 0, offset = start; i < 256; i++) {
+				int c = count[i];
+				count[i] = offset;
+				offset += c;
+			}
+			for(int i = start; i < end; i++) {
+				long key = sourceKeys[i];
+				int position = count[(int) (key >>> (digit * 8)) & 0xff]++;
+				targetKeys[position] = key;
+				targetIndices[position] = sourceIndices[i];
+			}
+			long[] keys = sourceKeys;
+			sourceKeys = targetKeys;
+			targetKeys = keys;
+			int[] indices = sourceIndices;
+			sourceIndices = targetIndices;
+			targetIndices = indices;
+		}
+		if(sourceKeys != this.keys) {
+			System.arraycopy(sourceKeys, start, this.keys, start, end - start);
+			System.arraycopy(sourceIndices, start, this.indices, start, end - start);
+		}
+	}
+
+	/**
+	 * Used internally to arrange the items in the order their entities had the last time the queue was sorted.
+	 * Items of entities that were not in the queue are moved after all the other ones.
+	 * 
+	 * @return The number of items that were in the queue the last time it was sorted
+	 */
+	private int restorePreviousOrder() {
+		if(this.placed.length < this.previousSize) {
+			this.placed = new int[this.previousHandles.length];
+		}
+		Arrays.fill(this.placed, 0, this.previousSize, -1);
+		int fresh = 0;
+		for(int i = 0; i < this.size; i++) {
+			GameEntity entity = this.items[i].renderer().entity();
+			int rank = this.previousRank(entity);
+			if(rank >= 0 && this.placed[rank] < 0) {
+				this.placed[rank] = i;
+			} else {
+				this.swapIndices[fresh++] = i;
+			}
+		}
+		int retained = 0;
+		for(int rank = 0; rank < this.previousSize; rank++) {
+			int i = this.placed[rank];
+			if(i >= 0) {
+				this.swapKeys[retained] = this.keys[i];
+				this.indices[retained++] = i;
+			}
+		}
+		for(int f = 0; f < fresh; f++) {
+			int i = this.swapIndices[f];
+			this.swapKeys[retained + f] = this.keys[i];
+			this.indices[retained + f] = i;
+		}
+		long[] keys = this.keys;
+		this.keys = this.swapKeys;
+		this.swapKeys = keys;
+		return retained;
+	}
+
+	/**
+	 * Used internally to get the position an entity's item had the last time the queue was sorted.
+	 * 
+	 * @param entity The entity
+	 * 
+	 * @return The position of the entity's item or -1 if the entity was not in the queue
+	 */
+	private int previousRank(GameEntity entity) {
+		if(entity != null && entity.index() < this.ranks.length) {
+			int rank = this.ranks[entity.index()];
+			if(rank < this.previousSize && this.previousHandles[rank] == entity.handle()) {
+				return rank;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Used internally to sort a nearly sorted range of the queue with an insertion sort.
+	 * Gives up if items have to be moved too many times.
+	 * 
+	 * @param end Last index of the range to sort (exclusive), the range starts at 0
+	 * 
+	 * @return True if the range was sorted, false if the sort was given up
+	 */
+	private boolean insertionSort(int end) {
+		long moves = 0;
+		long maxMoves = 8L * end + 64;
+		for(int i = 1; i < end; i++) {
+			long key = this.keys[i];
+			if(Long.compareUnsigned(this.keys[i - 1], key) <= 0) {
+				continue;
+			}
+			int index = this.indices[i];
+			int j = i;
+			do {
+				this.keys[j] = this.keys[j - 1];
+				this.indices[j] = this.indices[j - 1];
+				j--;
+			} while(j > 0 && Long.compareUnsigned(this.keys[j - 1], key) > 0);
+			this.keys[j] = key;
+			this.indices[j] = index;
+			moves += i - j;
+			if(moves > maxMoves) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Used internally to merge two sorted runs of the queue.
+	 * Items of the first run come first if their keys are the same.
+	 * 
+	 * @param middle Index where the second run starts, the first run starts at 0 and the second one ends at the end of the queue
+	 */
+	private void merge(int middle) {
+		int a = 0, b = middle, i = 0;
+		while(a < middle && b < this.size) {
+			if(Long.compareUnsigned(this.keys[b], this.keys[a]) < 0) {
+				this.swapKeys[i] = this.keys[b];
+				this.swapIndices[i++] = this.indices[b++];
+			} else {
+				this.swapKeys[i] = this.keys[a];
+				this.swapIndices[i++] = this.indices[a++];
+			}
+		}
+		System.arraycopy(this.keys, a, this.swapKeys, i, middle - a);
+		System.arraycopy(this.indices, a, this.swapIndices, i, middle - a);
+		i += middle - a;
+		System.arraycopy(this.keys, b, this.swapKeys, i, this.size - b);
+		System.arraycopy(this.indices, b, this.swapIndices, i, this.size - b);
+		long[] keys = this.keys;
+		this.keys = this.swapKeys;
+		this.swapKeys = keys;
+		int[] indices = this.indices;
+		this.indices = this.swapIndices;
+		this.swapIndices = indices;
+	}
+
+	/**
+	 * Used internally to store the position of every entity's item after sorting.
+	 */
+	private void recordOrder() {
+		if(this.previousHandles.length < this.size) {
+			this.previousHandles = new int[this.keys.length];
+		}
+		for(int i = 0; i < this.size; i++) {
+			GameEntity entity = this.get(i).renderer().entity();
+			if(entity != null) {
+				int index = entity.index();
+				if(index >= this.ranks.length) {
+					this.ranks = Arrays.copyOf(this.ranks, Math.max(index + 1, this.ranks.length * 2));
+				}
+				this.ranks[index] = i;
+				this.previousHandles[i] = entity.handle();
+			} else {
+				this.previousHandles[i] = -1;
+			}
+		}
+		this.previousSize = this.size;
+	}
+
+	/**
+	 * Copies the items in the queue to a new array, in sorted order if the queue was sorted.
+	 * 
+	 * @return A new array containing the items in the queue
+	 */
+	public RenderItem[] toArray() {
+		RenderItem[] array = new RenderItem[this.size];
+		for(int i = 0; i < this.size; i++) {
+			array[i] = this.get(i);
+		}
+		return array;
+	}
+}
@@ -0,0 +1,146 @@
+package hexagon.core.rendering;
+
+import hexagon.lwjgl.opengl.AbstractTexture;
+import hexagon.lwjgl.opengl.DrawCalls;
+import hexagon.lwjgl.opengl.ShaderProgram;
+import hexagon.lwjgl.opengl.VertexObject;
+import hexagon.math.matrix.Matrix4;
+import hexagon.math.vector.Float2;
+import hexagon.math.vector.Float4;
+
+/**
+ * Class used to render many sprites with few draw calls.
+ * <p>
+ * 	All sprites share a single quad model that is rendered with hardware instancing.
+ * 	The 2D affine transformation, offset, and tint of every sprite are accumulated in per-instance buffers
+ * 	and all the sprites are drawn with a single instanced draw call when the texture or the shader changes,
+ * 	when the batch is full, or when {@link SpriteBatch#flush()} is called.
+ * </p>
+ * <p>
+ * 	Shaders used with the sprite batch receive the quad's vertex in attribute 0 and the following per-instance attributes:
+ * 	the linear part of the transformation {@code (m00, m01, m10, m11)} in attribute 1,
+ * 	the translation {@code (m30, m31)} in attribute 2, the offset in attribute 3, and the tint color in attribute 4.
+ * 	The projection and view matrices are read from the {@link Camera} uniform block.
+ * </p>
+ * <p>
+ * 	Can only be used from the render thread.
+ * </p>
+ * 
+ * @author Nico
+ */
+public final class SpriteBatch {
+
+	/**Maximum number of sprites in a batch */
+	public static final int CAPACITY = 4096;
+
+	/**Sprite batch instance, created the first time it is used */
+	private static SpriteBatch instance;
+
+	/**
+	 * Gets the sprite batch.
+	 * Creates it if it does not exist yet.
+	 * 
+	 * @return The sprite batch
+	 */
+	public static SpriteBatch instance() {
+		if(instance == null) {
+			instance = new SpriteBatch();
+		}
+		return instance;
+	}
+
+	/**Quad model with the per-instance buffers */
+	private final VertexObject quadModel;
+	/**Linear part of the transformation of every sprite */
+	private final float[] transforms = new float[CAPACITY * 4];
+	/**Translation of every sprite */
+	private final float[] translations = new float[CAPACITY * 2];
+	/**Offset of every sprite */
+	private final float[] offsets = new float[CAPACITY * 2];
+	/**Tint color of every sprite */
+	private final float[] tints = new float[CAPACITY * 4];
+	/**Number of sprites in the current batch */
+	private int count = 0;
+	/**Texture of the current batch */
+	private AbstractTexture texture = null;
+	/**Shader of the current batch */
+	private ShaderProgram shader = null;
+	/**Number of draw calls since the last reset */
+	private int drawCalls = 0;
+
+	/**
+	 * Creates the sprite batch.
+	 */
+	private SpriteBatch() {
+		this.quadModel = VertexObject.with()
+				.attribute(0, new float[] {-0.5f,0.5f, -0.5f,-0.5f, 0.5f,-0.5f, 0.5f,0.5f}, 2)
+				.indices(new int[] {0,1,3, 3,1,2})
+				.instanceAttribute(1, 4, CAPACITY)
+				.instanceAttribute(2, 2, CAPACITY)
+				.instanceAttribute(3, 2, CAPACITY)
+				.instanceAttribute(4, 4, CAPACITY)
+				.create();
+	}
+
+	/**
+	 * Adds a sprite to the batch.
+	 * Flushes the batch first if the texture or the shader are different from the ones of the current batch or if the batch is full.
+	 * 
+	 * @param texture The sprite's texture
+	 * @param shader The sprite's shader
+	 * @param transformation The sprite's transformation matrix
+	 * @param offset The sprite's offset
+	 * @param tint The sprite's tint color
+	 */
+	public void draw(AbstractTexture texture, ShaderProgram shader, Matrix4 transformation, Float2 offset, Float4 tint) {
+		if(texture != this.texture || shader != this.shader || this.count == CAPACITY) {
+			this.flush();
+			this.texture = texture;
+			this.shader = shader;
+		}
+		int i = this.count;
+		this.transforms[i * 4] = transformation.m00();
+		this.transforms[i * 4 + 1] = transformation.m01();
+		this.transforms[i * 4 + 2] = transformation.m10();
+		this.transforms[i * 4 + 3] = transformation.m11();
+		this.translations[i * 2] = transformation.m30();
+		this.translations[i * 2 + 1] = transformation.m31();
+		this.offsets[i * 2] = offset.x();
+		this.offsets[i * 2 + 1] = offset.y();
+		this.tints[i * 4] = tint.x();
+		this.tints[i * 4 + 1] = tint.y();
+		this.tints[i * 4 + 2] = tint.z();
+		this.tints[i * 4 + 3] = tint.w();
+		this.count++;
+	}
+
+	/**
+	 * Draws all the sprites in the current batch with a single instanced draw call and empties the batch.
+	 * Does nothing if the batch is empty.
+	 */
+	public void flush() {
+		if(this.count > 0) {
+			this.quadModel.bindIfNotBound();
+			this.quadModel.updateAttribute(1, this.transforms, this.count * 4);
+			this.quadModel.updateAttribute(2, this.translations, this.count * 2);
+			this.quadModel.updateAttribute(3, this.offsets, this.count * 2);
+			this.quadModel.updateAttribute(4, this.tints, this.count * 4);
+			this.texture.bindIfNotBound();
+			this.shader.start();
+			DrawCalls.drawElementsInstanced(6, this.count);
+			this.drawCalls++;
+			this.count = 0;
+		}
+	}
+
+	/**
+	 * Gets the number of draw calls issued since the last time this method was called.
+	 * 
+	 * @return The number of draw calls
+	 */
+	public int resetDrawCalls() {
+		int drawCalls = this.drawCalls;
+		this.drawCalls = 0;
+		return drawCalls;
+	}
+}
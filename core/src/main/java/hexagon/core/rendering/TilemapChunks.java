@@ -0,0 +1,233 @@
+package hexagon.core.rendering;
+
+import hexagon.math.matrix.Matrix4;
+
+/**
+ * Splits a tilemap in square chunks of tiles and finds which chunks are visible.
+ * <p>
+ * 	Tilemap meshes store their vertices chunk by chunk, so that every chunk is a contiguous range of vertices
+ * 	and only the visible chunks need to be drawn.
+ * 	Chunks are numbered row by row, starting from the chunk at the tilemap's origin.
+ * 	Chunks on the right and top edges of the tilemap may be smaller than the others.
+ * </p>
+ * 
+ * @author Nico
+ */
+public final class TilemapChunks {
+
+	/**Default number of tiles on each side of a chunk */
+	public static final int DEFAULT_CHUNK_SIZE = 32;
+	/**Number of vertices used for every tile */
+	public static final int VERTICES_PER_TILE = 6;
+
+	/**Width of the tilemap in tiles */
+	private final int width;
+	/**Height of the tilemap in tiles */
+	private final int height;
+	/**Number of tiles on each side of a chunk */
+	private final int chunkSize;
+	/**Number of chunks on the x axis */
+	private final int columns;
+	/**Number of chunks on the y axis */
+	private final int rows;
+	/**Position of the tilemap's origin on the x axis */
+	private final float originX;
+	/**Position of the tilemap's origin on the y axis */
+	private final float originY;
+	/**Index of the first vertex of every chunk */
+	private final int[] firstVertices;
+
+	/**
+	 * Creates tilemap chunks.
+	 * 
+	 * @param width Width of the tilemap in tiles
+	 * @param height Height of the tilemap in tiles
+	 * @param chunkSize Number of tiles on each side of a chunk
+	 * @param originX Position of the tilemap's origin on the x axis
+	 * @param originY Position of the tilemap's origin on the y axis
+	 */
+	public TilemapChunks(int width, int height, int chunkSize, float originX, float originY) {
+		this.width = Math.max(0, width);
+		this.height = Math.max(0, height);
+		this.chunkSize = Math.max(1, chunkSize);
+		this.columns = (this.width + this.chunkSize - 1) / this.chunkSize;
+		this.rows = (this.height + this.chunkSize - 1) / this.chunkSize;
+		this.originX = originX;
+		this.originY = originY;
+		this.firstVertices = new int[this.columns * this.rows + 1];
+		for(int chunk = 0; chunk < this.count(); chunk++) {
+			this.firstVertices[chunk + 1] = this.firstVertices[chunk] + this.chunkWidth(chunk) * this.chunkHeight(chunk) * VERTICES_PER_TILE;
+		}
+	}
+
+	/**
+	 * Gets the number of chunks.
+	 * 
+	 * @return The number of chunks
+	 */
+	public int count() {
+		return this.columns * this.rows;
+	}
+
+	/**
+	 * Gets the number of tiles on each side of a chunk.
+	 * 
+	 * @return The chunk size
+	 */
+	public int chunkSize() {
+		return this.chunkSize;
+	}
+
+	/**
+	 * Gets the x coordinate of the first tile in a chunk.
+	 * 
+	 * @param chunk Index of the chunk
+	 * 
+	 * @return The x coordinate in tiles
+	 */
+	public int tileX(int chunk) {
+		return (chunk % this.columns) * this.chunkSize;
+	}
+
+	/**
+	 * Gets the y coordinate of the first tile in a chunk.
+	 * 
+	 * @param chunk Index of the chunk
+	 * 
+	 * @return The y coordinate in tiles
+	 */
+	public int tileY(int chunk) {
+		return (chunk / this.columns) * this.chunkSize;
+	}
+
+	/**
+	 * Gets the width of a chunk.
+	 * 
+	 * @param chunk Index of the chunk
+	 * 
+	 * @return The number of tiles of the chunk on the x axis
+	 */
+	public int chunkWidth(int chunk) {
+		return Math.min(this.chunkSize, this.width - this.tileX(chunk));
+	}
+
+	/**
+	 * Gets the height of a chunk.
+	 * 
+	 * @param chunk Index of the chunk
+	 * 
+	 * @return The number of tiles of the chunk on the y axis
+	 */
+	public int chunkHeight(int chunk) {
+		return Math.min(this.chunkSize, this.height - this.tileY(chunk));
+	}
+
+	/**
+	 * Gets the index of a chunk's first vertex in the tilemap mesh.
+	 * 
+	 * @param chunk Index of the chunk
+	 * 
+	 * @return The index of the chunk's first vertex
+	 */
+	public int firstVertex(int chunk) {
+		return this.firstVertices[chunk];
+	}
+
+	/**
+	 * Gets the number of vertices of a chunk.
+	 * 
+	 * @param chunk Index of the chunk
+	 * 
+	 * @return The number of vertices of the chunk
+	 */
+	public int vertexCount(int chunk) {
+		return this.firstVertices[chunk + 1] - this.firstVertices[chunk];
+	}
+
+	/**
+	 * Gets the total number of vertices of the tilemap mesh.
+	 * 
+	 * @return The number of vertices of all chunks
+	 */
+	public int vertexCount() {
+		return this.firstVertices[this.count()];
+	}
+
+	/**
+	 * Gets the chunk that contains a tile.
+	 * 
+	 * @param x X coordinate of the tile
+	 * @param y Y coordinate of the tile
+	 * 
+	 * @return The index of the chunk
+	 */
+	public int chunkOf(int x, int y) {
+		return (y / this.chunkSize) * this.columns + (x / this.chunkSize);
+	}
+
+	/**
+	 * Gets the index of the vertex where a tile starts in the tilemap mesh.
+	 * 
+	 * @param x X coordinate of the tile
+	 * @param y Y coordinate of the tile
+	 * 
+	 * @return The index of the tile's first vertex
+	 */
+	public int vertexOf(int x, int y) {
+		int chunk = this.chunkOf(x, y);
+		int localX = x - this.tileX(chunk), localY = y - this.tileY(chunk);
+		return this.firstVertices[chunk] + (localY * this.chunkWidth(chunk) + localX) * VERTICES_PER_TILE;
+	}
+
+	/**
+	 * Finds the chunks that are visible with the given transformation.
+	 * <p>
+	 * 	The transformation takes points from the tilemap's space to clip space, i.e., it is the product of the tilemap's transformation,
+	 * 	the view matrix, and the projection matrix, and points are treated as row vectors like in shaders.
+	 * 	A chunk is not visible if all of its corners are outside of the same side of the view volume.
+	 * </p>
+	 * 
+	 * @param clipTransformation The transformation from tilemap space to clip space
+	 * @param result Array of at least {@link TilemapChunks#count()} elements where the indices of the visible chunks are stored in ascending order
+	 * 
+	 * @return The number of visible chunks
+	 */
+	public int visibleChunks(Matrix4 clipTransformation, int[] result) {
+		int visible = 0;
+		for(int chunk = 0; chunk < this.count(); chunk++) {
+			float left = this.originX + this.tileX(chunk);
+			float bottom = this.originY + this.tileY(chunk);
+			float right = left + this.chunkWidth(chunk);
+			float top = bottom + this.chunkHeight(chunk);
+			int outside = outcode(clipTransformation, left, bottom)
+					& outcode(clipTransformation, right, bottom)
+					& outcode(clipTransformation, left, top)
+					& outcode(clipTransformation, right, top);
+			if(outside == 0) {
+				result[visible++] = chunk;
+			}
+		}
+		return visible;
+	}
+
+	/**
+	 * Used internally to find which sides of the view volume a point is outside of.
+	 * 
+	 * @param m The transformation from tilemap space to clip space
+	 * @param x X coordinate of the point
+	 * @param y Y coordinate of the point
+	 * 
+	 * @return A bit mask with one bit for every side of the view volume the point is outside of
+	 */
+	private static int outcode(Matrix4 m, float x, float y) {
+		float clipX = x * m.m00() + y * m.m10() + m.m30();
+		float clipY = x * m.m01() + y * m.m11() + m.m31();
+		float clipW = x * m.m03() + y * m.m13() + m.m33();
+		int code = 0;
+		if(clipX < -clipW) code |= 1;
+		if(clipX > clipW) code |= 2;
+		if(clipY < -clipW) code |= 4;
+		if(clipY > clipW) code |= 8;
+		return code;
+	}
+}
@@ -0,0 +1,158 @@
+package hexagon.core.states;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import hexagon.core.GameEntity;
+import hexagon.core.components.Component;
+import hexagon.core.components.Transform;
+
+/**
+ * Class that represents an archetype, i.e., a set of component types.
+ * All entities that have exactly the same set of components belong to the same archetype
+ * and are stored together in {@link ArchetypeChunk}s.
+ * 
+ * @author Nico
+ */
+public final class Archetype {
+
+	/**Component types of this archetype, sorted by name */
+	private final Class<?>[] types;
+	/**True if this archetype contains transforms */
+	private final boolean hasTransforms;
+	/**Chunks that store the entities of this archetype */
+	private final ArrayList<ArchetypeChunk> chunks = new ArrayList<>();
+	/**Number of entities in this archetype */
+	private int size = 0;
+
+	/**
+	 * Creates an archetype.
+	 * 
+	 * @param types The set of component keys of this archetype
+	 */
+	protected Archetype(Set<Class<?>> types) {
+		this.types = types.toArray(Class<?>[]::new);
+		Arrays.sort(this.types, Comparator.comparing(Class::getName));
+		this.hasTransforms = types.contains(Transform.class);
+	}
+
+	/**
+	 * Gets the component types of this archetype.
+	 * 
+	 * @return An array containing the component keys of this archetype
+	 */
+	public Class<?>[] types() {
+		return this.types;
+	}
+
+	/**
+	 * Gets the index of the column that stores the given type.
+	 * 
+	 * @param type A component type
+	 * 
+	 * @return The index of the column or -1 if this archetype does not contain the given type
+	 */
+	public int indexOf(Class<?> type) {
+		Class<?> key = ComponentsTable.getKey(type);
+		for(int i = 0; i < this.types.length; i++) {
+			if(this.types[i] == key) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Checks if this archetype contains all the given types.
+	 * 
+	 * @param types Component types
+	 * 
+	 * @return True if this archetype contains all the given types
+	 */
+	public boolean containsAll(Class<?>... types) {
+		for(Class<?> type : types) {
+			if(this.indexOf(type) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the chunks that store the entities of this archetype.
+	 * All chunks but the last one are full.
+	 * 
+	 * @return An unmodifiable list of chunks
+	 */
+	public List<ArchetypeChunk> chunks() {
+		return Collections.unmodifiableList(this.chunks.subList(0, (this.size + ArchetypeChunk.CAPACITY - 1) / ArchetypeChunk.CAPACITY));
+	}
+
+	/**
+	 * Gets the number of entities in this archetype.
+	 * 
+	 * @return The number of entities in this archetype
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Adds an entity to this archetype.
+	 * 
+	 * @param entity The entity to add
+	 * @param components The entity's components, in the same order as the archetype's types
+	 * 
+	 * @return The row of the entity in this archetype
+	 */
+	protected int add(GameEntity entity, Component[] components) {
+		int chunkIndex = this.size / ArchetypeChunk.CAPACITY;
+		if(chunkIndex == this.chunks.size()) {
+			this.chunks.add(new ArchetypeChunk(this, this.hasTransforms));
+		}
+		this.chunks.get(chunkIndex).add(entity, components);
+		return this.size++;
+	}
+
+	/**
+	 * Removes an entity from this archetype.
+	 * The last entity of the archetype is moved in its place.
+	 * 
+	 * @param row Row of the entity to remove
+	 * 
+	 * @return The removed entity's components, in the same order as the archetype's types
+	 */
+	protected Component[] remove(int row) {
+		ArchetypeChunk chunk = this.chunks.get(row / ArchetypeChunk.CAPACITY);
+		ArchetypeChunk last = this.chunks.get((this.size - 1) / ArchetypeChunk.CAPACITY);
+		Component[] removed = chunk.remove(row % ArchetypeChunk.CAPACITY, last);
+		this.size--;
+		return removed;
+	}
+
+	/**
+	 * Gets the entity in the given row.
+	 * 
+	 * @param row Row of the entity
+	 * 
+	 * @return The entity in the given row
+	 */
+	protected GameEntity entity(int row) {
+		return this.chunks.get(row / ArchetypeChunk.CAPACITY).entity(row % ArchetypeChunk.CAPACITY);
+	}
+
+	/**
+	 * Replaces a component of the entity in the given row.
+	 * 
+	 * @param row Row of the entity
+	 * @param column Index of the component's type
+	 * @param component The new component
+	 */
+	protected void set(int row, int column, Component component) {
+		this.chunks.get(row / ArchetypeChunk.CAPACITY).set(column, row % ArchetypeChunk.CAPACITY, component);
+	}
+}
@@ -0,0 +1,175 @@
+package hexagon.core.states;
+
+import hexagon.core.GameEntity;
+import hexagon.core.components.Component;
+import hexagon.core.components.Transform2D;
+import hexagon.core.components.Transform2DColumns;
+
+/**
+ * Fixed-size block of entities that belong to the same {@link Archetype}.
+ * <p>
+ * 	Every component type of the archetype is stored in its own column, parallel to the entities array.
+ * 	If the archetype contains transforms, {@link Transform2D} values are stored as primitive
+ * 	{@link Transform2DColumns} so that they can be streamed through without dereferencing components.
+ * </p>
+ * 
+ * @author Nico
+ */
+public final class ArchetypeChunk {
+
+	/**Number of entities that fit in a chunk */
+	public static final int CAPACITY = 256;
+
+	/**The archetype this chunk belongs to */
+	private final Archetype archetype;
+	/**Entities in this chunk */
+	private final GameEntity[] entities = new GameEntity[CAPACITY];
+	/**One column of components for every type in the archetype */
+	private final Component[][] columns;
+	/**Primitive columns for transforms or {@code null} if the archetype does not contain transforms */
+	private final Transform2DColumns transforms;
+	/**Number of entities in this chunk */
+	private int size = 0;
+
+	/**
+	 * Creates a chunk.
+	 * 
+	 * @param archetype The archetype this chunk belongs to
+	 * @param hasTransforms True if the archetype contains transforms
+	 */
+	protected ArchetypeChunk(Archetype archetype, boolean hasTransforms) {
+		this.archetype = archetype;
+		this.columns = new Component[archetype.types().length][CAPACITY];
+		this.transforms = hasTransforms ? new Transform2DColumns(CAPACITY) : null;
+	}
+
+	/**
+	 * Gets the archetype this chunk belongs to.
+	 * 
+	 * @return The archetype of this chunk
+	 */
+	public Archetype archetype() {
+		return this.archetype;
+	}
+
+	/**
+	 * Gets the number of entities in this chunk.
+	 * 
+	 * @return The number of entities in this chunk
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Checks if this chunk cannot contain any more entities.
+	 * 
+	 * @return True if the chunk is full
+	 */
+	public boolean isFull() {
+		return this.size == CAPACITY;
+	}
+
+	/**
+	 * Gets the entity in the given row.
+	 * 
+	 * @param row Index of the entity in this chunk, between 0 and {@code size() - 1}
+	 * 
+	 * @return The entity in the given row
+	 */
+	public GameEntity entity(int row) {
+		return this.entities[row];
+	}
+
+	/**
+	 * Gets the column that stores components of the given type.
+	 * Only the first {@link ArchetypeChunk#size()} elements are valid.
+	 * 
+	 * @param type Type of the components
+	 * 
+	 * @return The column of components of the given type or {@code null} if the archetype does not contain that type
+	 */
+	public Component[] column(Class<?> type) {
+		int index = this.archetype.indexOf(type);
+		return index >= 0 ? this.columns[index] : null;
+	}
+
+	/**
+	 * Gets the primitive columns of the transforms in this chunk.
+	 * Only the first {@link ArchetypeChunk#size()} slots are valid.
+	 * 
+	 * @return The transform columns or {@code null} if the archetype does not contain transforms
+	 */
+	public Transform2DColumns transforms() {
+		return this.transforms;
+	}
+
+	/**
+	 * Adds an entity to this chunk.
+	 * 
+	 * @param entity The entity to add
+	 * @param components The entity's components, in the same order as the archetype's types
+	 * 
+	 * @return The row the entity was added in
+	 */
+	protected int add(GameEntity entity, Component[] components) {
+		int row = this.size++;
+		this.entities[row] = entity;
+		for(int i = 0; i < components.length; i++) {
+			this.set(i, row, components[i]);
+		}
+		return row;
+	}
+
+	/**
+	 * Sets a component in the given column and row.
+	 * Binds the component to the transform columns if it is a {@link Transform2D}
+	 * and detaches the transform it replaces, if any.
+	 * 
+	 * @param column Index of the type in the archetype
+	 * @param row Row of the entity
+	 * @param component The component
+	 */
+	protected void set(int column, int row, Component component) {
+		if(this.transforms != null && this.columns[column][row] instanceof Transform2D previous && previous != component && previous.isStoredIn(this.transforms, row)) {
+			previous.detach();
+		}
+		this.columns[column][row] = component;
+		if(this.transforms != null && component instanceof Transform2D transform) {
+			transform.moveTo(this.transforms, row);
+		}
+	}
+
+	/**
+	 * Removes the entity in the given row from this chunk.
+	 * Its transform is detached from the transform columns.
+	 * The last entity of the archetype is moved in its place so that chunks stay densely packed.
+	 * 
+	 * @param row Row of the entity to remove
+	 * @param last The last chunk of the archetype, may be this chunk
+	 * 
+	 * @return The removed entity's components, in the same order as the archetype's types
+	 */
+	protected Component[] remove(int row, ArchetypeChunk last) {
+		Component[] removed = new Component[this.columns.length];
+		for(int i = 0; i < this.columns.length; i++) {
+			removed[i] = this.columns[i][row];
+			if(this.transforms != null && removed[i] instanceof Transform2D transform) {
+				transform.detach();
+			}
+		}
+		int lastRow = last.size - 1;
+		if(last != this || lastRow != row) {
+			this.entities[row] = last.entities[lastRow];
+			for(int i = 0; i < this.columns.length; i++) {
+				this.set(i, row, last.columns[i][lastRow]);
+			}
+		}
+		for(int i = 0; i < this.columns.length; i++) {
+			last.columns[i][lastRow] = null;
+		}
+		last.entities[lastRow] = null;
+		last.size--;
+		return removed;
+	}
+}
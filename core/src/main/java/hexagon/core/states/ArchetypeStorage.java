@@ -0,0 +1,189 @@
+package hexagon.core.states;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import hexagon.core.GameEntity;
+import hexagon.core.components.Component;
+
+/**
+ * Class that stores entities grouped by {@link Archetype}.
+ * <p>
+ * 	Entities with the same set of components live together in fixed-size chunks,
+ * 	so that systems can stream through all the components they need linearly.
+ * 	When a component is added to or removed from an entity, the entity is moved to a different archetype.
+ * </p>
+ * <p>
+ * 	Used by {@link ComponentsTable} when the game state uses archetype storage.
+ * </p>
+ * 
+ * @author Nico
+ */
+public final class ArchetypeStorage {
+
+	/**Map that associates sets of component keys to their archetype */
+	private final HashMap<Set<Class<?>>, Archetype> archetypes = new HashMap<>();
+	/**All archetypes in the order they were created */
+	private final ArrayList<Archetype> archetypeList = new ArrayList<>();
+	/**Archetype of every entity, indexed by entity index */
+	private Archetype[] entityArchetypes = new Archetype[64];
+	/**Row of every entity in its archetype, indexed by entity index */
+	private int[] entityRows = new int[64];
+
+	/**
+	 * Adds a component to an entity, moving the entity to a new archetype.
+	 * If the entity already has a component of that type, the component is replaced.
+	 * 
+	 * @param entity The entity that holds the component
+	 * @param key Key of the component's type
+	 * @param component The component to add
+	 */
+	public void add(GameEntity entity, Class<?> key, Component component) {
+		this.ensureCapacity(entity.index());
+		Archetype current = this.entityArchetypes[entity.index()];
+		if(current == null) {
+			this.insert(entity, this.archetype(Set.of(key)), new Component[] {component});
+		} else {
+			int column = current.indexOf(key);
+			if(column >= 0) {
+				current.set(this.entityRows[entity.index()], column, component);
+			} else {
+				Component[] previous = this.extract(entity);
+				HashSet<Class<?>> types = new HashSet<>(Arrays.asList(current.types()));
+				types.add(key);
+				Archetype next = this.archetype(types);
+				Component[] components = new Component[next.types().length];
+				for(int i = 0; i < components.length; i++) {
+					Class<?> type = next.types()[i];
+					components[i] = type == key ? component : previous[current.indexOf(type)];
+				}
+				this.insert(entity, next, components);
+			}
+		}
+	}
+
+	/**
+	 * Removes a component from an entity, moving the entity to a new archetype.
+	 * 
+	 * @param entity The entity that holds the component
+	 * @param key Key of the component's type
+	 */
+	public void remove(GameEntity entity, Class<?> key) {
+		Archetype current = this.archetypeOf(entity);
+		if(current != null && current.indexOf(key) >= 0) {
+			Component[] previous = this.extract(entity);
+			if(current.types().length > 1) {
+				HashSet<Class<?>> types = new HashSet<>(Arrays.asList(current.types()));
+				types.remove(key);
+				Archetype next = this.archetype(types);
+				Component[] components = new Component[next.types().length];
+				for(int i = 0; i < components.length; i++) {
+					components[i] = previous[current.indexOf(next.types()[i])];
+				}
+				this.insert(entity, next, components);
+			}
+		}
+	}
+
+	/**
+	 * Removes an entity and all of its components.
+	 * 
+	 * @param entity The entity to remove
+	 */
+	public void removeAll(GameEntity entity) {
+		if(this.archetypeOf(entity) != null) {
+			this.extract(entity);
+		}
+	}
+
+	/**
+	 * Performs the given action for every chunk that contains entities with all the given component types.
+	 * 
+	 * @param action Action to perform for every chunk
+	 * @param types Component types the entities must have
+	 */
+	public void forEachChunk(Consumer<ArchetypeChunk> action, Class<?>... types) {
+		for(Archetype archetype : this.archetypeList) {
+			if(archetype.size() > 0 && archetype.containsAll(types)) {
+				archetype.chunks().forEach(action);
+			}
+		}
+	}
+
+	/**
+	 * Used internally to get the archetype of an entity.
+	 * 
+	 * @param entity The entity
+	 * 
+	 * @return The archetype of the entity or {@code null} if the entity has no components
+	 */
+	private Archetype archetypeOf(GameEntity entity) {
+		int index = entity.index();
+		return index < this.entityArchetypes.length ? this.entityArchetypes[index] : null;
+	}
+
+	/**
+	 * Used internally to get or create the archetype for the given set of component keys.
+	 * 
+	 * @param types Set of component keys
+	 * 
+	 * @return The archetype for the given set
+	 */
+	private Archetype archetype(Set<Class<?>> types) {
+		Archetype archetype = this.archetypes.get(types);
+		if(archetype == null) {
+			archetype = new Archetype(types);
+			this.archetypes.put(Set.copyOf(types), archetype);
+			this.archetypeList.add(archetype);
+		}
+		return archetype;
+	}
+
+	/**
+	 * Used internally to add an entity to an archetype.
+	 * 
+	 * @param entity The entity to add
+	 * @param archetype The archetype to add the entity to
+	 * @param components The entity's components, in the same order as the archetype's types
+	 */
+	private void insert(GameEntity entity, Archetype archetype, Component[] components) {
+		this.entityRows[entity.index()] = archetype.add(entity, components);
+		this.entityArchetypes[entity.index()] = archetype;
+	}
+
+	/**
+	 * Used internally to remove an entity from its archetype.
+	 * Updates the row of the entity that was moved in its place.
+	 * 
+	 * @param entity The entity to remove
+	 * 
+	 * @return The removed entity's components, in the same order as the archetype's types
+	 */
+	private Component[] extract(GameEntity entity) {
+		Archetype archetype = this.entityArchetypes[entity.index()];
+		int row = this.entityRows[entity.index()];
+		Component[] removed = archetype.remove(row);
+		if(row < archetype.size()) {
+			this.entityRows[archetype.entity(row).index()] = row;
+		}
+		this.entityArchetypes[entity.index()] = null;
+		return removed;
+	}
+
+	/**
+	 * Used internally to grow the arrays indexed by entity index.
+	 * 
+	 * @param index Entity index
+	 */
+	private void ensureCapacity(int index) {
+		if(index >= this.entityArchetypes.length) {
+			int length = Math.max(index + 1, this.entityArchetypes.length * 2);
+			this.entityArchetypes = Arrays.copyOf(this.entityArchetypes, length);
+			this.entityRows = Arrays.copyOf(this.entityRows, length);
+		}
+	}
+}
@@ -0,0 +1,169 @@
+package hexagon.core.states;
+
+import java.util.ArrayList;
+
+import hexagon.core.GameEntity;
+import hexagon.core.components.Component;
+import hexagon.utils.Log;
+
+/**
+ * Class that records structural changes to a {@link GameState}.
+ * <p>
+ * 	Adding and removing components and destroying entities while systems are running
+ * 	would modify the components table while it is being iterated.
+ * 	These changes are instead recorded as commands and applied in one batch, in the order they were recorded,
+ * 	when the state is flushed at the end of a frame.
+ * 	The cost of a flush is proportional to the number of recorded commands.
+ * </p>
+ * <p>
+ * 	Commands can be recorded from any thread.
+ * </p>
+ * 
+ * @author Nico
+ */
+public final class CommandBuffer {
+
+	/**Commands recorded since the last flush */
+	private ArrayList<Command> recording = new ArrayList<>();
+	/**List of commands being applied, swapped with the recording one on flush to avoid allocations */
+	private ArrayList<Command> applying = new ArrayList<>();
+
+	/**
+	 * Records a command that adds a component to an entity.
+	 * 
+	 * @param entity The entity that should hold the component
+	 * @param component The component to add
+	 */
+	public synchronized void addComponent(GameEntity entity, Component component) {
+		this.recording.add(new AddComponent(entity, component));
+	}
+
+	/**
+	 * Records a command that removes a component from an entity.
+	 * 
+	 * @param entity The entity that holds the component
+	 * @param type Class of the component to remove
+	 */
+	public synchronized void removeComponent(GameEntity entity, Class<?> type) {
+		this.recording.add(new RemoveComponent(entity, type));
+	}
+
+	/**
+	 * Records a command that removes a specific component from an entity.
+	 * The component is only removed if the entity still holds that same instance when the command is applied,
+	 * so a component that replaced it in the meantime is not removed.
+	 * 
+	 * @param entity The entity that holds the component
+	 * @param component The component to remove
+	 */
+	public synchronized void removeComponent(GameEntity entity, Component component) {
+		this.recording.add(new RemoveInstance(entity, component));
+	}
+
+	/**
+	 * Records a command that destroys an entity and removes all of its components.
+	 * 
+	 * @param entity The entity to destroy
+	 */
+	public synchronized void destroyEntity(GameEntity entity) {
+		this.recording.add(new DestroyEntity(entity));
+	}
+
+	/**
+	 * Gets the number of commands recorded since the last flush.
+	 * 
+	 * @return The number of pending commands
+	 */
+	public synchronized int size() {
+		return this.recording.size();
+	}
+
+	/**
+	 * Applies all recorded commands in the order they were recorded.
+	 * Called from {@link GameState#flush()} while no system is running.
+	 * 
+	 * @param components The components table to apply the commands to
+	 * @param entities The registry that allocates the state's entities
+	 */
+	protected void flush(ComponentsTable components, EntityRegistry entities) {
+		ArrayList<Command> commands;
+		synchronized(this) {
+			commands = this.recording;
+			this.recording = this.applying;
+			this.applying = commands;
+		}
+		for(Command command : commands) {
+			command.apply(components, entities);
+		}
+		commands.clear();
+	}
+
+	/**
+	 * A structural change recorded in the command buffer.
+	 */
+	private static sealed interface Command permits AddComponent, RemoveComponent, RemoveInstance, DestroyEntity {
+
+		/**
+		 * Applies this command.
+		 * 
+		 * @param components The components table
+		 * @param entities The entity registry
+		 */
+		void apply(ComponentsTable components, EntityRegistry entities);
+	}
+
+	/**
+	 * Command that adds a component to an entity.
+	 * Does nothing if the entity was destroyed before the command is applied.
+	 */
+	private static record AddComponent(GameEntity entity, Component component) implements Command {
+
+		@Override
+		public void apply(ComponentsTable components, EntityRegistry entities) {
+			if(entities.isAlive(this.entity.handle())) {
+				components.add(this.entity, this.component);
+			} else {
+				Log.warning("Cannot add component " + this.component + " to destroyed entity");
+			}
+		}
+	}
+
+	/**
+	 * Command that removes a component from an entity.
+	 */
+	private static record RemoveComponent(GameEntity entity, Class<?> type) implements Command {
+
+		@Override
+		public void apply(ComponentsTable components, EntityRegistry entities) {
+			if(entities.isAlive(this.entity.handle())) {
+				components.remove(this.entity, this.type);
+			}
+		}
+	}
+
+	/**
+	 * Command that removes a specific component from an entity.
+	 */
+	private static record RemoveInstance(GameEntity entity, Component component) implements Command {
+
+		@Override
+		public void apply(ComponentsTable components, EntityRegistry entities) {
+			if(entities.isAlive(this.entity.handle())) {
+				components.remove(this.entity, this.component);
+			}
+		}
+	}
+
+	/**
+	 * Command that destroys an entity and removes all of its components.
+	 */
+	private static record DestroyEntity(GameEntity entity) implements Command {
+
+		@Override
+		public void apply(ComponentsTable components, EntityRegistry entities) {
+			if(entities.destroy(this.entity.handle())) {
+				components.removeAll(this.entity);
+			}
+		}
+	}
+}
@@ -0,0 +1,262 @@
+package hexagon.core.states;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import hexagon.core.GameEntity;
+import hexagon.core.components.Component;
+
+/**
+ * Class that represents a sparse set of components of the same type.
+ * <p>
+ * 	Components are stored in a densely packed array so that they can be iterated contiguously.
+ * 	A sparse array indexed by entity index maps every entity to the position of its component in the dense array.
+ * 	Adding, removing and looking up a component are all constant time operations.
+ * </p>
+ * <p>
+ * 	Used in {@link ComponentsTable} to store all the components of a certain type.
+ * </p>
+ * 
+ * @author Nico
+ */
+public final class ComponentPool {
+
+	/**Initial capacity of the dense arrays */
+	private static final int INITIAL_CAPACITY = 16;
+	/**Value in the sparse array for entities that do not have a component in this pool */
+	private static final int ABSENT = -1;
+
+	/**Densely packed components */
+	private Component[] components = new Component[INITIAL_CAPACITY];
+	/**Entities holding the components, parallel to the components array */
+	private GameEntity[] entities = new GameEntity[INITIAL_CAPACITY];
+	/**Maps entity indices to indices in the dense arrays */
+	private int[] sparse = new int[0];
+	/**Number of components in the pool */
+	private int size = 0;
+
+	/**
+	 * Adds a component to the pool.
+	 * If the given entity already has a component in this pool, it is replaced.
+	 * Components left by a stale entity with the same index are replaced as well.
+	 * 
+	 * @param entity The entity that holds the component
+	 * @param component The component to add
+	 */
+	public void put(GameEntity entity, Component component) {
+		int index = entity.index() < this.sparse.length ? this.sparse[entity.index()] : ABSENT;
+		if(index != ABSENT) {
+			this.components[index] = component;
+			this.entities[index] = entity;
+		} else {
+			this.ensureSparseCapacity(entity.index());
+			if(this.size == this.components.length) {
+				this.components = Arrays.copyOf(this.components, this.size * 2);
+				this.entities = Arrays.copyOf(this.entities, this.size * 2);
+			}
+			this.components[this.size] = component;
+			this.entities[this.size] = entity;
+			this.sparse[entity.index()] = this.size;
+			this.size++;
+		}
+	}
+
+	/**
+	 * Gets the component held by the given entity.
+	 * 
+	 * @param entity The entity that holds the component
+	 * 
+	 * @return The requested component or {@code null} if the entity does not have a component in this pool
+	 */
+	public Component get(GameEntity entity) {
+		int index = this.indexOf(entity);
+		return index != ABSENT ? this.components[index] : null;
+	}
+
+	/**
+	 * Checks if the given entity has a component in this pool.
+	 * 
+	 * @param entity The entity to check
+	 * 
+	 * @return True if the entity has a component in this pool, otherwise false
+	 */
+	public boolean contains(GameEntity entity) {
+		return this.indexOf(entity) != ABSENT;
+	}
+
+	/**
+	 * Removes the component held by the given entity.
+	 * The last component in the dense array is moved in the place of the removed one.
+	 * 
+	 * @param entity The entity that holds the component
+	 * 
+	 * @return The removed component or {@code null} if the entity did not have a component in this pool
+	 */
+	public Component remove(GameEntity entity) {
+		int index = this.indexOf(entity);
+		if(index != ABSENT) {
+			Component removed = this.components[index];
+			int last = --this.size;
+			this.components[index] = this.components[last];
+			this.entities[index] = this.entities[last];
+			this.sparse[this.entities[index].index()] = index;
+			this.components[last] = null;
+			this.entities[last] = null;
+			this.sparse[entity.index()] = ABSENT;
+			return removed;
+		}
+		return null;
+	}
+
+	/**
+	 * Gets the number of components in this pool.
+	 * 
+	 * @return The number of components in this pool
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Gets the component at the given position in the dense array.
+	 * Can be used together with {@link ComponentPool#size()} to iterate over the pool.
+	 * 
+	 * @param index Index of the component, between 0 and {@code size() - 1}
+	 * 
+	 * @return The component at the given index
+	 */
+	public Component component(int index) {
+		return this.components[index];
+	}
+
+	/**
+	 * Gets the entity at the given position in the dense array.
+	 * Can be used together with {@link ComponentPool#size()} to iterate over the pool.
+	 * 
+	 * @param index Index of the entity, between 0 and {@code size() - 1}
+	 * 
+	 * @return The entity holding the component at the given index
+	 */
+	public GameEntity entity(int index) {
+		return this.entities[index];
+	}
+
+	/**
+	 * Performs the given action for every component in the pool.
+	 * Components are visited in the order they are stored in the dense array.
+	 * 
+	 * @param action Action that takes the entity and the component
+	 */
+	public void forEach(BiConsumer<GameEntity, Component> action) {
+		for(int i = 0; i < this.size; i++) {
+			action.accept(this.entities[i], this.components[i]);
+		}
+	}
+
+	/**
+	 * Gets a read-only {@link Map} view of this pool that uses the entities as keys.
+	 * The view reflects later changes to the pool and does not copy its components.
+	 * 
+	 * @return A read-only map view of this pool
+	 */
+	public Map<GameEntity, Component> asMap() {
+		return new MapView();
+	}
+
+	/**
+	 * Used internally to find the index of an entity's component in the dense array.
+	 * 
+	 * @param entity The entity holding the component
+	 * 
+	 * @return The index of the component or {@code ABSENT} if the entity does not have a component in this pool
+	 * 		or if the given entity is stale
+	 */
+	private int indexOf(GameEntity entity) {
+		int index = entity.index();
+		if(index < this.sparse.length) {
+			int denseIndex = this.sparse[index];
+			if(denseIndex != ABSENT && this.entities[denseIndex].handle() == entity.handle()) {
+				return denseIndex;
+			}
+		}
+		return ABSENT;
+	}
+
+	/**
+	 * Used internally to grow the sparse array so that it can contain the given entity index.
+	 * 
+	 * @param index Entity index
+	 */
+	private void ensureSparseCapacity(int index) {
+		if(index >= this.sparse.length) {
+			int previousLength = this.sparse.length;
+			this.sparse = Arrays.copyOf(this.sparse, Math.max(index + 1, previousLength * 2));
+			Arrays.fill(this.sparse, previousLength, this.sparse.length, ABSENT);
+		}
+	}
+
+	/**
+	 * Read-only map view of the pool.
+	 */
+	private final class MapView extends AbstractMap<GameEntity, Component> {
+
+		@Override
+		public Component get(Object key) {
+			return key instanceof GameEntity entity ? ComponentPool.this.get(entity) : null;
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return key instanceof GameEntity entity && ComponentPool.this.contains(entity);
+		}
+
+		@Override
+		public int size() {
+			return ComponentPool.this.size;
+		}
+
+		@Override
+		public void forEach(BiConsumer<? super GameEntity, ? super Component> action) {
+			ComponentPool.this.forEach(action::accept);
+		}
+
+		@Override
+		public Set<Entry<GameEntity, Component>> entrySet() {
+			return new AbstractSet<>() {
+
+				@Override
+				public Iterator<Entry<GameEntity, Component>> iterator() {
+					return new Iterator<>() {
+
+						private int index = 0;
+
+						@Override
+						public boolean hasNext() {
+							return this.index < ComponentPool.this.size;
+						}
+
+						@Override
+						public Entry<GameEntity, Component> next() {
+							if(!this.hasNext()) {
+								throw new NoSuchElementException();
+							}
+							int i = this.index++;
+							return Map.entry(ComponentPool.this.entities[i], ComponentPool.this.components[i]);
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return ComponentPool.this.size;
+				}
+			};
+		}
+	}
+}
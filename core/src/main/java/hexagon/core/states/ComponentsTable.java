@@ -1,8 +1,10 @@
 package hexagon.core.states;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Optional;
-import java.util.function.Predicate;
+import java.util.function.Consumer;
 
 import hexagon.core.GameEntity;
 import hexagon.core.components.Component;
@@ -10,14 +12,53 @@ import hexagon.core.components.Component;
 /**
  * Class that represents a table of components.
  * Uses the component's class as a row index and the entity as the column index.
+ * Every row is a {@link ComponentPool} that stores all the components of that type.
+ * Optionally, entities can also be grouped by archetype in an {@link ArchetypeStorage}.
+ * {@link Query}s created from this table are updated whenever a component is added or removed.
  * Used in {@link GameState} to store components.
  * 
  * @author Nico
  */
 public final class ComponentsTable {
 
+	/**Caches the key of every component class to avoid walking the class hierarchy on every lookup */
+	private static final ClassValue<Class<?>> KEYS = new ClassValue<>() {
+		@Override
+		protected Class<?> computeValue(Class<?> componentType) {
+			Class<?> superClass = componentType.getSuperclass();
+			return superClass.equals(Component.class) ? componentType : this.get(superClass);
+		}
+	};
+
 	/**The table holding the components */
-	private final HashMap<Class<?>, HashMap<GameEntity, Component>> table = new HashMap<>();
+	private final HashMap<Class<?>, ComponentPool> table = new HashMap<>();
+	/**Archetype storage or {@code null} if this table does not use archetypes */
+	private ArchetypeStorage archetypes = null;
+	/**Queries created from this table, mapped by their component types */
+	private final HashMap<List<Class<?>>, Query<?, ?>> queries = new HashMap<>();
+	/**Queries that need to be updated when a component with a certain key is added or removed */
+	private final HashMap<Class<?>, ArrayList<Query<?, ?>>> queriesByKey = new HashMap<>();
+
+	/**
+	 * Enables archetype storage.
+	 * All the components that are already in the table are moved to their archetypes.
+	 * If archetype storage is already enabled this method does nothing.
+	 */
+	public void useArchetypes() {
+		if(this.archetypes == null) {
+			this.archetypes = new ArchetypeStorage();
+			this.table.forEach((key, pool) -> pool.forEach((entity, component) -> this.archetypes.add(entity, key, component)));
+		}
+	}
+
+	/**
+	 * Checks if this table uses archetype storage.
+	 * 
+	 * @return True if archetype storage is enabled
+	 */
+	public boolean usesArchetypes() {
+		return this.archetypes != null;
+	}
 
 	/**
 	 * Adds a component to the table.
@@ -28,14 +69,12 @@ public final class ComponentsTable {
 	 */
 	public void add(GameEntity entity, Component component) {
 		if(entity != null && component != null) {
-			Class<?> componentKey = this.getKey(component.getClass());
-			if(this.table.containsKey(componentKey)) {
-				this.table.get(componentKey).put(entity, component);
-			} else {
-				HashMap<GameEntity, Component> map = new HashMap<>();
-				map.put(entity, component);
-				this.table.put(componentKey, map);
+			Class<?> key = getKey(component.getClass());
+			this.table.computeIfAbsent(key, k -> new ComponentPool()).put(entity, component);
+			if(this.archetypes != null) {
+				this.archetypes.add(entity, key, component);
 			}
+			this.updateQueries(entity, key);
 		}
 	}
 
@@ -52,11 +91,11 @@ public final class ComponentsTable {
 	 */
 	public <T extends Component> Optional<T> find(GameEntity entity, Class<T> type) {
 		if(entity != null && type != null) {
-			Class<?> componentKey = this.getKey(type);
-			if(this.table.containsKey(componentKey)) {
-				HashMap<GameEntity, Component> components = this.table.get(componentKey);
-				if(components.containsKey(entity)) {
-					return Optional.of(type.cast(components.get(entity)));
+			ComponentPool pool = this.table.get(getKey(type));
+			if(pool != null) {
+				Component component = pool.get(entity);
+				if(type.isInstance(component)) {
+					return Optional.of(type.cast(component));
 				}
 			}
 		}
@@ -68,19 +107,125 @@ public final class ComponentsTable {
 	 * 
 	 * @param type The type of component to look for
 	 * 
-	 * @return A {@link HashMap} containing all the components of the requested type
-	 * 		that uses the {@link GameEntity} holding them as key
-	 * 		or an empty {@link HashMap} if no components of that type are found
+	 * @return A {@link ComponentPool} containing all the components of the requested type
+	 * 		or a new empty pool if no components of that type are found
 	 * 		or if the given type is {@code null}
 	 */
-	public HashMap<GameEntity, Component> getAll(Class<?> type) {
+	public ComponentPool getAll(Class<?> type) {
 		if(type != null) {
-			Class<?> componentKey = this.getKey(type);
-			if(this.table.containsKey(componentKey)) {
-				return this.table.get(componentKey);
+			ComponentPool pool = this.table.get(getKey(type));
+			if(pool != null) {
+				return pool;
+			}
+		}
+		return new ComponentPool();
+	}
+
+	/**
+	 * Removes a component from the table.
+	 * 
+	 * @param entity The entity that holds the component
+	 * @param type Class of the component to remove
+	 * 
+	 * @return The removed component or {@code null} if the table did not contain said component
+	 */
+	public Component remove(GameEntity entity, Class<?> type) {
+		if(entity != null && type != null) {
+			Class<?> key = getKey(type);
+			ComponentPool pool = this.table.get(key);
+			if(pool != null && type.isInstance(pool.get(entity))) {
+				if(this.archetypes != null) {
+					this.archetypes.remove(entity, key);
+				}
+				Component removed = pool.remove(entity);
+				this.updateQueries(entity, key);
+				return removed;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Removes a specific component from the table.
+	 * The component is only removed if the entity holds that same instance.
+	 * 
+	 * @param entity The entity that holds the component
+	 * @param component The component to remove
+	 * 
+	 * @return The removed component or {@code null} if the entity does not hold the given component
+	 */
+	public Component remove(GameEntity entity, Component component) {
+		if(entity != null && component != null) {
+			ComponentPool pool = this.table.get(getKey(component.getClass()));
+			if(pool != null && pool.get(entity) == component) {
+				return this.remove(entity, component.getClass());
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Removes all the components held by an entity.
+	 * 
+	 * @param entity The entity whose components should be removed
+	 */
+	public void removeAll(GameEntity entity) {
+		if(entity != null) {
+			this.table.values().forEach(pool -> pool.remove(entity));
+			if(this.archetypes != null) {
+				this.archetypes.removeAll(entity);
+			}
+			this.queries.values().forEach(query -> query.remove(entity));
+		}
+	}
+
+	/**
+	 * Gets the query over the given component types.
+	 * Queries are cached, so the same query is returned every time this method is called with the same types.
+	 * A query is populated with the entities that already match when it is created
+	 * and is then kept up to date by this table.
+	 * 
+	 * @param <A> Type of the first component
+	 * @param <B> Type of the second component
+	 * @param first Type of the first component
+	 * @param second Type of the second component
+	 * 
+	 * @return The query over the given types
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <A extends Component, B extends Component> Query<A, B> query(Class<A> first, Class<B> second) {
+		List<Class<?>> types = List.of(first, second);
+		Query<A, B> query = (Query<A, B>) this.queries.get(types);
+		if(query == null) {
+			query = new Query<>(first, second);
+			ComponentPool firstPool = this.getAll(first);
+			ComponentPool secondPool = this.getAll(second);
+			for(int i = 0; i < firstPool.size(); i++) {
+				GameEntity entity = firstPool.entity(i);
+				query.update(entity, firstPool.component(i), secondPool.get(entity));
+			}
+			this.queries.put(types, query);
+			this.queriesByKey.computeIfAbsent(getKey(first), key -> new ArrayList<>()).add(query);
+			if(!getKey(first).equals(getKey(second))) {
+				this.queriesByKey.computeIfAbsent(getKey(second), key -> new ArrayList<>()).add(query);
+			}
+		}
+		return query;
+	}
+
+	/**
+	 * Used internally to update the queries that depend on a component key after a component was added or removed.
+	 * 
+	 * @param entity The entity that was changed
+	 * @param key Key of the component that was added or removed
+	 */
+	private void updateQueries(GameEntity entity, Class<?> key) {
+		ArrayList<Query<?, ?>> dependent = this.queriesByKey.get(key);
+		if(dependent != null) {
+			for(Query<?, ?> query : dependent) {
+				query.update(entity, this.getAll(query.firstType()).get(entity), this.getAll(query.secondType()).get(entity));
 			}
 		}
-		return new HashMap<>();
 	}
 
 	/**
@@ -90,17 +235,20 @@ public final class ComponentsTable {
 	 * 
 	 * @return The last superclass of the given one that directly extends {@link Component}
 	 */
-	private Class<?> getKey(Class<?> componentType) {
-		Class<?> superClass = componentType.getSuperclass();
-		return superClass.equals(Component.class) ? componentType : this.getKey(superClass);
+	static Class<?> getKey(Class<?> componentType) {
+		return KEYS.get(componentType);
 	}
 
 	/**
-	 * Removes all components from the table if the given predicate is satisfied.
+	 * Performs the given action for every archetype chunk that contains entities with all the given component types.
+	 * If this table does not use archetypes this method does nothing.
 	 * 
-	 * @param predicate A predicate which returns {@code true} for elements to be removed
+	 * @param action Action to perform for every chunk
+	 * @param types Component types the entities must have
 	 */
-	public void removeIf(Predicate<Component> predicate) {
-		this.table.forEach((type, map) -> map.values().removeIf(predicate));
+	public void forEachChunk(Consumer<ArchetypeChunk> action, Class<?>... types) {
+		if(this.archetypes != null) {
+			this.archetypes.forEachChunk(action, types);
+		}
 	}
 }
@@ -0,0 +1,164 @@
+package hexagon.core.states;
+
+import java.util.Arrays;
+
+import hexagon.core.GameEntity;
+
+/**
+ * Class responsible for allocating entity handles.
+ * <p>
+ * 	An entity handle is an {@code int} that packs the entity's index and a generation counter.
+ * 	The index is used to address components in {@link ComponentPool}s and is recycled when an entity is destroyed.
+ * 	The generation is increased every time an index is recycled,
+ * 	so that handles of destroyed entities can be recognized as stale.
+ * </p>
+ * <p>
+ * 	Used in {@link GameState} to create and destroy entities.
+ * 	All methods are synchronized, since entities can be looked up from systems running on different threads
+ * 	while the arrays are grown by {@link EntityRegistry#create(GameState)}.
+ * </p>
+ * 
+ * @author Nico
+ */
+public final class EntityRegistry {
+
+	/**Number of bits of a handle used for the index */
+	public static final int INDEX_BITS = 20;
+	/**Maximum number of entities that can be alive at the same time */
+	public static final int MAX_ENTITIES = 1 << INDEX_BITS;
+	/**Mask used to get the index from a handle */
+	private static final int INDEX_MASK = MAX_ENTITIES - 1;
+	/**Mask used to wrap generations around, generations use the remaining bits of the handle */
+	private static final int GENERATION_MASK = (1 << (Integer.SIZE - INDEX_BITS)) - 1;
+
+	/**
+	 * Creates a handle from an index and a generation.
+	 * 
+	 * @param index Entity index
+	 * @param generation Entity generation
+	 * 
+	 * @return The entity handle
+	 */
+	public static int handle(int index, int generation) {
+		return (generation << INDEX_BITS) | index;
+	}
+
+	/**
+	 * Gets the index of an entity handle.
+	 * 
+	 * @param handle Entity handle
+	 * 
+	 * @return The index part of the handle
+	 */
+	public static int indexOf(int handle) {
+		return handle & INDEX_MASK;
+	}
+
+	/**
+	 * Gets the generation of an entity handle.
+	 * 
+	 * @param handle Entity handle
+	 * 
+	 * @return The generation part of the handle
+	 */
+	public static int generationOf(int handle) {
+		return (handle >>> INDEX_BITS) & GENERATION_MASK;
+	}
+
+	/**Current generation of every index */
+	private int[] generations = new int[64];
+	/**Alive entity for every index or {@code null} if the index is free */
+	private GameEntity[] entities = new GameEntity[64];
+	/**Stack of indices of destroyed entities that can be reused */
+	private int[] freeIndices = new int[64];
+	/**Number of indices in the free stack */
+	private int freeCount = 0;
+	/**Number of indices that have ever been used */
+	private int used = 0;
+	/**Number of alive entities */
+	private int alive = 0;
+
+	/**
+	 * Creates a new entity.
+	 * Reuses the index of a destroyed entity if there is one.
+	 * 
+	 * @param state The state the entity is in
+	 * 
+	 * @return The newly created entity
+	 * 
+	 * @throws IllegalStateException If there are already {@link EntityRegistry#MAX_ENTITIES} alive entities
+	 */
+	public synchronized GameEntity create(GameState state) {
+		int index;
+		if(this.freeCount > 0) {
+			index = this.freeIndices[--this.freeCount];
+		} else if(this.used < MAX_ENTITIES) {
+			index = this.used++;
+			if(index == this.generations.length) {
+				this.generations = Arrays.copyOf(this.generations, index * 2);
+				this.entities = Arrays.copyOf(this.entities, index * 2);
+			}
+		} else {
+			throw new IllegalStateException("Cannot create more than " + MAX_ENTITIES + " entities");
+		}
+		GameEntity entity = new GameEntity(state, handle(index, this.generations[index]));
+		this.entities[index] = entity;
+		this.alive++;
+		return entity;
+	}
+
+	/**
+	 * Destroys an entity.
+	 * Its index will be reused by the next created entity and its handle becomes stale.
+	 * 
+	 * @param handle Handle of the entity to destroy
+	 * 
+	 * @return True if the entity was destroyed, false if the handle was already stale
+	 */
+	public synchronized boolean destroy(int handle) {
+		if(this.isAlive(handle)) {
+			int index = indexOf(handle);
+			this.generations[index] = (this.generations[index] + 1) & GENERATION_MASK;
+			this.entities[index] = null;
+			if(this.freeCount == this.freeIndices.length) {
+				this.freeIndices = Arrays.copyOf(this.freeIndices, this.freeCount * 2);
+			}
+			this.freeIndices[this.freeCount++] = index;
+			this.alive--;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Checks if the given handle refers to an entity that is still alive.
+	 * 
+	 * @param handle Entity handle
+	 * 
+	 * @return True if the entity is alive, false if the handle is stale or invalid
+	 */
+	public synchronized boolean isAlive(int handle) {
+		int index = indexOf(handle);
+		return index < this.used && this.generations[index] == generationOf(handle);
+	}
+
+	/**
+	 * Gets the entity with the given handle.
+	 * 
+	 * @param handle Entity handle
+	 * 
+	 * @return The entity with the given handle or {@code null} if the handle is stale or invalid
+	 */
+	public synchronized GameEntity get(int handle) {
+		return this.isAlive(handle) ? this.entities[indexOf(handle)] : null;
+	}
+
+	/**
+	 * Gets the number of alive entities.
+	 * 
+	 * @return The number of alive entities
+	 */
+	public synchronized int size() {
+		return this.alive;
+	}
+}
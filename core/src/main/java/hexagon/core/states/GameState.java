@@ -1,10 +1,13 @@
 package hexagon.core.states;
 
-import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 
 import hexagon.core.GameEntity;
 import hexagon.core.components.Component;
+import hexagon.core.components.Transform;
 import hexagon.core.systems.GameSystem;
 import hexagon.utils.Log;
 
@@ -44,36 +47,176 @@ public final class GameState {
 	/**
 	 * Updates the current state by performing actions that must
 	 * run on the main thread or that are not coupled to a system.
+	 * Applies all the structural changes recorded during the frame.
 	 * Called from the main application class.
 	 */
 	public static synchronized void update() {
-		currentState.components.removeIf(Component::markedForRemoval);
+		currentState.flush();
 	}
 
 	/**Component table that holds all entities and their components */
 	private final ComponentsTable components = new ComponentsTable();
-	/**System runner that manages all running systems in this state */
-	private final SystemRunner systems = new SystemRunner();
+	/**Registry that allocates entity handles */
+	private final EntityRegistry entities = new EntityRegistry();
+	/**Scheduler that runs all systems in this state */
+	private final SystemScheduler systems = new SystemScheduler(this);
+	/**Buffer that records structural changes until the next flush */
+	private final CommandBuffer commands = new CommandBuffer();
+	/**Lock that prevents systems from running while commands are being applied */
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
 
 	/**
 	 * Creates a {@link GameEntity} in this state.
-	 * This is equivalent as calling {@code new GameEntity(state)}.
+	 * The entity's index may be the one of a previously destroyed entity.
 	 * 
 	 * @return A newly created game entity
 	 */
 	public GameEntity createEntity() {
-		return new GameEntity(this);
+		return this.entities.create(this);
+	}
+
+	/**
+	 * Destroys an entity and removes all of its components.
+	 * This method rarely needs to be called, use {@link GameEntity#destroy()} instead.
+	 * The entity is destroyed when the state is flushed.
+	 * If the entity was already destroyed at that point this method has no effect.
+	 * 
+	 * @param entity The entity to destroy
+	 */
+	public void destroyEntity(GameEntity entity) {
+		if(entity != null) {
+			this.commands.destroyEntity(entity);
+		}
+	}
+
+	/**
+	 * Checks if an entity is still alive in this state.
+	 * 
+	 * @param entity The entity to check
+	 * 
+	 * @return True if the entity is alive, false if it was destroyed or if it is {@code null}
+	 */
+	public boolean isAlive(GameEntity entity) {
+		return entity != null && this.entities.isAlive(entity.handle());
+	}
+
+	/**
+	 * Gets the entity with the given handle.
+	 * 
+	 * @param handle Entity handle
+	 * 
+	 * @return The entity with the given handle or {@code null} if the handle is stale
+	 */
+	public GameEntity getEntity(int handle) {
+		return this.entities.get(handle);
 	}
 
 	/**
 	 * Adds a component to an entity by storing it in the components table.
 	 * This method rarely needs to be called, use {@link GameEntity#addComponent(Component)} instead.
+	 * <p>
+	 * 	The component is not added immediately: it is stored when the state is flushed at the end of the frame.
+	 * 	Until then {@link GameState#findComponent(GameEntity, Class)} does not find it
+	 * 	and systems do not process it, even on the same thread that added it.
+	 * </p>
+	 * If the entity was destroyed this method does nothing.
 	 * 
 	 * @param entity The entity to add the component to
 	 * @param component The component to add
 	 */
 	public void addComponent(GameEntity entity, Component component) {
-		this.components.add(entity, component);
+		if(this.isAlive(entity)) {
+			if(component != null) {
+				component.setEntity(entity);
+				this.commands.addComponent(entity, component);
+			}
+		} else {
+			Log.warning("Cannot add component " + component + " to destroyed entity");
+		}
+	}
+
+	/**
+	 * Removes a component from an entity.
+	 * This method rarely needs to be called, use {@link GameEntity#removeComponent(Class)} instead.
+	 * The component is removed when the state is flushed.
+	 * 
+	 * @param entity The entity to remove the component from
+	 * @param type The class of the component to remove
+	 */
+	public void removeComponent(GameEntity entity, Class<?> type) {
+		if(entity != null && type != null) {
+			this.commands.removeComponent(entity, type);
+		}
+	}
+
+	/**
+	 * Removes a specific component from an entity.
+	 * This method rarely needs to be called, use {@link Component#markToRemove()} instead.
+	 * The component is removed when the state is flushed, only if the entity still holds that same component.
+	 * 
+	 * @param entity The entity to remove the component from
+	 * @param component The component to remove
+	 */
+	public void removeComponent(GameEntity entity, Component component) {
+		if(entity != null && component != null) {
+			this.commands.removeComponent(entity, component);
+		}
+	}
+
+	/**
+	 * Applies all the structural changes that were recorded since the last flush,
+	 * i.e., adds and removes components and destroys entities.
+	 * Waits for running systems to finish their current frame before applying them.
+	 * 
+	 * @see CommandBuffer
+	 */
+	public void flush() {
+		this.lock.writeLock().lock();
+		try {
+			this.commands.flush(this.components, this.entities);
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Runs a system on this state.
+	 * Called from the {@link SystemScheduler} to prevent the state from being flushed while the system is running.
+	 * 
+	 * @param system The system to run
+	 * @param deltaTime Time elapsed since the last run (in seconds)
+	 */
+	protected void runSystem(GameSystem<?> system, float deltaTime) {
+		this.lock.readLock().lock();
+		try {
+			system.run(this, deltaTime);
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Stores the current state of all transforms as their previous state.
+	 * Called from the {@link SystemScheduler} at the start of every tick.
+	 * 
+	 * @see Transform#storePreviousState()
+	 */
+	protected void storePreviousState() {
+		this.lock.readLock().lock();
+		try {
+			this.components.getAll(Transform.class).forEach((entity, transform) -> ((Transform) transform).storePreviousState());
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Gets how far the current time is between the last tick and the next one.
+	 * 
+	 * @return A value between 0 and 1 used to interpolate between ticks when rendering
+	 */
+	public float interpolationAlpha() {
+		return this.systems.interpolationAlpha();
 	}
 
 	/**
@@ -111,22 +254,83 @@ public final class GameState {
 	 * 
 	 * @param type The type of component to look for
 	 * 
-	 * @return A {@link HashMap} containing all the components of the requested type
+	 * @return A read-only {@link Map} containing all the components of the requested type
 	 * 		that uses the {@link GameEntity} holding them as key
-	 * 		or an empty {@link HashMap} if no components of that type are found
+	 * 		or an empty {@link Map} if no components of that type are found
+	 * 		or if the given type is {@code null}
+	 */
+	public Map<GameEntity, Component> getComponents(Class<?> type) {
+		return this.getComponentPool(type).asMap();
+	}
+
+	/**
+	 * Gets the pool that stores all the components of a certain type.
+	 * Iterating over the pool is faster than iterating over {@link GameState#getComponents(Class)}.
+	 * 
+	 * @param type The type of component to look for
+	 * 
+	 * @return A {@link ComponentPool} containing all the components of the requested type
+	 * 		or an empty pool if no components of that type are found
 	 * 		or if the given type is {@code null}
 	 */
-	public HashMap<GameEntity, Component> getComponents(Class<?> type) {
+	public ComponentPool getComponentPool(Class<?> type) {
 		return this.components.getAll(type);
 	}
 
 	/**
-	 * Starts a game system with the {@link SystemRunner}.
+	 * Gets a cached query over all the entities in this state that have components of both the given types.
+	 * The query is kept up to date when components are added or removed.
+	 * 
+	 * @param <A> Type of the first component
+	 * @param <B> Type of the second component
+	 * @param first Type of the first component
+	 * @param second Type of the second component
+	 * 
+	 * @return The query over the given types
+	 */
+	public <A extends Component, B extends Component> Query<A, B> query(Class<A> first, Class<B> second) {
+		return this.components.query(first, second);
+	}
+
+	/**
+	 * Enables archetype storage for this state.
+	 * Entities with the same set of components will be stored together in chunks
+	 * and systems will iterate over them chunk by chunk.
+	 * 
+	 * @see ArchetypeStorage
+	 */
+	public void useArchetypes() {
+		this.components.useArchetypes();
+	}
+
+	/**
+	 * Checks if this state uses archetype storage.
+	 * 
+	 * @return True if archetype storage is enabled
+	 */
+	public boolean usesArchetypes() {
+		return this.components.usesArchetypes();
+	}
+
+	/**
+	 * Performs the given action for every archetype chunk that contains entities with all the given component types.
+	 * If this state does not use archetype storage this method does nothing.
+	 * 
+	 * @param action Action to perform for every chunk
+	 * @param types Component types the entities must have
+	 */
+	public void forEachChunk(Consumer<ArchetypeChunk> action, Class<?>... types) {
+		this.components.forEachChunk(action, types);
+	}
+
+	/**
+	 * Starts a game system with the {@link SystemScheduler}.
+	 * Systems run in the order they were started.
 	 * 
 	 * @param system The game system to start
 	 */
 	public void startSystem(GameSystem<?> system) {
-		this.systems.start(this, system);
+		this.systems.start(system);
 	}
 
 	/**
@@ -138,9 +342,36 @@ public final class GameState {
 		this.systems.stop(type);
 	}
 
+	/**
+	 * Sets the number of times per second systems are run.
+	 * 
+	 * @param tickRate Number of ticks per second
+	 */
+	public void setTickRate(float tickRate) {
+		this.systems.setTickRate(tickRate);
+	}
+
+	/**
+	 * Sets the maximum number of ticks that are run to catch up when systems fall behind.
+	 * 
+	 * @param maxCatchUpSteps Maximum number of ticks
+	 */
+	public void setMaxCatchUpSteps(int maxCatchUpSteps) {
+		this.systems.setMaxCatchUpSteps(maxCatchUpSteps);
+	}
+
+	/**
+	 * Gets the timing statistics of the systems in this state.
+	 * 
+	 * @return The tick statistics
+	 */
+	public TickStatistics tickStatistics() {
+		return this.systems.statistics();
+	}
+
 	/**
 	 * Stops all game systems.
-	 * Called when closing the game to stop all running threads.
+	 * Called when closing the game to stop the systems' thread.
 	 */
 	public void clear() {
 		this.systems.stopAll();
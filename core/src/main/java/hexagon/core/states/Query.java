@@ -0,0 +1,210 @@
+package hexagon.core.states;
+
+import java.util.Arrays;
+
+import hexagon.core.GameEntity;
+import hexagon.core.components.Component;
+
+/**
+ * Class that represents a cached query over two component types.
+ * <p>
+ * 	A query holds all the entities that have both a component of the first type and a component of the second type,
+ * 	together with the two components, in densely packed arrays.
+ * 	The set of matching entities is kept up to date by the {@link ComponentsTable} when components are added or removed,
+ * 	so iterating over a query does not require any lookup and only visits entities that match.
+ * </p>
+ * 
+ * @author Nico
+ * 
+ * @param <A> Type of the first component
+ * @param <B> Type of the second component
+ */
+public final class Query<A extends Component, B extends Component> {
+
+	/**Value in the sparse array for entities that do not match the query */
+	private static final int ABSENT = -1;
+
+	/**Type of the first component */
+	private final Class<A> firstType;
+	/**Type of the second component */
+	private final Class<B> secondType;
+
+	/**Entities matching this query */
+	private GameEntity[] entities = new GameEntity[16];
+	/**First component of every matching entity */
+	private Component[] firsts = new Component[16];
+	/**Second component of every matching entity */
+	private Component[] seconds = new Component[16];
+	/**Maps entity indices to indices in the dense arrays */
+	private int[] sparse = new int[0];
+	/**Number of matching entities */
+	private int size = 0;
+
+	/**
+	 * Creates a query.
+	 * Queries should be obtained with {@link GameState#query(Class, Class)}.
+	 * 
+	 * @param firstType Type of the first component
+	 * @param secondType Type of the second component
+	 */
+	protected Query(Class<A> firstType, Class<B> secondType) {
+		this.firstType = firstType;
+		this.secondType = secondType;
+	}
+
+	/**
+	 * Gets the type of the first component.
+	 * 
+	 * @return Type of the first component
+	 */
+	public Class<A> firstType() {
+		return this.firstType;
+	}
+
+	/**
+	 * Gets the type of the second component.
+	 * 
+	 * @return Type of the second component
+	 */
+	public Class<B> secondType() {
+		return this.secondType;
+	}
+
+	/**
+	 * Gets the number of entities that match this query.
+	 * 
+	 * @return The number of matching entities
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Gets the matching entity at the given index.
+	 * 
+	 * @param index Index between 0 and {@code size() - 1}
+	 * 
+	 * @return The entity at the given index
+	 */
+	public GameEntity entity(int index) {
+		return this.entities[index];
+	}
+
+	/**
+	 * Gets the first component of the entity at the given index.
+	 * 
+	 * @param index Index between 0 and {@code size() - 1}
+	 * 
+	 * @return The first component of the entity at the given index
+	 */
+	public A first(int index) {
+		return this.firstType.cast(this.firsts[index]);
+	}
+
+	/**
+	 * Gets the second component of the entity at the given index.
+	 * 
+	 * @param index Index between 0 and {@code size() - 1}
+	 * 
+	 * @return The second component of the entity at the given index
+	 */
+	public B second(int index) {
+		return this.secondType.cast(this.seconds[index]);
+	}
+
+	/**
+	 * Performs the given action for every entity that matches this query.
+	 * 
+	 * @param action Action that takes the entity and its two components
+	 */
+	public void forEach(Action<A, B> action) {
+		for(int i = 0; i < this.size; i++) {
+			action.accept(this.entities[i], this.firstType.cast(this.firsts[i]), this.secondType.cast(this.seconds[i]));
+		}
+	}
+
+	/**
+	 * Updates an entity after one of its components was added or removed.
+	 * Called from the {@link ComponentsTable}.
+	 * 
+	 * @param entity The entity that was changed
+	 * @param first The entity's component of the first type or {@code null} if the entity does not have one
+	 * @param second The entity's component of the second type or {@code null} if the entity does not have one
+	 */
+	protected void update(GameEntity entity, Component first, Component second) {
+		if(this.firstType.isInstance(first) && this.secondType.isInstance(second)) {
+			int index = this.indexOf(entity);
+			if(index == ABSENT) {
+				index = this.size++;
+				if(index == this.entities.length) {
+					this.entities = Arrays.copyOf(this.entities, index * 2);
+					this.firsts = Arrays.copyOf(this.firsts, index * 2);
+					this.seconds = Arrays.copyOf(this.seconds, index * 2);
+				}
+				if(entity.index() >= this.sparse.length) {
+					int previousLength = this.sparse.length;
+					this.sparse = Arrays.copyOf(this.sparse, Math.max(entity.index() + 1, previousLength * 2));
+					Arrays.fill(this.sparse, previousLength, this.sparse.length, ABSENT);
+				}
+				this.sparse[entity.index()] = index;
+			}
+			this.entities[index] = entity;
+			this.firsts[index] = first;
+			this.seconds[index] = second;
+		} else {
+			this.remove(entity);
+		}
+	}
+
+	/**
+	 * Removes an entity from this query.
+	 * Called from the {@link ComponentsTable}.
+	 * 
+	 * @param entity The entity to remove
+	 */
+	protected void remove(GameEntity entity) {
+		int index = this.indexOf(entity);
+		if(index != ABSENT) {
+			int last = --this.size;
+			this.entities[index] = this.entities[last];
+			this.firsts[index] = this.firsts[last];
+			this.seconds[index] = this.seconds[last];
+			this.sparse[this.entities[index].index()] = index;
+			this.entities[last] = null;
+			this.firsts[last] = null;
+			this.seconds[last] = null;
+			this.sparse[entity.index()] = ABSENT;
+		}
+	}
+
+	/**
+	 * Used internally to find the index of an entity in the dense arrays.
+	 * 
+	 * @param entity The entity
+	 * 
+	 * @return The index of the entity or {@code ABSENT} if the entity does not match this query
+	 */
+	private int indexOf(GameEntity entity) {
+		int index = entity.index();
+		return index < this.sparse.length ? this.sparse[index] : ABSENT;
+	}
+
+	/**
+	 * Functional interface used to iterate over a query.
+	 * 
+	 * @param <A> Type of the first component
+	 * @param <B> Type of the second component
+	 */
+	@FunctionalInterface
+	public static interface Action<A, B> {
+
+		/**
+		 * Performs this action on a matching entity.
+		 * 
+		 * @param entity The entity
+		 * @param first The entity's component of the first type
+		 * @param second The entity's component of the second type
+		 */
+		void accept(GameEntity entity, A first, B second);
+	}
+}
@@ -23,6 +23,9 @@ public final class StateLoader {
 	 */
 	public static GameState loadState(GameState state, String filePath) {
 		JsonObject stateJson = JsonObject.fromFileOrEmpty(filePath);
+		if(stateJson.getString("storage", "pools").equals("archetypes")) {
+			state.useArchetypes();
+		}
 		stateJson.getArrayOrEmpty("entities").forEachArray(entityJsonArray -> {
 			GameEntity entity = state.createEntity();
 			entityJsonArray.forEachObject(componentJson -> {
@@ -44,6 +47,9 @@ public final class StateLoader {
 				}, () -> Log.error("A component is missing a class"));
 			});
 		});
+		state.flush();
+		state.setTickRate(stateJson.getFloat("tickRate", SystemScheduler.DEFAULT_TICK_RATE));
+		state.setMaxCatchUpSteps(stateJson.getInt("maxCatchUpSteps", SystemScheduler.DEFAULT_MAX_CATCH_UP_STEPS));
 		stateJson.getArrayOrEmpty("systems").forEachString(systemClass -> {
 			try {
 				GameSystem<?> system = (GameSystem<?>) Class.forName(systemClass).getConstructor().newInstance();
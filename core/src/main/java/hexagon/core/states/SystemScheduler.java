@@ -0,0 +1,280 @@
+package hexagon.core.states;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.LockSupport;
+
+import hexagon.core.systems.GameSystem;
+import hexagon.utils.Log;
+
+/**
+ * Class responsible for running all the {@link GameSystem}s of a {@link GameState}.
+ * <p>
+ * 	Systems are run with a fixed timestep.
+ * 	Every tick runs all systems once with the same delta time, then flushes the state's structural changes.
+ * 	Systems that do not conflict with each other according to {@link GameSystem#conflictsWith(GameSystem)}
+ * 	run concurrently on a {@link ForkJoinPool}, while conflicting systems run in the order they were started.
+ * 	The dependency graph between systems is only rebuilt when systems are started or stopped.
+ * 	If the scheduler falls behind, it runs more ticks to catch up,
+ * 	up to a maximum number of steps, after which the remaining ticks are dropped.
+ * </p>
+ * 
+ * @author Nico
+ */
+public final class SystemScheduler implements Runnable {
+
+	/**Default number of ticks per second */
+	public static final float DEFAULT_TICK_RATE = 50.0f;
+	/**Default maximum number of ticks run to catch up in a single update */
+	public static final int DEFAULT_MAX_CATCH_UP_STEPS = 5;
+
+	/**The state whose systems are run */
+	private final GameState gameState;
+	/**Systems in the order they were started */
+	private final CopyOnWriteArrayList<GameSystem<?>> systems = new CopyOnWriteArrayList<>();
+	/**Timing statistics */
+	private final TickStatistics statistics = new TickStatistics();
+	/**Pool used to run systems concurrently */
+	private final ForkJoinPool pool = ForkJoinPool.commonPool();
+
+	/**Duration of a tick in nanoseconds */
+	private volatile long tickDuration = (long) (1e9 / DEFAULT_TICK_RATE);
+	/**Maximum number of ticks run to catch up in a single update */
+	private volatile int maxCatchUpSteps = DEFAULT_MAX_CATCH_UP_STEPS;
+	/**Thread the systems run on or {@code null} if the scheduler was not started */
+	private Thread thread = null;
+	/**Set to false to stop the scheduler */
+	private volatile boolean running = false;
+	/**Time at which the last tick ended, used to compute the interpolation factor */
+	private volatile long lastTickTime = System.nanoTime();
+	/**Cached dependency graph or {@code null} if systems have changed since it was built */
+	private volatile Schedule schedule = null;
+
+	/**
+	 * Creates a scheduler.
+	 * 
+	 * @param state The state whose systems are run
+	 */
+	protected SystemScheduler(GameState state) {
+		this.gameState = state;
+	}
+
+	/**
+	 * Sets the number of ticks per second.
+	 * 
+	 * @param tickRate Number of ticks per second, must be positive
+	 */
+	public void setTickRate(float tickRate) {
+		if(tickRate > 0.0f) {
+			this.tickDuration = (long) (1e9 / tickRate);
+		} else {
+			Log.warning("Invalid tick rate " + tickRate);
+		}
+	}
+
+	/**
+	 * Gets the number of ticks per second.
+	 * 
+	 * @return Number of ticks per second
+	 */
+	public float tickRate() {
+		return (float) (1e9 / this.tickDuration);
+	}
+
+	/**
+	 * Sets the maximum number of ticks run to catch up when the scheduler falls behind.
+	 * 
+	 * @param maxCatchUpSteps Maximum number of ticks, at least 1
+	 */
+	public void setMaxCatchUpSteps(int maxCatchUpSteps) {
+		this.maxCatchUpSteps = Math.max(1, maxCatchUpSteps);
+	}
+
+	/**
+	 * Gets the timing statistics of this scheduler.
+	 * 
+	 * @return The tick statistics
+	 */
+	public TickStatistics statistics() {
+		return this.statistics;
+	}
+
+	/**
+	 * Gets how far the current time is between the last tick and the next one.
+	 * Used to interpolate between the previous and the current state of a tick when rendering.
+	 * 
+	 * @return A value between 0 (the last tick just ended) and 1 (the next tick is due)
+	 */
+	public float interpolationAlpha() {
+		float alpha = (float) (System.nanoTime() - this.lastTickTime) / this.tickDuration;
+		return Math.max(0.0f, Math.min(1.0f, alpha));
+	}
+
+	/**
+	 * Adds a system to this scheduler.
+	 * The system will run after all the systems that were added before it.
+	 * Starts the scheduler thread if it was not started yet.
+	 * 
+	 * @param system The system to add
+	 */
+	public synchronized void start(GameSystem<?> system) {
+		if(system != null) {
+			Log.info("Starting system " + system);
+			this.systems.add(system);
+			this.schedule = null;
+			if(this.thread == null) {
+				this.running = true;
+				this.thread = new Thread(this, "SystemScheduler");
+				this.thread.setDaemon(true);
+				this.thread.start();
+			}
+		}
+	}
+
+	/**
+	 * Removes all systems of a certain type from this scheduler.
+	 * 
+	 * @param type The class of the {@link GameSystem} to stop
+	 */
+	public void stop(Class<? extends GameSystem<?>> type) {
+		this.systems.removeIf(system -> {
+			if(system.getClass().equals(type)) {
+				Log.info("Shutting down system " + system);
+				return true;
+			}
+			return false;
+		});
+		this.schedule = null;
+	}
+
+	/**
+	 * Stops all systems and the scheduler thread.
+	 */
+	public synchronized void stopAll() {
+		this.systems.clear();
+		this.schedule = null;
+		this.running = false;
+		if(this.thread != null) {
+			LockSupport.unpark(this.thread);
+			this.thread = null;
+		}
+	}
+
+	@Override
+	public void run() {
+		long previousTime = System.nanoTime();
+		long accumulator = 0;
+		while(this.running) {
+			long time = System.nanoTime();
+			accumulator += time - previousTime;
+			previousTime = time;
+			long tickDuration = this.tickDuration;
+			long steps = accumulator / tickDuration;
+			if(steps > this.maxCatchUpSteps) {
+				this.statistics.recordDropped(steps - this.maxCatchUpSteps);
+				accumulator -= (steps - this.maxCatchUpSteps) * tickDuration;
+				steps = this.maxCatchUpSteps;
+			}
+			for(int i = 0; i < steps && this.running; i++) {
+				this.tick(tickDuration / 1e9f);
+				accumulator -= tickDuration;
+			}
+			LockSupport.parkNanos(tickDuration - accumulator);
+		}
+	}
+
+	/**
+	 * Used internally to run all systems once.
+	 * Stores the previous state of all transforms before running systems.
+	 * Systems that throw an exception are stopped.
+	 * 
+	 * @param deltaTime Duration of a tick (in seconds)
+	 */
+	private void tick(float deltaTime) {
+		long start = System.nanoTime();
+		this.gameState.storePreviousState();
+		Schedule schedule = this.schedule();
+		if(schedule.sequential() || ForkJoinPool.getCommonPoolParallelism() <= 1) {
+			for(GameSystem<?> system : schedule.systems()) {
+				this.runSystem(system, deltaTime);
+			}
+		} else {
+			CompletableFuture<?>[] futures = new CompletableFuture<?>[schedule.systems().length];
+			for(int i = 0; i < futures.length; i++) {
+				GameSystem<?> system = schedule.systems()[i];
+				int[] dependencies = schedule.dependencies()[i];
+				if(dependencies.length == 0) {
+					futures[i] = CompletableFuture.runAsync(() -> this.runSystem(system, deltaTime), this.pool);
+				} else {
+					CompletableFuture<?>[] before = new CompletableFuture<?>[dependencies.length];
+					for(int j = 0; j < dependencies.length; j++) {
+						before[j] = futures[dependencies[j]];
+					}
+					futures[i] = CompletableFuture.allOf(before).thenRunAsync(() -> this.runSystem(system, deltaTime), this.pool);
+				}
+			}
+			CompletableFuture.allOf(futures).join();
+		}
+		this.gameState.flush();
+		this.lastTickTime = System.nanoTime();
+		this.statistics.recordTick(this.lastTickTime - start);
+	}
+
+	/**
+	 * Used internally to run a system and stop it if it throws an exception.
+	 * Errors are caught as well, otherwise they would escape the futures of concurrent systems
+	 * and stop the scheduler thread without being logged.
+	 * 
+	 * @param system The system to run
+	 * @param deltaTime Duration of a tick (in seconds)
+	 */
+	private void runSystem(GameSystem<?> system, float deltaTime) {
+		try {
+			this.gameState.runSystem(system, deltaTime);
+		} catch (Throwable e) {
+			Log.error("Error in system " + system + ": " + e + ": shutting down");
+			e.printStackTrace();
+			this.systems.remove(system);
+			this.schedule = null;
+		}
+	}
+
+	/**
+	 * Used internally to get the dependency graph between systems.
+	 * Builds it if systems have changed since the last time it was built.
+	 * 
+	 * @return The current schedule
+	 */
+	private Schedule schedule() {
+		Schedule schedule = this.schedule;
+		if(schedule == null) {
+			GameSystem<?>[] systems = this.systems.toArray(new GameSystem<?>[0]);
+			int[][] dependencies = new int[systems.length][];
+			boolean sequential = true;
+			for(int i = 0; i < systems.length; i++) {
+				ArrayList<Integer> before = new ArrayList<>();
+				for(int j = 0; j < i; j++) {
+					if(systems[i].conflictsWith(systems[j])) {
+						before.add(j);
+					}
+				}
+				dependencies[i] = before.stream().mapToInt(Integer::intValue).toArray();
+				sequential = sequential && (i == 0 || before.contains(i - 1));
+			}
+			schedule = new Schedule(systems, dependencies, sequential);
+			this.schedule = schedule;
+		}
+		return schedule;
+	}
+
+	/**
+	 * Dependency graph between systems.
+	 * 
+	 * @param systems Systems in the order they were started
+	 * @param dependencies For every system, the indices of the earlier systems it conflicts with
+	 * @param sequential True if every system conflicts with the previous one, so that systems can never run concurrently
+	 */
+	private static record Schedule(GameSystem<?>[] systems, int[][] dependencies, boolean sequential) {}
+}
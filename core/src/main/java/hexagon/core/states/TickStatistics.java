@@ -0,0 +1,103 @@
+package hexagon.core.states;
+
+/**
+ * Class that holds timing statistics of a {@link SystemScheduler}.
+ * <p>
+ * 	Statistics are written by the scheduler thread and can be read from any thread.
+ * 	All times are in milliseconds.
+ * </p>
+ * 
+ * @author Nico
+ */
+public final class TickStatistics {
+
+	/**Weight of the last tick in the average tick time */
+	private static final float SMOOTHING = 0.05f;
+
+	/**Number of ticks run */
+	private volatile long ticks = 0;
+	/**Number of ticks that were dropped because the scheduler fell too far behind */
+	private volatile long droppedTicks = 0;
+	/**Duration of the last tick */
+	private volatile float lastTickTime = 0.0f;
+	/**Exponential moving average of the tick duration */
+	private volatile float averageTickTime = 0.0f;
+	/**Longest tick duration */
+	private volatile float maxTickTime = 0.0f;
+
+	/**
+	 * Gets the number of ticks run since the scheduler was started.
+	 * 
+	 * @return The number of ticks
+	 */
+	public long ticks() {
+		return this.ticks;
+	}
+
+	/**
+	 * Gets the number of ticks that were dropped because running all the pending ticks
+	 * would have exceeded the scheduler's maximum number of catch-up steps.
+	 * 
+	 * @return The number of dropped ticks
+	 */
+	public long droppedTicks() {
+		return this.droppedTicks;
+	}
+
+	/**
+	 * Gets the time it took to run all systems in the last tick.
+	 * 
+	 * @return The duration of the last tick in milliseconds
+	 */
+	public float lastTickTime() {
+		return this.lastTickTime;
+	}
+
+	/**
+	 * Gets the average time it takes to run all systems in a tick.
+	 * Recent ticks weigh more than older ones.
+	 * 
+	 * @return The average duration of a tick in milliseconds
+	 */
+	public float averageTickTime() {
+		return this.averageTickTime;
+	}
+
+	/**
+	 * Gets the longest time it took to run all systems in a tick.
+	 * 
+	 * @return The longest duration of a tick in milliseconds
+	 */
+	public float maxTickTime() {
+		return this.maxTickTime;
+	}
+
+	/**
+	 * Records the duration of a tick.
+	 * Called from the scheduler thread.
+	 * 
+	 * @param nanoseconds Duration of the tick in nanoseconds
+	 */
+	protected void recordTick(long nanoseconds) {
+		float time = nanoseconds / 1e6f;
+		this.averageTickTime = this.ticks == 0 ? time : this.averageTickTime + (time - this.averageTickTime) * SMOOTHING;
+		this.maxTickTime = Math.max(this.maxTickTime, time);
+		this.lastTickTime = time;
+		this.ticks++;
+	}
+
+	/**
+	 * Records ticks that were dropped.
+	 * Called from the scheduler thread.
+	 * 
+	 * @param count Number of dropped ticks
+	 */
+	protected void recordDropped(long count) {
+		this.droppedTicks += count;
+	}
+
+	@Override
+	public String toString() {
+		return "ticks: " + this.ticks + ", dropped: " + this.droppedTicks + ", average: " + this.averageTickTime + " ms, max: " + this.maxTickTime + " ms";
+	}
+}
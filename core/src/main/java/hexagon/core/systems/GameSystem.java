@@ -1,13 +1,24 @@
 package hexagon.core.systems;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import hexagon.core.GameEntity;
 import hexagon.core.components.Component;
-import hexagon.core.states.SystemThread;
+import hexagon.core.states.ArchetypeChunk;
+import hexagon.core.states.GameState;
+import hexagon.core.states.SystemScheduler;
 
 /**
  * Represents a System in the ECS system.
- * Systems are run on separate threads by a {@link SystemThread}
+ * Systems are run at a fixed rate by the {@link SystemScheduler}
  * and iterate through all components of a certain type to process them.
+ * <p>
+ * 	Systems can declare which component types they read and write with {@link GameSystem#reads(Class...)}
+ * 	and {@link GameSystem#writes(Class...)}.
+ * 	Systems that do not conflict with each other may run concurrently.
+ * 	Systems that do not declare anything are exclusive and never run concurrently with other systems.
+ * </p>
  * 
  * @author Nico
  */
@@ -16,6 +27,13 @@ public abstract class GameSystem<T extends Component> {
 	/**The type of component this system processes */
 	public final Class<T> componentType;
 
+	/**Component types this system reads */
+	private final ArrayList<Class<?>> reads = new ArrayList<>();
+	/**Component types this system writes */
+	private final ArrayList<Class<?>> writes = new ArrayList<>();
+	/**True if this system has not declared its accesses and must run alone */
+	private boolean exclusive = true;
+
 	/**
 	 * Creates a new game system.
 	 * Subclasses should have a no-args constructor that passes the
@@ -27,6 +45,84 @@ public abstract class GameSystem<T extends Component> {
 		this.componentType = componentType;
 	}
 
+	/**
+	 * Declares that this system reads components of the given types.
+	 * Should be called from the subclass' constructor.
+	 * 
+	 * @param types Component types this system reads
+	 */
+	protected final void reads(Class<?>... types) {
+		this.reads.addAll(List.of(types));
+		this.exclusive = false;
+	}
+
+	/**
+	 * Declares that this system writes components of the given types.
+	 * Should be called from the subclass' constructor.
+	 * 
+	 * @param types Component types this system writes
+	 */
+	protected final void writes(Class<?>... types) {
+		this.writes.addAll(List.of(types));
+		this.exclusive = false;
+	}
+
+	/**
+	 * Checks if this system cannot run at the same time as the given one,
+	 * i.e., if either of them is exclusive or if one of them writes a component type the other one accesses.
+	 * 
+	 * @param other The other system
+	 * 
+	 * @return True if the two systems must not run concurrently
+	 */
+	public boolean conflictsWith(GameSystem<?> other) {
+		if(this.exclusive || other.exclusive) {
+			return true;
+		}
+		return overlap(this.writes, other.writes) || overlap(this.writes, other.reads) || overlap(this.reads, other.writes);
+	}
+
+	/**
+	 * Used internally to check if two lists of component types share a type.
+	 * Types are considered the same if one is a subclass of the other.
+	 * 
+	 * @param first First list of types
+	 * @param second Second list of types
+	 * 
+	 * @return True if the lists overlap
+	 */
+	private static boolean overlap(List<Class<?>> first, List<Class<?>> second) {
+		for(Class<?> a : first) {
+			for(Class<?> b : second) {
+				if(a.isAssignableFrom(b) || b.isAssignableFrom(a)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Runs this system once on the given state.
+	 * Called every tick by the {@link SystemScheduler}.
+	 * By default this iterates over all components of this system's type,
+	 * either from the component pool or chunk by chunk if the state uses archetype storage.
+	 * 
+	 * @param state The game state in which this system is running
+	 * @param deltaTime Time elapsed since the last run (in seconds)
+	 */
+	public void run(GameState state, float deltaTime) {
+		if(state.usesArchetypes()) {
+			state.forEachChunk(chunk -> this.processChunk(chunk, deltaTime), this.componentType);
+		} else {
+			state.getComponentPool(this.componentType).forEach((entity, component) -> {
+				if(this.componentType.isInstance(component)) {
+					this.process(entity, this.componentType.cast(component), deltaTime);
+				}
+			});
+		}
+	}
+
 	/**
 	 * Processes a component.
 	 * Systems iterate through all components in the current state
@@ -37,4 +133,23 @@ public abstract class GameSystem<T extends Component> {
 	 * @param deltaTime Time elapsed since the last process (in seconds)
 	 */
 	public abstract void process(GameEntity entity, T component, float deltaTime);
+
+	/**
+	 * Processes all the components of a chunk.
+	 * Called instead of {@link GameSystem#process(GameEntity, Component, float)}
+	 * when the game state uses archetype storage.
+	 * Systems that need more than one component can override this method
+	 * to read the other columns of the chunk directly.
+	 * 
+	 * @param chunk A chunk containing entities that have a component of this system's type
+	 * @param deltaTime Time elapsed since the last process (in seconds)
+	 */
+	public void processChunk(ArchetypeChunk chunk, float deltaTime) {
+		Component[] components = chunk.column(this.componentType);
+		for(int i = 0; i < chunk.size(); i++) {
+			if(this.componentType.isInstance(components[i])) {
+				this.process(chunk.entity(i), this.componentType.cast(components[i]), deltaTime);
+			}
+		}
+	}
 }
@@ -0,0 +1,222 @@
+package hexagon.core.systems;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import hexagon.core.GameEntity;
+import hexagon.core.components.Component;
+import hexagon.core.states.ArchetypeChunk;
+import hexagon.core.states.ComponentPool;
+import hexagon.core.states.GameState;
+
+/**
+ * Game system that processes its components in parallel.
+ * <p>
+ * 	Components are split in disjoint ranges that are processed on the common {@link ForkJoinPool}.
+ * 	Ranges are split in half until they are smaller than the system's grain size.
+ * 	{@link ParallelGameSystem#run(GameState, float)} only returns when all ranges have been processed,
+ * 	so the next system never runs at the same time as this one unless the scheduler allows it.
+ * </p>
+ * <p>
+ * 	Every worker thread has its own scratch object, created with {@link ParallelGameSystem#createScratch()},
+ * 	that can be used to avoid allocations or shared state while processing components.
+ * 	Scratch objects are reused between ticks.
+ * </p>
+ * <p>
+ * 	Only use this class if processing a component does not modify any other component of the same type.
+ * </p>
+ * 
+ * @author Nico
+ * 
+ * @param <T> Type of the component this system processes
+ * @param <S> Type of the per-worker scratch object
+ */
+public abstract class ParallelGameSystem<T extends Component, S> extends GameSystem<T> {
+
+	/**Default maximum number of components processed by a single task */
+	public static final int DEFAULT_GRAIN_SIZE = 1024;
+
+	/**Maximum number of components processed by a single task */
+	private final int grainSize;
+	/**Scratch object of every worker thread */
+	private final ThreadLocal<S> scratch = ThreadLocal.withInitial(this::createScratch);
+
+	/**
+	 * Creates a parallel game system with the default grain size.
+	 * 
+	 * @param componentType The type of component this system processes
+	 */
+	public ParallelGameSystem(Class<T> componentType) {
+		this(componentType, DEFAULT_GRAIN_SIZE);
+	}
+
+	/**
+	 * Creates a parallel game system.
+	 * 
+	 * @param componentType The type of component this system processes
+	 * @param grainSize Maximum number of components processed by a single task
+	 */
+	public ParallelGameSystem(Class<T> componentType, int grainSize) {
+		super(componentType);
+		this.grainSize = Math.max(1, grainSize);
+	}
+
+	/**
+	 * Gets the maximum number of components processed by a single task.
+	 * 
+	 * @return The grain size of this system
+	 */
+	public int grainSize() {
+		return this.grainSize;
+	}
+
+	@Override
+	public void run(GameState state, float deltaTime) {
+		if(state.usesArchetypes()) {
+			ArrayList<ArchetypeChunk> chunks = new ArrayList<>();
+			state.forEachChunk(chunks::add, this.componentType);
+			int chunksPerTask = Math.max(1, this.grainSize / ArchetypeChunk.CAPACITY);
+			if(chunks.size() <= chunksPerTask) {
+				chunks.forEach(chunk -> this.processChunk(chunk, deltaTime));
+			} else {
+				ForkJoinPool.commonPool().invoke(new ChunkRange(chunks, 0, chunks.size(), chunksPerTask, deltaTime));
+			}
+		} else {
+			ComponentPool pool = state.getComponentPool(this.componentType);
+			if(pool.size() <= this.grainSize) {
+				this.processRange(pool, 0, pool.size(), deltaTime);
+			} else {
+				ForkJoinPool.commonPool().invoke(new PoolRange(pool, 0, pool.size(), deltaTime));
+			}
+		}
+	}
+
+	@Override
+	public final void process(GameEntity entity, T component, float deltaTime) {
+		this.process(entity, component, this.scratch.get(), deltaTime);
+	}
+
+	/**
+	 * Creates the scratch object for a worker thread.
+	 * Called once per thread, the first time that thread processes a component of this system.
+	 * 
+	 * @return A new scratch object
+	 */
+	protected abstract S createScratch();
+
+	/**
+	 * Processes a component.
+	 * May be called from several threads at the same time.
+	 * 
+	 * @param entity The entity that holds the given component
+	 * @param component The component to process
+	 * @param scratch The scratch object of the current worker thread
+	 * @param deltaTime Time elapsed since the last process (in seconds)
+	 */
+	public abstract void process(GameEntity entity, T component, S scratch, float deltaTime);
+
+	/**
+	 * Used internally to process a range of a component pool.
+	 * 
+	 * @param pool The component pool
+	 * @param start First index of the range (inclusive)
+	 * @param end Last index of the range (exclusive)
+	 * @param deltaTime Time elapsed since the last process (in seconds)
+	 */
+	private void processRange(ComponentPool pool, int start, int end, float deltaTime) {
+		S scratch = this.scratch.get();
+		for(int i = start; i < end; i++) {
+			Component component = pool.component(i);
+			if(this.componentType.isInstance(component)) {
+				this.process(pool.entity(i), this.componentType.cast(component), scratch, deltaTime);
+			}
+		}
+	}
+
+	/**
+	 * Task that processes a range of a component pool.
+	 */
+	private final class PoolRange extends RecursiveAction {
+
+		/**The component pool */
+		private final ComponentPool pool;
+		/**First index of the range (inclusive) */
+		private final int start;
+		/**Last index of the range (exclusive) */
+		private final int end;
+		/**Time elapsed since the last process */
+		private final float deltaTime;
+
+		/**
+		 * Creates a task.
+		 * 
+		 * @param pool The component pool
+		 * @param start First index of the range (inclusive)
+		 * @param end Last index of the range (exclusive)
+		 * @param deltaTime Time elapsed since the last process (in seconds)
+		 */
+		private PoolRange(ComponentPool pool, int start, int end, float deltaTime) {
+			this.pool = pool;
+			this.start = start;
+			this.end = end;
+			this.deltaTime = deltaTime;
+		}
+
+		@Override
+		protected void compute() {
+			if(this.end - this.start <= grainSize) {
+				processRange(this.pool, this.start, this.end, this.deltaTime);
+			} else {
+				int middle = (this.start + this.end) >>> 1;
+				invokeAll(new PoolRange(this.pool, this.start, middle, this.deltaTime), new PoolRange(this.pool, middle, this.end, this.deltaTime));
+			}
+		}
+	}
+
+	/**
+	 * Task that processes a range of archetype chunks.
+	 */
+	private final class ChunkRange extends RecursiveAction {
+
+		/**The chunks to process */
+		private final ArrayList<ArchetypeChunk> chunks;
+		/**First index of the range (inclusive) */
+		private final int start;
+		/**Last index of the range (exclusive) */
+		private final int end;
+		/**Maximum number of chunks processed by a single task */
+		private final int chunksPerTask;
+		/**Time elapsed since the last process */
+		private final float deltaTime;
+
+		/**
+		 * Creates a task.
+		 * 
+		 * @param chunks The chunks to process
+		 * @param start First index of the range (inclusive)
+		 * @param end Last index of the range (exclusive)
+		 * @param chunksPerTask Maximum number of chunks processed by a single task
+		 * @param deltaTime Time elapsed since the last process (in seconds)
+		 */
+		private ChunkRange(ArrayList<ArchetypeChunk> chunks, int start, int end, int chunksPerTask, float deltaTime) {
+			this.chunks = chunks;
+			this.start = start;
+			this.end = end;
+			this.chunksPerTask = chunksPerTask;
+			this.deltaTime = deltaTime;
+		}
+
+		@Override
+		protected void compute() {
+			if(this.end - this.start <= this.chunksPerTask) {
+				for(int i = this.start; i < this.end; i++) {
+					processChunk(this.chunks.get(i), this.deltaTime);
+				}
+			} else {
+				int middle = (this.start + this.end) >>> 1;
+				invokeAll(new ChunkRange(this.chunks, this.start, middle, this.chunksPerTask, this.deltaTime), new ChunkRange(this.chunks, middle, this.end, this.chunksPerTask, this.deltaTime));
+			}
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package hexagon.core.systems;
+
+import hexagon.core.GameEntity;
+import hexagon.core.components.Component;
+import hexagon.core.states.ArchetypeChunk;
+import hexagon.core.states.GameState;
+import hexagon.core.states.Query;
+
+/**
+ * Game system that processes entities having components of two different types.
+ * <p>
+ * 	Instead of looking up the second component for every component of the first type,
+ * 	query systems iterate over a cached {@link Query} that only contains entities that have both components.
+ * </p>
+ * 
+ * @author Nico
+ * 
+ * @param <A> Type of the first component
+ * @param <B> Type of the second component
+ */
+public abstract class QuerySystem<A extends Component, B extends Component> extends GameSystem<A> {
+
+	/**The type of the second component this system processes */
+	public final Class<B> secondType;
+
+	/**
+	 * Creates a new query system.
+	 * Subclasses should have a no-args constructor that passes the
+	 * component classes to this super constructor.
+	 * 
+	 * @param componentType The type of the first component
+	 * @param secondType The type of the second component
+	 */
+	public QuerySystem(Class<A> componentType, Class<B> secondType) {
+		super(componentType);
+		this.secondType = secondType;
+	}
+
+	@Override
+	public void run(GameState state, float deltaTime) {
+		if(state.usesArchetypes()) {
+			state.forEachChunk(chunk -> this.processChunk(chunk, deltaTime), this.componentType, this.secondType);
+		} else {
+			state.query(this.componentType, this.secondType).forEach((entity, first, second) -> this.process(entity, first, second, deltaTime));
+		}
+	}
+
+	@Override
+	public final void process(GameEntity entity, A component, float deltaTime) {
+		entity.findComponent(this.secondType).ifPresent(second -> this.process(entity, component, second, deltaTime));
+	}
+
+	@Override
+	public void processChunk(ArchetypeChunk chunk, float deltaTime) {
+		Component[] firsts = chunk.column(this.componentType);
+		Component[] seconds = chunk.column(this.secondType);
+		for(int i = 0; i < chunk.size(); i++) {
+			if(this.componentType.isInstance(firsts[i]) && this.secondType.isInstance(seconds[i])) {
+				this.process(chunk.entity(i), this.componentType.cast(firsts[i]), this.secondType.cast(seconds[i]), deltaTime);
+			}
+		}
+	}
+
+	/**
+	 * Processes an entity that has both components.
+	 * 
+	 * @param entity The entity that holds the given components
+	 * @param first The entity's component of the first type
+	 * @param second The entity's component of the second type
+	 * @param deltaTime Time elapsed since the last process (in seconds)
+	 */
+	public abstract void process(GameEntity entity, A first, B second, float deltaTime);
+}
@@ -1,36 +1,24 @@
 package hexagon.core.systems;
 
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.stream.Collectors;
-
 import hexagon.core.GameEntity;
 import hexagon.core.components.Render2DComponent;
 import hexagon.core.components.Transform;
+import hexagon.core.rendering.RenderItem;
+import hexagon.core.rendering.RenderQueue;
 
-public final class Rendering2DSystem extends RenderingSystem<Render2DComponent> {
-
-	private HashMap<Render2DComponent, Transform> renderBatch = new HashMap<>();
+public final class Rendering2DSystem extends RenderingSystem<Render2DComponent, Transform> {
 
 	public Rendering2DSystem() {
-		super(Render2DComponent.class);
+		super(Render2DComponent.class, Transform.class);
 	}
 
 	@Override
-	public void process(GameEntity entity, Render2DComponent component, float deltaTime) {
-		entity.findComponent(Transform.class).ifPresent(transform -> {
-			this.renderBatch.put(component, transform);
-		});
+	public void process(GameEntity entity, Render2DComponent component, Transform transform, float deltaTime) {
+		this.submit(RenderItem.of(component, transform, 0.0f));
 	}
 
 	@Override
-	public void renderAll() {
-		this.renderBatch.entrySet().stream()
-				.collect(Collectors.groupingBy(entry -> entry.getKey().sortingLayer()))
-				.forEach((layerIndex, sortingLayer) -> {
-					sortingLayer.stream()
-							.sorted(Comparator.comparing(entry -> entry.getKey().orderInLayer()))
-							.forEach(entry -> entry.getKey().render(entry.getValue()));
-				});
+	protected long sortKey(RenderItem item) {
+		return RenderQueue.key(item, RenderQueue.depth(item.orderInLayer()));
 	}
 }
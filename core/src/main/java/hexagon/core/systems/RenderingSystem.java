@@ -1,27 +1,105 @@
 package hexagon.core.systems;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 
-import hexagon.core.components.Component;
+import hexagon.core.components.Render2DComponent;
+import hexagon.core.components.Transform;
+import hexagon.core.components.SpriteComponent;
+import hexagon.core.rendering.Camera;
+import hexagon.core.rendering.RenderItem;
+import hexagon.core.rendering.RenderQueue;
+import hexagon.core.rendering.SpriteBatch;
+import hexagon.core.states.GameState;
 import hexagon.lwjgl.glfw.WindowSize;
 import hexagon.lwjgl.opengl.OpenGL;
 import hexagon.lwjgl.opengl.ShaderProgram;
 import hexagon.lwjgl.opengl.VertexObject;
 
-public abstract class RenderingSystem<T extends Component> extends GameSystem<T> {
+public abstract class RenderingSystem<R extends Render2DComponent, T extends Transform> extends QuerySystem<R, T> {
 
-	private static HashMap<Class<?>, RenderingSystem<?>> renderers = new HashMap<>();
+	private static HashMap<Class<?>, RenderingSystem<?, ?>> renderers = new HashMap<>();
 
-	public RenderingSystem(Class<T> componentType) {
-		super(componentType);
-		renderers.put(this.getClass(), this);
+	/**Items collected during the current tick */
+	private final RenderQueue queue = new RenderQueue();
+	/**Sorted items of the last completed tick, read by the render thread */
+	private volatile List<RenderItem> published = List.of();
+
+	public RenderingSystem(Class<R> componentType, Class<T> transformType) {
+		super(componentType, transformType);
+		this.reads(componentType, transformType);
+		synchronized(RenderingSystem.class) {
+			renderers.put(this.getClass(), this);
+		}
+	}
+
+	/**
+	 * Collects render items from all entities, sorts them, and publishes them to the render thread.
+	 * The render thread keeps rendering the previously published items until this tick is complete.
+	 */
+	@Override
+	public void run(GameState state, float deltaTime) {
+		this.queue.clear();
+		super.run(state, deltaTime);
+		this.sort(this.queue);
+		this.published = Collections.unmodifiableList(Arrays.asList(this.queue.toArray()));
+	}
+
+	/**
+	 * Adds an item to be rendered in this tick.
+	 * Called from the subclass' process method.
+	 * 
+	 * @param item The item to render
+	 */
+	protected void submit(RenderItem item) {
+		this.queue.submit(item, this.sortKey(item));
 	}
 
-	public abstract void renderAll();
+	/**
+	 * Sorts the items collected in this tick.
+	 * Subclasses can override this method to use a different sorting strategy.
+	 * 
+	 * @param queue The queue containing the items collected in this tick
+	 */
+	protected void sort(RenderQueue queue) {
+		queue.sort();
+	}
+
+	/**
+	 * Gets the key used to sort the given item.
+	 * Items are rendered in ascending key order.
+	 * 
+	 * @param item The render item
+	 * 
+	 * @return A sort key created with {@link RenderQueue#key(RenderItem, int)}
+	 */
+	protected abstract long sortKey(RenderItem item);
+
+	/**
+	 * Renders the items published in the last completed tick.
+	 * Transformations are interpolated between the start and the end of the tick
+	 * so that movement looks smooth when rendering faster than the tick rate.
+	 * Sprites are accumulated in the {@link SpriteBatch}, which is flushed before any other renderer draws.
+	 * Called from the render thread.
+	 */
+	public void renderAll() {
+		float alpha = GameState.current().interpolationAlpha();
+		SpriteBatch batch = SpriteBatch.instance();
+		for(RenderItem item : this.published) {
+			if(!(item.renderer() instanceof SpriteComponent)) {
+				batch.flush();
+			}
+			item.renderer().render(item, item.transformation(alpha));
+		}
+		batch.flush();
+	}
 
 	public static synchronized void renderingProcess() {
 		OpenGL.clearFrame(0.8f, 0.8f, 0.8f); // TODO - Set color
 		OpenGL.setViewport(WindowSize.width(), WindowSize.height());
+		Camera.updateUniformBuffer();
 		renderers.values().forEach(RenderingSystem::renderAll);
 		ShaderProgram.stop();
 		VertexObject.unbind();
@@ -1,36 +1,50 @@
 package hexagon.core.systems;
 
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.stream.Collectors;
-
 import hexagon.core.GameEntity;
+import hexagon.core.components.Component;
 import hexagon.core.components.Render2DComponent;
 import hexagon.core.components.Transform2D;
+import hexagon.core.rendering.RenderItem;
+import hexagon.core.rendering.RenderQueue;
+import hexagon.core.states.ArchetypeChunk;
 
-public class YSortRenderingSystem extends RenderingSystem<Render2DComponent> {
-
-	private final HashMap<Render2DComponent, Transform2D> renderBatch = new HashMap<>();
+public class YSortRenderingSystem extends RenderingSystem<Render2DComponent, Transform2D> {
 
 	public YSortRenderingSystem() {
-		super(Render2DComponent.class);
+		super(Render2DComponent.class, Transform2D.class);
+	}
+
+	@Override
+	public void process(GameEntity entity, Render2DComponent render, Transform2D transform, float deltaTime) {
+		this.submit(RenderItem.of(render, transform, transform.positionY()));
+	}
+
+	/**
+	 * Processes a chunk reading the sorting position straight from the chunk's transform columns.
+	 */
+	@Override
+	public void processChunk(ArchetypeChunk chunk, float deltaTime) {
+		Component[] renderers = chunk.column(this.componentType);
+		Component[] transforms = chunk.column(this.secondType);
+		float[] positionsY = chunk.transforms().y;
+		for(int i = 0; i < chunk.size(); i++) {
+			if(renderers[i] instanceof Render2DComponent render && transforms[i] instanceof Transform2D transform) {
+				this.submit(RenderItem.of(render, transform, positionsY[i]));
+			}
+		}
 	}
 
+	/**
+	 * Sorts items starting from the order of the previous tick,
+	 * since items rarely change order between ticks.
+	 */
 	@Override
-	public void process(GameEntity entity, Render2DComponent render, float deltaTime) {
-		entity.findComponent(Transform2D.class).ifPresent(transform -> {
-			this.renderBatch.put(render, transform);
-		});
+	protected void sort(RenderQueue queue) {
+		queue.sortCoherent();
 	}
 
 	@Override
-	public void renderAll() {
-		this.renderBatch.entrySet().stream()
-				.collect(Collectors.groupingBy(entry -> entry.getKey().sortingLayer()))
-				.forEach((layerIndex, sortingLayer) -> {
-					sortingLayer.stream()
-							.sorted(Comparator.comparing(entry -> -entry.getValue().position().y()))
-							.forEach(entry -> entry.getKey().render(entry.getValue()));
-				});
+	protected long sortKey(RenderItem item) {
+		return RenderQueue.key(item, RenderQueue.depth(-item.sortingY()));
 	}
 }
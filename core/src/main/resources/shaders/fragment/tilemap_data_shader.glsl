@@ -0,0 +1,15 @@
+#version 400 core
+
+in vec2 tile_coords;
+
+out vec4 final_color;
+
+uniform sampler2DArray texture_sampler;
+uniform usampler2D tile_data;
+
+void main(void) {
+	ivec2 cell = clamp(ivec2(floor(tile_coords)), ivec2(0), textureSize(tile_data, 0) - 1);
+	uint tile = texelFetch(tile_data, cell, 0).r;
+	vec2 local = fract(tile_coords);
+	final_color = texture(texture_sampler, vec3(local.x, 1.0 - local.y, float(tile)));
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+#version 400 core
+
+in vec2 texture_coords;
+in vec4 tint_color;
+
+out vec4 final_color;
+
+uniform sampler2D texture_sampler;
+
+void main(void) {
+	final_color = texture(texture_sampler, texture_coords) * tint_color;
+}
\ No newline at end of file
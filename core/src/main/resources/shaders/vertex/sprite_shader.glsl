@@ -1,16 +1,23 @@
 #version 400 core
 
 in vec2 vertex;
+in vec4 transform;
+in vec2 translation;
+in vec2 offset;
+in vec4 tint;
 
 out vec2 texture_coords;
+out vec4 tint_color;
 
-uniform mat4 transformation_matrix;
-uniform mat4 projection_matrix;
-uniform mat4 view_matrix;
-
-uniform vec2 offset;
+layout(std140) uniform Camera {
+	mat4 projection_matrix;
+	mat4 view_matrix;
+};
 
 void main(void) {
-	gl_Position = projection_matrix * view_matrix * transformation_matrix * vec4(vertex + offset, 0.0, 1.0);
+	vec2 local = vertex + offset;
+	vec2 world = vec2(local.x * transform.x + local.y * transform.z, local.x * transform.y + local.y * transform.w) + translation;
+	gl_Position = projection_matrix * view_matrix * vec4(world, 0.0, 1.0);
 	texture_coords = vec2(vertex.x + 0.5, 0.5 - vertex.y);
+	tint_color = tint;
 }
\ No newline at end of file
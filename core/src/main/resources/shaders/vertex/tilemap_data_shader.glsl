@@ -0,0 +1,17 @@
+#version 400 core
+
+in vec2 vertex;
+
+out vec2 tile_coords;
+
+uniform mat4 transformation_matrix;
+uniform vec2 tilemap_origin;
+layout(std140) uniform Camera {
+	mat4 projection_matrix;
+	mat4 view_matrix;
+};
+
+void main(void) {
+	gl_Position = projection_matrix * view_matrix * transformation_matrix * vec4(vertex, 0.0, 1.0);
+	tile_coords = vertex - tilemap_origin;
+}
\ No newline at end of file
@@ -0,0 +1,85 @@
+package hexagon.core.components;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import hexagon.math.matrix.Matrix4;
+
+public class TestTransform2D {
+
+	@Test
+	public void testInterpolateRotationKeepsScale() {
+		Transform2D transform = new Transform2D();
+		transform.setScale(2.0f, 2.0f);
+		transform.storePreviousState();
+		transform.setRotation(90.0f);
+		Matrix4 matrix = transform.previousPose().interpolate(transform.pose(), 0.5f);
+		float cos = (float) Math.cos(Math.toRadians(45.0)) * 2.0f;
+		Assertions.assertEquals(cos, matrix.m00(), 1e-5f);
+		Assertions.assertEquals(cos, matrix.m01(), 1e-5f);
+		Assertions.assertEquals(-cos, matrix.m10(), 1e-5f);
+		Assertions.assertEquals(cos, matrix.m11(), 1e-5f);
+	}
+
+	@Test
+	public void testInterpolateShortestArc() {
+		Transform2D transform = new Transform2D();
+		transform.setRotation(350.0f);
+		transform.storePreviousState();
+		transform.setRotation(10.0f);
+		Matrix4 matrix = transform.previousPose().interpolate(transform.pose(), 0.5f);
+		Assertions.assertEquals(1.0f, matrix.m00(), 1e-5f);
+		Assertions.assertEquals(0.0f, matrix.m01(), 1e-5f);
+	}
+
+	@Test
+	public void testInterpolatePosition() {
+		Transform2D transform = new Transform2D();
+		transform.setPosition(2.0f, -4.0f);
+		transform.storePreviousState();
+		transform.setPosition(4.0f, 0.0f);
+		Matrix4 matrix = transform.previousPose().interpolate(transform.pose(), 0.25f);
+		Assertions.assertEquals(2.5f, matrix.m30(), 1e-5f);
+		Assertions.assertEquals(-3.0f, matrix.m31(), 1e-5f);
+	}
+
+	@Test
+	public void testUnchangedPoseIsReused() {
+		Transform2D transform = new Transform2D();
+		transform.setPosition(1.0f, 1.0f);
+		transform.storePreviousState();
+		Assertions.assertSame(transform.previousPose(), transform.pose());
+		transform.translate(1.0f, 0.0f);
+		Assertions.assertNotSame(transform.previousPose(), transform.pose());
+	}
+
+	@Test
+	public void testChangesCountedBySetters() {
+		Transform2D transform = new Transform2D();
+		int changes = transform.changes();
+		Matrix4 matrix = transform.matrix();
+		Assertions.assertSame(matrix, transform.matrix());
+		Assertions.assertEquals(changes, transform.changes());
+		transform.rotate(30.0f);
+		Assertions.assertEquals(changes + 1, transform.changes());
+		Assertions.assertNotSame(matrix, transform.matrix());
+		Assertions.assertEquals((float) Math.cos(Math.toRadians(30.0)), transform.matrix().m00(), 1e-6f);
+	}
+
+	@Test
+	public void testMoveToColumnsKeepsValues() {
+		Transform2D transform = new Transform2D();
+		transform.setPosition(3.0f, 4.0f);
+		Matrix4 matrix = transform.matrix();
+		Transform2DColumns columns = new Transform2DColumns(4);
+		transform.moveTo(columns, 2);
+		Assertions.assertEquals(4.0f, columns.y[2]);
+		Assertions.assertSame(matrix, transform.matrix());
+		transform.setPosition(5.0f, 6.0f);
+		Assertions.assertEquals(6.0f, columns.y[2]);
+		transform.detach();
+		columns.y[2] = 0.0f;
+		Assertions.assertEquals(6.0f, transform.positionY());
+		Assertions.assertEquals(6.0f, transform.matrix().m31());
+	}
+}
@@ -0,0 +1,315 @@
+package hexagon.core.rendering;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import hexagon.core.GameEntity;
+import hexagon.core.components.Render2DComponent;
+import hexagon.core.states.EntityRegistry;
+import hexagon.lwjgl.opengl.AbstractTexture;
+import hexagon.lwjgl.opengl.ShaderProgram;
+import hexagon.math.matrix.Matrix4;
+
+public class TestRenderQueue {
+
+	static class TestRenderer extends Render2DComponent {
+
+		@Override
+		public void render(RenderItem item, Matrix4 transformation) {}
+
+		@Override
+		public ShaderProgram shader() {
+			return null;
+		}
+
+		@Override
+		public AbstractTexture texture() {
+			return null;
+		}
+	}
+
+	static RenderItem item(GameEntity entity) {
+		TestRenderer renderer = new TestRenderer();
+		renderer.setEntity(entity);
+		return new RenderItem(renderer, null, null, null, null, 0, 0, 0.0f, null, null);
+	}
+
+	/**Checks that the queue holds the given items in the order of a stable sort of the given keys */
+	static void assertStableOrder(RenderQueue queue, RenderItem[] items, long[] keys) {
+		Integer[] order = new Integer[keys.length];
+		for(int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, (a, b) -> Long.compareUnsigned(keys[a], keys[b]));
+		Assertions.assertEquals(keys.length, queue.size());
+		for(int i = 0; i < order.length; i++) {
+			Assertions.assertEquals(keys[order[i]], queue.key(i));
+			Assertions.assertSame(items[order[i]], queue.get(i));
+		}
+	}
+
+	static void sortAndCheck(long[] keys) {
+		RenderQueue queue = new RenderQueue();
+		RenderItem[] items = new RenderItem[keys.length];
+		for(int i = 0; i < keys.length; i++) {
+			items[i] = item(null);
+			queue.submit(items[i], keys[i]);
+		}
+		queue.sort();
+		assertStableOrder(queue, items, keys);
+	}
+
+	@Test
+	public void testLayersSortBeforeDepth() {
+		long back = RenderQueue.key(-128, -1, 4095, 4095);
+		long middle = RenderQueue.key(0, 0, 0, 0);
+		long front = RenderQueue.key(127, 0, 0, 0);
+		Assertions.assertTrue(Long.compareUnsigned(back, middle) < 0);
+		Assertions.assertTrue(Long.compareUnsigned(middle, front) < 0);
+		Assertions.assertTrue(Long.compareUnsigned(RenderQueue.key(-1, -1, 4095, 4095), RenderQueue.key(0, 0, 0, 0)) < 0);
+	}
+
+	@Test
+	public void testDepthSortsBeforeShaderAndTexture() {
+		long near = RenderQueue.key(0, 1, 4095, 4095);
+		long far = RenderQueue.key(0, 2, 0, 0);
+		Assertions.assertTrue(Long.compareUnsigned(near, far) < 0);
+		Assertions.assertTrue(Long.compareUnsigned(RenderQueue.key(0, 1, 1, 4095), RenderQueue.key(0, 1, 2, 0)) < 0);
+		Assertions.assertEquals(RenderQueue.key(0, 1, 1, 1), RenderQueue.key(0, 1, 1 + 4096, 1 + 4096));
+	}
+
+	@Test
+	public void testOrderInLayerDepth() {
+		for(int order = -128; order < 127; order++) {
+			Assertions.assertTrue(Integer.compareUnsigned(RenderQueue.depth(order), RenderQueue.depth(order + 1)) < 0);
+		}
+	}
+
+	@Test
+	public void testFloatDepth() {
+		float[] values = {Float.NEGATIVE_INFINITY, -1e30f, -2.5f, -1.0f, -Float.MIN_VALUE, -0.0f, 0.0f, Float.MIN_VALUE, 0.5f, 1.0f, 3.75f, 1e30f, Float.POSITIVE_INFINITY};
+		for(int i = 0; i < values.length; i++) {
+			for(int j = 0; j < values.length; j++) {
+				int expected = Integer.signum(Float.compare(values[i], values[j]));
+				int actual = Integer.signum(Integer.compareUnsigned(RenderQueue.depth(values[i]), RenderQueue.depth(values[j])));
+				Assertions.assertEquals(expected, actual, values[i] + " and " + values[j]);
+			}
+		}
+	}
+
+	@Test
+	public void testFloatDepthInKeys() {
+		float[] values = {3.0f, -1.0f, 0.0f, -7.5f, 2.0f, 0.25f};
+		long[] keys = new long[values.length];
+		for(int i = 0; i < values.length; i++) {
+			keys[i] = RenderQueue.key(0, RenderQueue.depth(values[i]), 0, 0);
+		}
+		RenderQueue queue = new RenderQueue();
+		for(int i = 0; i < keys.length; i++) {
+			queue.submit(item(null), keys[i]);
+		}
+		queue.sort();
+		float[] sorted = values.clone();
+		Arrays.sort(sorted);
+		for(int i = 0; i < sorted.length; i++) {
+			Assertions.assertEquals(RenderQueue.key(0, RenderQueue.depth(sorted[i]), 0, 0), queue.key(i));
+		}
+	}
+
+	@Test
+	public void testSortEmptyAndSingle() {
+		sortAndCheck(new long[0]);
+		sortAndCheck(new long[] {42L});
+	}
+
+	@Test
+	public void testSortRandomKeys() {
+		Random random = new Random(1234);
+		for(int size : new int[] {2, 10, 255, 256, 257, 5000}) {
+			long[] keys = new long[size];
+			for(int i = 0; i < size; i++) {
+				keys[i] = random.nextLong();
+			}
+			sortAndCheck(keys);
+		}
+	}
+
+	@Test
+	public void testSortIsStable() {
+		Random random = new Random(5678);
+		long[] keys = new long[3000];
+		for(int i = 0; i < keys.length; i++) {
+			keys[i] = RenderQueue.key(random.nextInt(4) - 2, random.nextInt(8), random.nextInt(3), random.nextInt(3));
+		}
+		sortAndCheck(keys);
+	}
+
+	@Test
+	public void testSortAfterClear() {
+		RenderQueue queue = new RenderQueue();
+		for(int i = 0; i < 600; i++) {
+			queue.submit(item(null), 600 - i);
+		}
+		queue.sort();
+		queue.clear();
+		Assertions.assertEquals(0, queue.size());
+		RenderItem[] items = {item(null), item(null), item(null)};
+		long[] keys = {-1L, 5L, 0L};
+		for(int i = 0; i < items.length; i++) {
+			queue.submit(items[i], keys[i]);
+		}
+		queue.sort();
+		assertStableOrder(queue, items, keys);
+	}
+
+	/**Submits one item per entity with the given keys, sorts the queue coherently, and checks that it matches a stable sort */
+	static void coherentFrame(RenderQueue queue, GameEntity[] entities, long[] keys) {
+		queue.clear();
+		RenderItem[] items = new RenderItem[entities.length];
+		for(int i = 0; i < entities.length; i++) {
+			items[i] = item(entities[i]);
+			queue.submit(items[i], keys[i]);
+		}
+		queue.sortCoherent();
+		assertStableOrder(queue, items, keys);
+	}
+
+	static GameEntity[] createEntities(EntityRegistry registry, int count) {
+		GameEntity[] entities = new GameEntity[count];
+		for(int i = 0; i < count; i++) {
+			entities[i] = registry.create(null);
+		}
+		return entities;
+	}
+
+	static long[] distinctKeys(int count, Random random) {
+		long[] keys = new long[count];
+		for(int i = 0; i < count; i++) {
+			keys[i] = RenderQueue.key(0, i * 4, 0, 0);
+		}
+		for(int i = count - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			long key = keys[i];
+			keys[i] = keys[j];
+			keys[j] = key;
+		}
+		return keys;
+	}
+
+	@Test
+	public void testCoherentAlreadySorted() {
+		EntityRegistry registry = new EntityRegistry();
+		GameEntity[] entities = createEntities(registry, 1000);
+		long[] keys = distinctKeys(1000, new Random(1));
+		RenderQueue queue = new RenderQueue();
+		for(int frame = 0; frame < 3; frame++) {
+			coherentFrame(queue, entities, keys);
+		}
+	}
+
+	@Test
+	public void testCoherentFewSwaps() {
+		EntityRegistry registry = new EntityRegistry();
+		GameEntity[] entities = createEntities(registry, 1000);
+		Random random = new Random(2);
+		long[] keys = distinctKeys(1000, random);
+		RenderQueue queue = new RenderQueue();
+		coherentFrame(queue, entities, keys);
+		for(int frame = 0; frame < 5; frame++) {
+			for(int swap = 0; swap < 10; swap++) {
+				int i = random.nextInt(keys.length), j = random.nextInt(keys.length);
+				long key = keys[i];
+				keys[i] = keys[j];
+				keys[j] = key;
+			}
+			coherentFrame(queue, entities, keys);
+		}
+	}
+
+	@Test
+	public void testCoherentReversed() {
+		EntityRegistry registry = new EntityRegistry();
+		GameEntity[] entities = createEntities(registry, 2000);
+		long[] keys = new long[entities.length];
+		for(int i = 0; i < keys.length; i++) {
+			keys[i] = RenderQueue.key(0, i, 0, 0);
+		}
+		RenderQueue queue = new RenderQueue();
+		coherentFrame(queue, entities, keys);
+		for(int i = 0; i < keys.length; i++) {
+			keys[i] = RenderQueue.key(0, keys.length - i, 0, 0);
+		}
+		coherentFrame(queue, entities, keys);
+	}
+
+	@Test
+	public void testCoherentTiesKeepPreviousOrder() {
+		EntityRegistry registry = new EntityRegistry();
+		GameEntity[] entities = createEntities(registry, 100);
+		long[] keys = new long[entities.length];
+		for(int i = 0; i < keys.length; i++) {
+			keys[i] = RenderQueue.key(0, keys.length - i, 0, 0);
+		}
+		RenderQueue queue = new RenderQueue();
+		coherentFrame(queue, entities, keys);
+		queue.clear();
+		for(GameEntity entity : entities) {
+			queue.submit(item(entity), 0L);
+		}
+		queue.sortCoherent();
+		for(int i = 0; i < entities.length; i++) {
+			Assertions.assertSame(entities[entities.length - 1 - i], queue.get(i).renderer().entity());
+		}
+	}
+
+	@Test
+	public void testCoherentAddedAndRemoved() {
+		EntityRegistry registry = new EntityRegistry();
+		Random random = new Random(3);
+		GameEntity[] entities = createEntities(registry, 500);
+		RenderQueue queue = new RenderQueue();
+		coherentFrame(queue, entities, distinctKeys(entities.length, random));
+		for(int frame = 0; frame < 5; frame++) {
+			// Removes every third entity and adds new ones, some of which reuse the freed indices
+			GameEntity[] next = new GameEntity[entities.length];
+			int count = 0;
+			for(int i = 0; i < entities.length; i++) {
+				if(i % 3 == frame % 3) {
+					registry.destroy(entities[i].handle());
+				} else {
+					next[count++] = entities[i];
+				}
+			}
+			while(count < next.length) {
+				next[count++] = registry.create(null);
+			}
+			entities = next;
+			coherentFrame(queue, entities, distinctKeys(entities.length, random));
+		}
+	}
+
+	@Test
+	public void testCoherentGrowAndShrink() {
+		EntityRegistry registry = new EntityRegistry();
+		Random random = new Random(4);
+		GameEntity[] all = createEntities(registry, 3000);
+		RenderQueue queue = new RenderQueue();
+		for(int size : new int[] {10, 3000, 200, 0, 1500}) {
+			coherentFrame(queue, Arrays.copyOf(all, size), distinctKeys(size, random));
+		}
+	}
+
+	@Test
+	public void testCoherentAfterFullSort() {
+		EntityRegistry registry = new EntityRegistry();
+		GameEntity[] entities = createEntities(registry, 300);
+		Random random = new Random(5);
+		RenderQueue queue = new RenderQueue();
+		coherentFrame(queue, entities, distinctKeys(entities.length, random));
+		queue.sort();
+		coherentFrame(queue, entities, distinctKeys(entities.length, random));
+	}
+}
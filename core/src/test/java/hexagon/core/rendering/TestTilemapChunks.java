@@ -0,0 +1,92 @@
+package hexagon.core.rendering;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import hexagon.math.matrix.Matrix4;
+
+public class TestTilemapChunks {
+
+	static TilemapChunks chunks = new TilemapChunks(70, 40, 32, 0.0f, 0.0f);
+
+	/**Orthographic transformation that shows the rectangle from (left, bottom) to (right, top) */
+	static Matrix4 view(float left, float bottom, float right, float top) {
+		float scaleX = 2.0f / (right - left), scaleY = 2.0f / (top - bottom);
+		return new Matrix4(
+				scaleX, 0.0f, 0.0f, 0.0f,
+				0.0f, scaleY, 0.0f, 0.0f,
+				0.0f, 0.0f, 1.0f, 0.0f,
+				-(right + left) / (right - left), -(top + bottom) / (top - bottom), 0.0f, 1.0f
+		);
+	}
+
+	@Test
+	public void testCount() {
+		Assertions.assertEquals(6, chunks.count());
+	}
+
+	@Test
+	public void testEdgeChunks() {
+		Assertions.assertEquals(6, chunks.chunkWidth(2));
+		Assertions.assertEquals(8, chunks.chunkHeight(5));
+		Assertions.assertEquals(32, chunks.chunkWidth(3));
+	}
+
+	@Test
+	public void testVertexRanges() {
+		Assertions.assertEquals(0, chunks.firstVertex(0));
+		Assertions.assertEquals(32 * 32 * 6, chunks.firstVertex(1));
+		Assertions.assertEquals(6 * 32 * 6, chunks.vertexCount(2));
+		Assertions.assertEquals(70 * 40 * 6, chunks.vertexCount());
+	}
+
+	@Test
+	public void testChunkOf() {
+		Assertions.assertEquals(0, chunks.chunkOf(0, 0));
+		Assertions.assertEquals(4, chunks.chunkOf(33, 34));
+		Assertions.assertEquals(5, chunks.chunkOf(69, 33));
+	}
+
+	@Test
+	public void testVertexOf() {
+		Assertions.assertEquals(0, chunks.vertexOf(0, 0));
+		Assertions.assertEquals(chunks.firstVertex(4) + (2 * 32 + 1) * 6, chunks.vertexOf(33, 34));
+		Assertions.assertEquals(chunks.firstVertex(5) + (1 * 6 + 5) * 6, chunks.vertexOf(69, 33));
+	}
+
+	@Test
+	public void testAllVisible() {
+		int[] result = new int[chunks.count()];
+		Assertions.assertEquals(6, chunks.visibleChunks(view(-10.0f, -10.0f, 100.0f, 100.0f), result));
+	}
+
+	@Test
+	public void testOneVisible() {
+		int[] result = new int[chunks.count()];
+		Assertions.assertEquals(1, chunks.visibleChunks(view(34.0f, 2.0f, 40.0f, 8.0f), result));
+		Assertions.assertEquals(1, result[0]);
+	}
+
+	@Test
+	public void testCornerVisible() {
+		int[] result = new int[chunks.count()];
+		Assertions.assertEquals(4, chunks.visibleChunks(view(30.0f, 30.0f, 34.0f, 34.0f), result));
+		Assertions.assertArrayEquals(new int[] {0, 1, 3, 4}, Arrays.copyOf(result, 4));
+	}
+
+	@Test
+	public void testNoneVisible() {
+		int[] result = new int[chunks.count()];
+		Assertions.assertEquals(0, chunks.visibleChunks(view(100.0f, 100.0f, 110.0f, 110.0f), result));
+	}
+
+	@Test
+	public void testOrigin() {
+		TilemapChunks moved = new TilemapChunks(70, 40, 32, -100.0f, 0.0f);
+		int[] result = new int[moved.count()];
+		Assertions.assertEquals(1, moved.visibleChunks(view(-66.0f, 2.0f, -60.0f, 8.0f), result));
+		Assertions.assertEquals(1, result[0]);
+	}
+}
@@ -0,0 +1,142 @@
+package hexagon.core.states;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import hexagon.core.GameEntity;
+import hexagon.core.components.Component;
+import hexagon.utils.json.JsonObject;
+
+public class TestCommandBuffer {
+
+	static class TestComponent extends Component {
+		@Override
+		public void init(JsonObject jsonObject) {}
+	}
+
+	static class OtherComponent extends Component {
+		@Override
+		public void init(JsonObject jsonObject) {}
+	}
+
+	@Test
+	public void testAppliedOnFlush() {
+		ComponentsTable table = new ComponentsTable();
+		EntityRegistry registry = new EntityRegistry();
+		CommandBuffer commands = new CommandBuffer();
+		GameEntity entity = registry.create(null);
+		TestComponent component = new TestComponent();
+		commands.addComponent(entity, component);
+		Assertions.assertEquals(1, commands.size());
+		Assertions.assertTrue(table.find(entity, TestComponent.class).isEmpty());
+		commands.flush(table, registry);
+		Assertions.assertEquals(0, commands.size());
+		Assertions.assertSame(component, table.find(entity, TestComponent.class).orElse(null));
+	}
+
+	@Test
+	public void testAppliedInOrder() {
+		ComponentsTable table = new ComponentsTable();
+		EntityRegistry registry = new EntityRegistry();
+		CommandBuffer commands = new CommandBuffer();
+		GameEntity first = registry.create(null), second = registry.create(null);
+		commands.addComponent(first, new TestComponent());
+		commands.removeComponent(first, TestComponent.class);
+		commands.removeComponent(second, TestComponent.class);
+		commands.addComponent(second, new TestComponent());
+		commands.flush(table, registry);
+		Assertions.assertTrue(table.find(first, TestComponent.class).isEmpty());
+		Assertions.assertTrue(table.find(second, TestComponent.class).isPresent());
+	}
+
+	@Test
+	public void testRemoveInstance() {
+		ComponentsTable table = new ComponentsTable();
+		EntityRegistry registry = new EntityRegistry();
+		CommandBuffer commands = new CommandBuffer();
+		GameEntity entity = registry.create(null);
+		TestComponent old = new TestComponent(), replacement = new TestComponent();
+		commands.addComponent(entity, old);
+		commands.flush(table, registry);
+		commands.addComponent(entity, replacement);
+		commands.removeComponent(entity, old);
+		commands.flush(table, registry);
+		Assertions.assertSame(replacement, table.find(entity, TestComponent.class).orElse(null));
+		commands.removeComponent(entity, replacement);
+		commands.flush(table, registry);
+		Assertions.assertTrue(table.find(entity, TestComponent.class).isEmpty());
+	}
+
+	@Test
+	public void testDestroyEntity() {
+		ComponentsTable table = new ComponentsTable();
+		EntityRegistry registry = new EntityRegistry();
+		CommandBuffer commands = new CommandBuffer();
+		GameEntity entity = registry.create(null);
+		commands.addComponent(entity, new TestComponent());
+		commands.addComponent(entity, new OtherComponent());
+		commands.flush(table, registry);
+		commands.destroyEntity(entity);
+		commands.flush(table, registry);
+		Assertions.assertFalse(registry.isAlive(entity.handle()));
+		Assertions.assertTrue(table.find(entity, TestComponent.class).isEmpty());
+		Assertions.assertTrue(table.find(entity, OtherComponent.class).isEmpty());
+	}
+
+	@Test
+	public void testAddToDestroyedEntity() {
+		ComponentsTable table = new ComponentsTable();
+		EntityRegistry registry = new EntityRegistry();
+		CommandBuffer commands = new CommandBuffer();
+		GameEntity entity = registry.create(null);
+		commands.destroyEntity(entity);
+		commands.addComponent(entity, new TestComponent());
+		commands.flush(table, registry);
+		Assertions.assertTrue(table.find(entity, TestComponent.class).isEmpty());
+		GameEntity reused = registry.create(null);
+		Assertions.assertTrue(table.find(reused, TestComponent.class).isEmpty());
+	}
+
+	@Test
+	public void testRecordAfterFlush() {
+		ComponentsTable table = new ComponentsTable();
+		EntityRegistry registry = new EntityRegistry();
+		CommandBuffer commands = new CommandBuffer();
+		GameEntity entity = registry.create(null);
+		commands.addComponent(entity, new TestComponent());
+		commands.flush(table, registry);
+		commands.addComponent(entity, new OtherComponent());
+		Assertions.assertTrue(table.find(entity, OtherComponent.class).isEmpty());
+		commands.flush(table, registry);
+		Assertions.assertTrue(table.find(entity, OtherComponent.class).isPresent());
+		commands.flush(table, registry);
+		Assertions.assertTrue(table.find(entity, TestComponent.class).isPresent());
+	}
+
+	@Test
+	public void testConcurrentRecording() throws InterruptedException {
+		ComponentsTable table = new ComponentsTable();
+		EntityRegistry registry = new EntityRegistry();
+		CommandBuffer commands = new CommandBuffer();
+		GameEntity[] entities = new GameEntity[4000];
+		for(int i = 0; i < entities.length; i++) {
+			entities[i] = registry.create(null);
+		}
+		Thread[] threads = new Thread[4];
+		for(int t = 0; t < threads.length; t++) {
+			int start = t * 1000;
+			threads[t] = new Thread(() -> {
+				for(int i = start; i < start + 1000; i++) {
+					commands.addComponent(entities[i], new TestComponent());
+				}
+			});
+			threads[t].start();
+		}
+		for(Thread thread : threads) {
+			thread.join();
+		}
+		Assertions.assertEquals(entities.length, commands.size());
+		commands.flush(table, registry);
+		Assertions.assertEquals(entities.length, table.getAll(TestComponent.class).size());
+	}
+}
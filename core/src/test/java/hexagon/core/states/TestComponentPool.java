@@ -0,0 +1,135 @@
+package hexagon.core.states;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import hexagon.core.GameEntity;
+import hexagon.core.components.Component;
+import hexagon.utils.json.JsonObject;
+
+public class TestComponentPool {
+
+	static class TestComponent extends Component {
+		@Override
+		public void init(JsonObject jsonObject) {}
+	}
+
+	static GameEntity entity(int index, int generation) {
+		return new GameEntity(null, EntityRegistry.handle(index, generation));
+	}
+
+	@Test
+	public void testPutAndGet() {
+		ComponentPool pool = new ComponentPool();
+		GameEntity first = entity(3, 0), second = entity(100, 0);
+		TestComponent a = new TestComponent(), b = new TestComponent();
+		pool.put(first, a);
+		pool.put(second, b);
+		Assertions.assertEquals(2, pool.size());
+		Assertions.assertSame(a, pool.get(first));
+		Assertions.assertSame(b, pool.get(second));
+		Assertions.assertNull(pool.get(entity(4, 0)));
+		Assertions.assertNull(pool.get(entity(1000, 0)));
+	}
+
+	@Test
+	public void testPutReplaces() {
+		ComponentPool pool = new ComponentPool();
+		GameEntity entity = entity(5, 0);
+		TestComponent a = new TestComponent(), b = new TestComponent();
+		pool.put(entity, a);
+		pool.put(entity, b);
+		Assertions.assertEquals(1, pool.size());
+		Assertions.assertSame(b, pool.get(entity));
+	}
+
+	@Test
+	public void testSwapRemove() {
+		ComponentPool pool = new ComponentPool();
+		GameEntity[] entities = new GameEntity[4];
+		TestComponent[] components = new TestComponent[4];
+		for(int i = 0; i < 4; i++) {
+			entities[i] = entity(i * 2, 0);
+			components[i] = new TestComponent();
+			pool.put(entities[i], components[i]);
+		}
+		Assertions.assertSame(components[1], pool.remove(entities[1]));
+		Assertions.assertEquals(3, pool.size());
+		// The last component is moved in the place of the removed one
+		Assertions.assertSame(components[3], pool.component(1));
+		Assertions.assertSame(entities[3], pool.entity(1));
+		Assertions.assertSame(components[3], pool.get(entities[3]));
+		Assertions.assertNull(pool.get(entities[1]));
+		Assertions.assertFalse(pool.contains(entities[1]));
+		Assertions.assertNull(pool.remove(entities[1]));
+		// Removing the last component does not move anything
+		Assertions.assertSame(components[2], pool.remove(entities[2]));
+		Assertions.assertSame(components[0], pool.get(entities[0]));
+		Assertions.assertSame(components[3], pool.get(entities[3]));
+		Assertions.assertEquals(2, pool.size());
+	}
+
+	@Test
+	public void testGrowth() {
+		ComponentPool pool = new ComponentPool();
+		for(int i = 0; i < 1000; i++) {
+			pool.put(entity(i, 0), new TestComponent());
+		}
+		Assertions.assertEquals(1000, pool.size());
+		for(int i = 0; i < 1000; i += 2) {
+			pool.remove(entity(i, 0));
+		}
+		Assertions.assertEquals(500, pool.size());
+		for(int i = 0; i < 1000; i++) {
+			Assertions.assertEquals(i % 2 == 1, pool.contains(entity(i, 0)));
+		}
+	}
+
+	@Test
+	public void testStaleEntity() {
+		ComponentPool pool = new ComponentPool();
+		TestComponent component = new TestComponent();
+		pool.put(entity(7, 0), component);
+		Assertions.assertNull(pool.get(entity(7, 1)));
+		Assertions.assertNull(pool.remove(entity(7, 1)));
+		Assertions.assertSame(component, pool.get(entity(7, 0)));
+	}
+
+	@Test
+	public void testForEach() {
+		ComponentPool pool = new ComponentPool();
+		for(int i = 0; i < 10; i++) {
+			pool.put(entity(i, 0), new TestComponent());
+		}
+		int[] count = {0};
+		pool.forEach((entity, component) -> {
+			Assertions.assertSame(component, pool.get(entity));
+			count[0]++;
+		});
+		Assertions.assertEquals(10, count[0]);
+	}
+
+	@Test
+	public void testMapView() {
+		ComponentPool pool = new ComponentPool();
+		GameEntity first = entity(1, 0), second = entity(7, 0);
+		TestComponent a = new TestComponent(), b = new TestComponent();
+		Map<GameEntity, Component> map = pool.asMap();
+		pool.put(first, a);
+		pool.put(second, b);
+		Assertions.assertEquals(2, map.size());
+		Assertions.assertSame(a, map.get(first));
+		Assertions.assertTrue(map.containsKey(second));
+		Assertions.assertFalse(map.containsKey(entity(7, 1)));
+		Assertions.assertNull(map.get("not an entity"));
+		int[] count = {0};
+		map.forEach((entity, component) -> count[0]++);
+		Assertions.assertEquals(2, count[0]);
+		Assertions.assertEquals(2, map.entrySet().size());
+		pool.remove(first);
+		Assertions.assertEquals(1, map.size());
+		Assertions.assertSame(b, map.values().iterator().next());
+	}
+}
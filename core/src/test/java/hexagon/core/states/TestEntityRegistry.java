@@ -0,0 +1,86 @@
+package hexagon.core.states;
+
+import java.util.HashSet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import hexagon.core.GameEntity;
+
+public class TestEntityRegistry {
+
+	@Test
+	public void testHandle() {
+		int handle = EntityRegistry.handle(12345, 67);
+		Assertions.assertEquals(12345, EntityRegistry.indexOf(handle));
+		Assertions.assertEquals(67, EntityRegistry.generationOf(handle));
+		int last = EntityRegistry.handle(EntityRegistry.MAX_ENTITIES - 1, 4095);
+		Assertions.assertEquals(EntityRegistry.MAX_ENTITIES - 1, EntityRegistry.indexOf(last));
+		Assertions.assertEquals(4095, EntityRegistry.generationOf(last));
+	}
+
+	@Test
+	public void testCreateUniqueIndices() {
+		EntityRegistry registry = new EntityRegistry();
+		HashSet<Integer> indices = new HashSet<>();
+		for(int i = 0; i < 1000; i++) {
+			GameEntity entity = registry.create(null);
+			Assertions.assertTrue(indices.add(entity.index()));
+			Assertions.assertEquals(0, entity.generation());
+			Assertions.assertSame(entity, registry.get(entity.handle()));
+		}
+		Assertions.assertEquals(1000, registry.size());
+	}
+
+	@Test
+	public void testReuseFreedIndex() {
+		EntityRegistry registry = new EntityRegistry();
+		GameEntity first = registry.create(null);
+		GameEntity second = registry.create(null);
+		Assertions.assertTrue(registry.destroy(first.handle()));
+		GameEntity third = registry.create(null);
+		Assertions.assertEquals(first.index(), third.index());
+		Assertions.assertEquals(first.generation() + 1, third.generation());
+		Assertions.assertTrue(registry.isAlive(second.handle()));
+		Assertions.assertTrue(registry.isAlive(third.handle()));
+		Assertions.assertEquals(2, registry.size());
+	}
+
+	@Test
+	public void testStaleHandle() {
+		EntityRegistry registry = new EntityRegistry();
+		GameEntity entity = registry.create(null);
+		Assertions.assertTrue(registry.destroy(entity.handle()));
+		Assertions.assertFalse(registry.isAlive(entity.handle()));
+		Assertions.assertNull(registry.get(entity.handle()));
+		Assertions.assertFalse(registry.destroy(entity.handle()));
+		GameEntity reused = registry.create(null);
+		Assertions.assertFalse(registry.isAlive(entity.handle()));
+		Assertions.assertNull(registry.get(entity.handle()));
+		Assertions.assertSame(reused, registry.get(reused.handle()));
+	}
+
+	@Test
+	public void testInvalidHandle() {
+		EntityRegistry registry = new EntityRegistry();
+		registry.create(null);
+		Assertions.assertFalse(registry.isAlive(EntityRegistry.handle(5, 0)));
+		Assertions.assertNull(registry.get(EntityRegistry.handle(5, 0)));
+	}
+
+	@Test
+	public void testGenerationWrap() {
+		EntityRegistry registry = new EntityRegistry();
+		GameEntity first = registry.create(null);
+		GameEntity entity = first;
+		for(int i = 0; i < 4096; i++) {
+			Assertions.assertTrue(registry.destroy(entity.handle()));
+			entity = registry.create(null);
+			Assertions.assertEquals(first.index(), entity.index());
+			Assertions.assertEquals((i + 1) & 4095, entity.generation());
+		}
+		// After 4096 reuses the generation wraps around to the one of the first entity
+		Assertions.assertEquals(first.handle(), entity.handle());
+		Assertions.assertTrue(registry.isAlive(entity.handle()));
+	}
+}
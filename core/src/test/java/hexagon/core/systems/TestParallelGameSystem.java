@@ -0,0 +1,117 @@
+package hexagon.core.systems;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import hexagon.core.GameEntity;
+import hexagon.core.components.Component;
+import hexagon.core.states.ArchetypeChunk;
+import hexagon.core.states.GameState;
+import hexagon.utils.json.JsonObject;
+
+public class TestParallelGameSystem {
+
+	static class CountedComponent extends Component {
+
+		final int id;
+
+		CountedComponent(int id) {
+			this.id = id;
+		}
+
+		@Override
+		public void init(JsonObject jsonObject) {}
+	}
+
+	static class CountingSystem extends ParallelGameSystem<CountedComponent, Object> {
+
+		final AtomicIntegerArray counts;
+
+		CountingSystem(int count, int grainSize) {
+			super(CountedComponent.class, grainSize);
+			this.counts = new AtomicIntegerArray(count);
+		}
+
+		@Override
+		protected Object createScratch() {
+			return new Object();
+		}
+
+		@Override
+		public void process(GameEntity entity, CountedComponent component, Object scratch, float deltaTime) {
+			this.counts.incrementAndGet(component.id);
+		}
+	}
+
+	static GameState createState(int count, boolean archetypes) {
+		GameState state = new GameState();
+		if(archetypes) {
+			state.useArchetypes();
+		}
+		for(int i = 0; i < count; i++) {
+			state.addComponent(state.createEntity(), new CountedComponent(i));
+		}
+		state.flush();
+		return state;
+	}
+
+	static void assertProcessedOnce(int count, int grainSize, boolean archetypes) {
+		GameState state = createState(count, archetypes);
+		CountingSystem system = new CountingSystem(count, grainSize);
+		system.run(state, 0.02f);
+		for(int i = 0; i < count; i++) {
+			Assertions.assertEquals(1, system.counts.get(i), "Component " + i + " of " + count);
+		}
+	}
+
+	@Test
+	public void testPoolsBelowGrainSize() {
+		assertProcessedOnce(0, 16, false);
+		assertProcessedOnce(1, 16, false);
+		assertProcessedOnce(15, 16, false);
+	}
+
+	@Test
+	public void testPoolsAtGrainSize() {
+		assertProcessedOnce(16, 16, false);
+	}
+
+	@Test
+	public void testPoolsAboveGrainSize() {
+		assertProcessedOnce(17, 16, false);
+		assertProcessedOnce(1000, 16, false);
+		assertProcessedOnce(10_007, ParallelGameSystem.DEFAULT_GRAIN_SIZE, false);
+	}
+
+	@Test
+	public void testChunksBelowGrainSize() {
+		assertProcessedOnce(1, ArchetypeChunk.CAPACITY, true);
+		assertProcessedOnce(ArchetypeChunk.CAPACITY - 1, ArchetypeChunk.CAPACITY, true);
+	}
+
+	@Test
+	public void testChunksAtGrainSize() {
+		assertProcessedOnce(ArchetypeChunk.CAPACITY, ArchetypeChunk.CAPACITY, true);
+	}
+
+	@Test
+	public void testChunksAboveGrainSize() {
+		assertProcessedOnce(ArchetypeChunk.CAPACITY + 1, ArchetypeChunk.CAPACITY, true);
+		assertProcessedOnce(ArchetypeChunk.CAPACITY * 20 + 3, ArchetypeChunk.CAPACITY, true);
+		assertProcessedOnce(ArchetypeChunk.CAPACITY * 20 + 3, 1, true);
+	}
+
+	@Test
+	public void testRepeatedRuns() {
+		GameState state = createState(5000, false);
+		CountingSystem system = new CountingSystem(5000, 64);
+		for(int run = 0; run < 3; run++) {
+			system.run(state, 0.02f);
+		}
+		for(int i = 0; i < 5000; i++) {
+			Assertions.assertEquals(3, system.counts.get(i));
+		}
+	}
+}
@@ -24,8 +24,19 @@ public final class WindowSize implements GLFWWindowSizeCallbackI {
 		return size().ratio();
 	}
 
-	private int width;
-	private int height;
+	/**
+	 * Gets a number that is incremented every time the window is resized.
+	 * Can be used to know if values that depend on the window size need to be computed again.
+	 * 
+	 * @return The window size version
+	 */
+	public static int version() {
+		return singleton.version;
+	}
+
+	private volatile int width;
+	private volatile int height;
+	private volatile int version = 0;
 
 	protected WindowSize(int width, int height) {
 		if(singleton != null) {
@@ -41,5 +52,6 @@ public final class WindowSize implements GLFWWindowSizeCallbackI {
 	public void invoke(long window, int width, int height) {
 		this.width = width;
 		this.height = height;
+		this.version++;
 	}
 }
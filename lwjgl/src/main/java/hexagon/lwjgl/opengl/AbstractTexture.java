@@ -12,6 +12,10 @@ public abstract class AbstractTexture {
 
 	protected abstract void bind(int textureUnit);
 
+	public final int id() {
+		return this.id;
+	}
+
 	public final void bindIfNotBound() {
 		this.bindIfNotBound(0);
 	}
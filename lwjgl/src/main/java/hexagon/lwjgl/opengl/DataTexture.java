@@ -0,0 +1,161 @@
+package hexagon.lwjgl.opengl;
+
+import java.nio.ShortBuffer;
+
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL12;
+import org.lwjgl.opengl.GL13;
+import org.lwjgl.opengl.GL30;
+
+/**
+ * Class that represents a texture used to store integer data instead of colors.
+ * <p>
+ * 	Every texel holds an unsigned 16 bit integer in a {@code GL_R16UI} texture.
+ * 	Shaders read the values with {@code texelFetch} from a {@code usampler2D}.
+ * 	A copy of the data is kept in memory so that values can be changed from any thread:
+ * 	changes are stored and uploaded with {@link DataTexture#flush()}, which only uploads the region that was changed.
+ * </p>
+ * 
+ * @author Nico
+ */
+public final class DataTexture extends AbstractTexture {
+
+	/**Largest value that can be stored in a texel */
+	public static final int MAX_VALUE = 0xFFFF;
+
+	/**
+	 * Creates a data texture.
+	 * 
+	 * @param width Width of the texture
+	 * @param height Height of the texture
+	 * @param data Initial values, row by row, or {@code null} to fill the texture with zeros
+	 * 
+	 * @return The newly created data texture
+	 */
+	public static DataTexture create(int width, int height, short[] data) {
+		short[] values = new short[width * height];
+		if(data != null) {
+			System.arraycopy(data, 0, values, 0, Math.min(data.length, values.length));
+		}
+		int id = OpenGL.createTexture();
+		GL11.glBindTexture(GL11.GL_TEXTURE_2D, id);
+		GL11.glPixelStorei(GL11.GL_UNPACK_ALIGNMENT, 1);
+		GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MIN_FILTER, GL11.GL_NEAREST);
+		GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MAG_FILTER, GL11.GL_NEAREST);
+		GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_S, GL12.GL_CLAMP_TO_EDGE);
+		GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_T, GL12.GL_CLAMP_TO_EDGE);
+		GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0, GL30.GL_R16UI, width, height, 0, GL30.GL_RED_INTEGER, GL11.GL_UNSIGNED_SHORT, values);
+		return new DataTexture(id, width, height, values);
+	}
+
+	/**Width of the texture */
+	private final int width;
+	/**Height of the texture */
+	private final int height;
+	/**Copy of the data in the texture */
+	private final short[] values;
+	/**Region that was changed since the last upload, empty when {@code minX > maxX} */
+	private int minX, minY, maxX = -1, maxY = -1;
+	/**Buffer used to upload changed regions, grows when needed */
+	private ShortBuffer buffer = BufferUtils.createShortBuffer(64);
+
+	/**
+	 * Creates a data texture.
+	 * 
+	 * @param id Texture id
+	 * @param width Width of the texture
+	 * @param height Height of the texture
+	 * @param values Initial values
+	 */
+	private DataTexture(int id, int width, int height, short[] values) {
+		super(id);
+		this.width = width;
+		this.height = height;
+		this.values = values;
+	}
+
+	@Override
+	protected void bind(int textureUnit) {
+		GL13.glActiveTexture(GL13.GL_TEXTURE0 + textureUnit);
+		GL11.glBindTexture(GL11.GL_TEXTURE_2D, this.id);
+	}
+
+	/**
+	 * Gets a value in the texture.
+	 * 
+	 * @param x X coordinate of the texel
+	 * @param y Y coordinate of the texel
+	 * 
+	 * @return The value of the texel as an unsigned integer
+	 */
+	public synchronized int get(int x, int y) {
+		return Short.toUnsignedInt(this.values[y * this.width + x]);
+	}
+
+	/**
+	 * Changes a value in the texture.
+	 * The change is uploaded the next time {@link DataTexture#flush()} is called.
+	 * 
+	 * @param x X coordinate of the texel
+	 * @param y Y coordinate of the texel
+	 * @param value The new value, only the lowest 16 bits are stored, so it should be between 0 and {@link DataTexture#MAX_VALUE}
+	 */
+	public synchronized void set(int x, int y, int value) {
+		if(this.values[y * this.width + x] != (short) value) {
+			this.values[y * this.width + x] = (short) value;
+			if(this.minX > this.maxX) {
+				this.minX = this.maxX = x;
+				this.minY = this.maxY = y;
+			} else {
+				this.minX = Math.min(this.minX, x);
+				this.minY = Math.min(this.minY, y);
+				this.maxX = Math.max(this.maxX, x);
+				this.maxY = Math.max(this.maxY, y);
+			}
+		}
+	}
+
+	/**
+	 * Uploads the region of the texture that was changed since the last upload.
+	 * Does nothing if nothing was changed.
+	 * Must be called from the thread that owns the OpenGL context.
+	 */
+	public synchronized void flush() {
+		if(this.minX <= this.maxX) {
+			int regionWidth = this.maxX - this.minX + 1;
+			int regionHeight = this.maxY - this.minY + 1;
+			if(regionWidth * regionHeight > this.buffer.capacity()) {
+				this.buffer = BufferUtils.createShortBuffer(Integer.highestOneBit(regionWidth * regionHeight - 1) << 1);
+			}
+			this.buffer.clear();
+			for(int y = this.minY; y <= this.maxY; y++) {
+				this.buffer.put(this.values, y * this.width + this.minX, regionWidth);
+			}
+			this.buffer.flip();
+			GL11.glBindTexture(GL11.GL_TEXTURE_2D, this.id);
+			GL11.glPixelStorei(GL11.GL_UNPACK_ALIGNMENT, 1);
+			GL11.glTexSubImage2D(GL11.GL_TEXTURE_2D, 0, this.minX, this.minY, regionWidth, regionHeight, GL30.GL_RED_INTEGER, GL11.GL_UNSIGNED_SHORT, this.buffer);
+			this.minX = this.minY = 0;
+			this.maxX = this.maxY = -1;
+		}
+	}
+
+	/**
+	 * Gets the width of the texture.
+	 * 
+	 * @return The width of the texture
+	 */
+	public int width() {
+		return this.width;
+	}
+
+	/**
+	 * Gets the height of the texture.
+	 * 
+	 * @return The height of the texture
+	 */
+	public int height() {
+		return this.height;
+	}
+}
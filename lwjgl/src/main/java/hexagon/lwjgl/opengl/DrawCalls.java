@@ -1,6 +1,7 @@
 package hexagon.lwjgl.opengl;
 
 import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL31;
 
 /**
  * Utility class to wrap OpenGL draw calls.
@@ -35,4 +36,19 @@ public final class DrawCalls {
 	public static void drawElements(int count) {
 		GL11.glDrawElements(GL11.GL_TRIANGLES, count, GL11.GL_UNSIGNED_INT, 0);
 	}
+
+	/**
+	 * Instanced draw call. Use this function to render many copies of the same model.
+	 * <p>
+	 * 	Calls {@link GL31#glDrawElementsInstanced(int, int, int, long, int)} using {@link GL11#GL_TRIANGLES} mode.
+	 * 	Uses data from the currently bound {@link VertexObject}.
+	 * 	Per-instance data is read from attributes created with {@link VertexObject.Builder#instanceAttribute(int, int, int)}.
+	 * </p>
+	 * 
+	 * @param count Number of vertices of a single instance.
+	 * @param instances Number of instances to render.
+	 */
+	public static void drawElementsInstanced(int count, int instances) {
+		GL31.glDrawElementsInstanced(GL11.GL_TRIANGLES, count, GL11.GL_UNSIGNED_INT, 0, instances);
+	}
 }
@@ -1,6 +1,7 @@
 package hexagon.lwjgl.opengl;
 
 import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -28,6 +29,18 @@ public final class ShaderProgram {
 
 	private static final HashMap<String, ShaderProgram> programs = new HashMap<>();
 
+	/**
+	 * Gets or loads a shader program.
+	 * <p>
+	 * 	If the program is not yet loaded, loads it and returns the program object.
+	 * 	If it is already loaded, returns the same instance,
+	 * 	so that sprites using the same program file can be drawn in the same batch.
+	 * </p>
+	 * 
+	 * @param programFile Path to the program file, from the resources folder starting with {@code /}.
+	 * 
+	 * @return The requested shader program.
+	 */
 	public static ShaderProgram getOrLoad(String programFile) {
 		ShaderProgram program = programs.get(programFile);
 		return program != null ? program : loadProgram(programFile);
@@ -41,39 +54,108 @@ public final class ShaderProgram {
 		GL20.glUseProgram(0);
 	}
 
+	/**Buffer used to upload matrices, shared by all programs since uniforms are only loaded from the render thread */
+	private static final FloatBuffer MATRIX_BUFFER = BufferUtils.createFloatBuffer(16);
+
 	/**Shader program id */
 	public final int id;
 	/**Map that stores uniform variables */
-	private final HashMap<String, Integer> uniformVariables;
+	private final HashMap<String, Uniform> uniformVariables;
+	/**Version of the uniform buffers the uniform blocks of this program are bound to */
+	private int uniformBuffersVersion = 0;
+	/**Number of uniform values uploaded to this program */
+	private long uploads = 0;
+	/**Number of uniform uploads that were skipped because the value did not change */
+	private long skippedUploads = 0;
 
 	/**
 	 * Creates a shader program.
+	 * Resolves the locations of all the program's active uniforms.
 	 * 
 	 * @param id Shader id.
 	 */
 	private ShaderProgram(int id) {
 		this.id = id;
 		this.uniformVariables = new HashMap<>();
+		IntBuffer size = BufferUtils.createIntBuffer(1);
+		IntBuffer type = BufferUtils.createIntBuffer(1);
+		int count = GL20.glGetProgrami(id, GL20.GL_ACTIVE_UNIFORMS);
+		for(int i = 0; i < count; i++) {
+			String name = GL20.glGetActiveUniform(id, i, size, type);
+			if(name.endsWith("[0]")) {
+				name = name.substring(0, name.length() - 3);
+			}
+			this.uniformVariables.put(name, new Uniform(GL20.glGetUniformLocation(id, name)));
+		}
 	}
 
+	/**
+	 * Starts this shader program.
+	 * Binds the program's uniform blocks to their uniform buffers if new buffers were created.
+	 */
 	public void start() {
+		if(this.uniformBuffersVersion != UniformBuffer.version()) {
+			UniformBuffer.bindBlocks(this.id);
+			this.uniformBuffersVersion = UniformBuffer.version();
+		}
 		GL20.glUseProgram(this.id);
 	}
 
 	/**
-	 * Gets the location of a uniform variable.
+	 * Gets a handle to a uniform variable.
+	 * Handles can be stored and used to load values without looking up the variable by name.
+	 * Variables that are not in the program get a handle that ignores all values.
 	 * 
 	 * @param variableName Name of the variable in the shader code.
 	 * 
-	 * @return Integer value of uniform variable location.
+	 * @return The uniform variable handle
+	 */
+	public Uniform uniform(String variableName) {
+		Uniform uniform = this.uniformVariables.get(variableName);
+		if(uniform == null) {
+			uniform = new Uniform(-1);
+			this.uniformVariables.put(variableName, uniform);
+		}
+		return uniform;
+	}
+
+	/**
+	 * Gets the number of uniform values uploaded to this program.
+	 * 
+	 * @return The number of uniform uploads
+	 */
+	public long uploads() {
+		return this.uploads;
+	}
+
+	/**
+	 * Gets the number of uniform uploads that were skipped because the variable already had the same value.
+	 * 
+	 * @return The number of skipped uploads
+	 */
+	public long skippedUploads() {
+		return this.skippedUploads;
+	}
+
+	/**
+	 * Used internally to check if a uniform needs to be uploaded and update the counters.
+	 * 
+	 * @param uniform The uniform variable
+	 * @param changed True if the value is different from the last one that was uploaded
+	 * 
+	 * @return True if the value needs to be uploaded
 	 */
-	private int getUniformLocation(String variableName) {
-		Integer location = this.uniformVariables.get(variableName);
-		if(location == null) {
-			location = GL20.glGetUniformLocation(this.id, variableName);
-			this.uniformVariables.put(variableName, location);
+	private boolean needsUpload(Uniform uniform, boolean changed) {
+		if(uniform.location < 0) {
+			return false;
+		} else if(changed || !uniform.loaded) {
+			uniform.loaded = true;
+			this.uploads++;
+			return true;
+		} else {
+			this.skippedUploads++;
+			return false;
 		}
-		return location;
 	}
 
 	/**
@@ -83,14 +165,19 @@ public final class ShaderProgram {
 	 * @param matrix The matrix to load
 	 */
 	public void load(String variableName, Matrix4 matrix) {
-		if(matrix != null) {
-			int location = this.getUniformLocation(variableName);
-			FloatBuffer buffer = BufferUtils.createFloatBuffer(16);
-			buffer.put(matrix.m00()); buffer.put(matrix.m01()); buffer.put(matrix.m02()); buffer.put(matrix.m03());
-			buffer.put(matrix.m10()); buffer.put(matrix.m11()); buffer.put(matrix.m12()); buffer.put(matrix.m13());
-			buffer.put(matrix.m20()); buffer.put(matrix.m21()); buffer.put(matrix.m22()); buffer.put(matrix.m23());
-			buffer.put(matrix.m30()); buffer.put(matrix.m31()); buffer.put(matrix.m32()); buffer.put(matrix.m33());
-			GL20.glUniformMatrix4fv(location, false, buffer.flip());
+		this.load(this.uniform(variableName), matrix);
+	}
+
+	/**
+	 * Loads a matrix as a uniform variable.
+	 * The program must be running.
+	 * 
+	 * @param uniform The uniform variable handle
+	 * @param matrix The matrix to load
+	 */
+	public void load(Uniform uniform, Matrix4 matrix) {
+		if(matrix != null && this.needsUpload(uniform, uniform.set(matrix))) {
+			GL20.glUniformMatrix4fv(uniform.location, false, MATRIX_BUFFER.clear().put(uniform.floats, 0, 16).flip());
 		}
 	}
 
@@ -101,8 +188,20 @@ public final class ShaderProgram {
 	 * @param value The value to load.
 	 */
 	public void load(String variableName, float value) {
-		int location = this.getUniformLocation(variableName);
-		GL20.glUniform1f(location, value);
+		this.load(this.uniform(variableName), value);
+	}
+
+	/**
+	 * Loads a float uniform variable.
+	 * The program must be running.
+	 * 
+	 * @param uniform The uniform variable handle
+	 * @param value The value to load.
+	 */
+	public void load(Uniform uniform, float value) {
+		if(this.needsUpload(uniform, uniform.set(value, 0.0f, 0.0f, 0.0f))) {
+			GL20.glUniform1f(uniform.location, value);
+		}
 	}
 
 	/**
@@ -112,8 +211,20 @@ public final class ShaderProgram {
 	 * @param value The value to load.
 	 */
 	public void load(String variableName, int value) {
-		int location = this.getUniformLocation(variableName);
-		GL20.glUniform1i(location, value);
+		this.load(this.uniform(variableName), value);
+	}
+
+	/**
+	 * Loads an int uniform variable.
+	 * The program must be running.
+	 * 
+	 * @param uniform The uniform variable handle
+	 * @param value The value to load.
+	 */
+	public void load(Uniform uniform, int value) {
+		if(this.needsUpload(uniform, uniform.set(value, 0, 0, 0))) {
+			GL20.glUniform1i(uniform.location, value);
+		}
 	}
 
 	/**
@@ -134,8 +245,21 @@ public final class ShaderProgram {
 	 * @param y Y coordinate of the vector to load.
 	 */
 	public void load(String variableName, float x, float y) {
-		int location = this.getUniformLocation(variableName);
-		GL20.glUniform2f(location, x, y);
+		this.load(this.uniform(variableName), x, y);
+	}
+
+	/**
+	 * Loads a 2D float vector as a uniform variable.
+	 * The program must be running.
+	 * 
+	 * @param uniform The uniform variable handle
+	 * @param x X coordinate of the vector to load.
+	 * @param y Y coordinate of the vector to load.
+	 */
+	public void load(Uniform uniform, float x, float y) {
+		if(this.needsUpload(uniform, uniform.set(x, y, 0.0f, 0.0f))) {
+			GL20.glUniform2f(uniform.location, x, y);
+		}
 	}
 
 	/**
@@ -156,8 +280,21 @@ public final class ShaderProgram {
 	 * @param b Y coordinate of the vector to load.
 	 */
 	public void load(String variableName, int a, int b) {
-		int location = this.getUniformLocation(variableName);
-		GL20.glUniform2i(location, a, b);
+		this.load(this.uniform(variableName), a, b);
+	}
+
+	/**
+	 * Loads a 2D int vector as a uniform variable.
+	 * The program must be running.
+	 * 
+	 * @param uniform The uniform variable handle
+	 * @param a X coordinate of the vector to load.
+	 * @param b Y coordinate of the vector to load.
+	 */
+	public void load(Uniform uniform, int a, int b) {
+		if(this.needsUpload(uniform, uniform.set(a, b, 0, 0))) {
+			GL20.glUniform2i(uniform.location, a, b);
+		}
 	}
 
 	/**
@@ -179,8 +316,22 @@ public final class ShaderProgram {
 	 * @param z Z coordinate of the vector to load.
 	 */
 	public void load(String variableName, float x, float y, float z) {
-		int location = this.getUniformLocation(variableName);
-		GL20.glUniform3f(location, x, y, z);
+		this.load(this.uniform(variableName), x, y, z);
+	}
+
+	/**
+	 * Loads a 3D float vector as a uniform variable.
+	 * The program must be running.
+	 * 
+	 * @param uniform The uniform variable handle
+	 * @param x X coordinate of the vector to load.
+	 * @param y Y coordinate of the vector to load.
+	 * @param z Z coordinate of the vector to load.
+	 */
+	public void load(Uniform uniform, float x, float y, float z) {
+		if(this.needsUpload(uniform, uniform.set(x, y, z, 0.0f))) {
+			GL20.glUniform3f(uniform.location, x, y, z);
+		}
 	}
 
 	/**
@@ -202,8 +353,22 @@ public final class ShaderProgram {
 	 * @param c Z coordinate of the vector to load.
 	 */
 	public void load(String variableName, int a, int b, int c) {
-		int location = this.getUniformLocation(variableName);
-		GL20.glUniform3i(location, a, b, c);
+		this.load(this.uniform(variableName), a, b, c);
+	}
+
+	/**
+	 * Loads a 3D int vector as a uniform variable.
+	 * The program must be running.
+	 * 
+	 * @param uniform The uniform variable handle
+	 * @param a X coordinate of the vector to load.
+	 * @param b Y coordinate of the vector to load.
+	 * @param c Z coordinate of the vector to load.
+	 */
+	public void load(Uniform uniform, int a, int b, int c) {
+		if(this.needsUpload(uniform, uniform.set(a, b, c, 0))) {
+			GL20.glUniform3i(uniform.location, a, b, c);
+		}
 	}
 
 	/**
@@ -226,8 +391,23 @@ public final class ShaderProgram {
 	 * @param w W coordinate of the vector to load.
 	 */
 	public void load(String variableName, float x, float y, float z, float w) {
-		int location = this.getUniformLocation(variableName);
-		GL20.glUniform4f(location, x, y, z, w);
+		this.load(this.uniform(variableName), x, y, z, w);
+	}
+
+	/**
+	 * Loads a 4D float vector as a uniform variable.
+	 * The program must be running.
+	 * 
+	 * @param uniform The uniform variable handle
+	 * @param x X coordinate of the vector to load.
+	 * @param y Y coordinate of the vector to load.
+	 * @param z Z coordinate of the vector to load.
+	 * @param w W coordinate of the vector to load.
+	 */
+	public void load(Uniform uniform, float x, float y, float z, float w) {
+		if(this.needsUpload(uniform, uniform.set(x, y, z, w))) {
+			GL20.glUniform4f(uniform.location, x, y, z, w);
+		}
 	}
 
 	/**
@@ -250,8 +430,103 @@ public final class ShaderProgram {
 	 * @param d W coordinate of the vector to load.
 	 */
 	public void load(String variableName, int a, int b, int c, int d) {
-		int location = this.getUniformLocation(variableName);
-		GL20.glUniform4i(location, a, b, c, d);
+		this.load(this.uniform(variableName), a, b, c, d);
+	}
+
+	/**
+	 * Loads a 4D int vector as a uniform variable.
+	 * The program must be running.
+	 * 
+	 * @param uniform The uniform variable handle
+	 * @param a X coordinate of the vector to load.
+	 * @param b Y coordinate of the vector to load.
+	 * @param c Z coordinate of the vector to load.
+	 * @param d W coordinate of the vector to load.
+	 */
+	public void load(Uniform uniform, int a, int b, int c, int d) {
+		if(this.needsUpload(uniform, uniform.set(a, b, c, d))) {
+			GL20.glUniform4i(uniform.location, a, b, c, d);
+		}
+	}
+
+	/**
+	 * Handle to a uniform variable of a shader program.
+	 * Stores the last value that was uploaded to the variable, so that identical values are not uploaded again.
+	 */
+	public static final class Uniform {
+
+		/**Location of the variable, -1 if the variable is not in the program */
+		private final int location;
+		/**Last float values that were uploaded */
+		private final float[] floats = new float[16];
+		/**Last int values that were uploaded */
+		private final int[] ints = new int[4];
+		/**True if a value was uploaded at least once */
+		private boolean loaded = false;
+
+		/**
+		 * Creates a uniform variable handle.
+		 * 
+		 * @param location Location of the variable
+		 */
+		private Uniform(int location) {
+			this.location = location;
+		}
+
+		/**
+		 * Gets the location of this variable.
+		 * 
+		 * @return The location of this variable or -1 if the variable is not in the program
+		 */
+		public int location() {
+			return this.location;
+		}
+
+		/**
+		 * Used internally to store float values.
+		 * 
+		 * @return True if the values are different from the stored ones
+		 */
+		private boolean set(float x, float y, float z, float w) {
+			boolean changed = this.floats[0] != x || this.floats[1] != y || this.floats[2] != z || this.floats[3] != w;
+			this.floats[0] = x; this.floats[1] = y; this.floats[2] = z; this.floats[3] = w;
+			return changed;
+		}
+
+		/**
+		 * Used internally to store int values.
+		 * 
+		 * @return True if the values are different from the stored ones
+		 */
+		private boolean set(int a, int b, int c, int d) {
+			boolean changed = this.ints[0] != a || this.ints[1] != b || this.ints[2] != c || this.ints[3] != d;
+			this.ints[0] = a; this.ints[1] = b; this.ints[2] = c; this.ints[3] = d;
+			return changed;
+		}
+
+		/**
+		 * Used internally to store the values of a matrix.
+		 * 
+		 * @return True if the values are different from the stored ones
+		 */
+		private boolean set(Matrix4 matrix) {
+			boolean changed = this.set(matrix.m00(), matrix.m01(), matrix.m02(), matrix.m03());
+			changed |= this.set(4, matrix.m10(), matrix.m11(), matrix.m12(), matrix.m13());
+			changed |= this.set(8, matrix.m20(), matrix.m21(), matrix.m22(), matrix.m23());
+			changed |= this.set(12, matrix.m30(), matrix.m31(), matrix.m32(), matrix.m33());
+			return changed;
+		}
+
+		/**
+		 * Used internally to store a row of a matrix.
+		 * 
+		 * @return True if the values are different from the stored ones
+		 */
+		private boolean set(int offset, float x, float y, float z, float w) {
+			boolean changed = this.floats[offset] != x || this.floats[offset + 1] != y || this.floats[offset + 2] != z || this.floats[offset + 3] != w;
+			this.floats[offset] = x; this.floats[offset + 1] = y; this.floats[offset + 2] = z; this.floats[offset + 3] = w;
+			return changed;
+		}
 	}
 
 	/**
@@ -351,7 +626,16 @@ public final class ShaderProgram {
 		}
 	}
 
+	/**
+	 * Loads a shader program.
+	 * The program is stored so that the next call to {@link ShaderProgram#getOrLoad(String)} returns the same instance.
+	 * 
+	 * @param programFile Path to the program file.
+	 * 
+	 * @return The new shader program.
+	 */
 	private static ShaderProgram loadProgram(String programFile) {
+		ShaderProgram program;
 		try {
 			int id = OpenGL.createShaderProgram();
 			JsonObject programJson = JsonObject.fromFile(programFile);
@@ -377,11 +661,13 @@ public final class ShaderProgram {
 			});
 			GL20.glLinkProgram(id);
 			GL20.glValidateProgram(id);
-			return new ShaderProgram(id);
+			program = new ShaderProgram(id);
 		} catch (ResourceLoadingException e) {
 			// TODO - Default error shader
 			e.printStackTrace();
-			return ShaderProgram.with().create();
+			program = ShaderProgram.with().create();
 		}
+		programs.put(programFile, program);
+		return program;
 	}
 }
@@ -0,0 +1,113 @@
+package hexagon.lwjgl.opengl;
+
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL31;
+
+/**
+ * Class that represents a uniform buffer object, or UBO.
+ * <p>
+ * 	A uniform buffer holds the values of a uniform block and is bound to a fixed binding point,
+ * 	so that all shader programs that declare a block with the same name read from the same buffer.
+ * 	Shader programs bind their blocks to the binding points of all existing uniform buffers when they are started.
+ * </p>
+ * <p>
+ * 	Data is uploaded with the layout of the block in the shader code, which should be declared as {@code std140}.
+ * </p>
+ * 
+ * @author Nico
+ */
+public final class UniformBuffer {
+
+	/**All uniform buffers that were created */
+	private static final ArrayList<UniformBuffer> buffers = new ArrayList<>();
+	/**Incremented every time a uniform buffer is created */
+	private static int version = 0;
+
+	/**
+	 * Creates a uniform buffer and binds it to the given binding point.
+	 * 
+	 * @param blockName Name of the uniform block in the shader code
+	 * @param binding Binding point of the buffer
+	 * @param size Number of floats in the buffer
+	 * 
+	 * @return The newly created uniform buffer
+	 */
+	public static UniformBuffer create(String blockName, int binding, int size) {
+		UniformBuffer uniformBuffer = new UniformBuffer(blockName, binding, size);
+		buffers.add(uniformBuffer);
+		version++;
+		return uniformBuffer;
+	}
+
+	/**
+	 * Gets a number that changes every time a uniform buffer is created.
+	 * Used to know when shader programs need to bind their uniform blocks again.
+	 * 
+	 * @return The uniform buffers version
+	 */
+	protected static int version() {
+		return version;
+	}
+
+	/**
+	 * Binds the uniform blocks of a shader program to the binding points of all uniform buffers.
+	 * Blocks that are not in the program are skipped.
+	 * 
+	 * @param program Id of the shader program
+	 */
+	protected static void bindBlocks(int program) {
+		for(UniformBuffer uniformBuffer : buffers) {
+			int index = GL31.glGetUniformBlockIndex(program, uniformBuffer.blockName);
+			if(index != GL31.GL_INVALID_INDEX) {
+				GL31.glUniformBlockBinding(program, index, uniformBuffer.binding);
+			}
+		}
+	}
+
+	/**Buffer id */
+	public final int id;
+	/**Name of the uniform block in the shader code */
+	public final String blockName;
+	/**Binding point of the buffer */
+	public final int binding;
+	/**Buffer used to upload data */
+	private final FloatBuffer buffer;
+
+	/**
+	 * Creates a uniform buffer.
+	 * 
+	 * @param blockName Name of the uniform block in the shader code
+	 * @param binding Binding point of the buffer
+	 * @param size Number of floats in the buffer
+	 */
+	private UniformBuffer(String blockName, int binding, int size) {
+		this.id = OpenGL.createVBO();
+		this.blockName = blockName;
+		this.binding = binding;
+		this.buffer = BufferUtils.createFloatBuffer(size);
+		GL15.glBindBuffer(GL31.GL_UNIFORM_BUFFER, this.id);
+		GL15.glBufferData(GL31.GL_UNIFORM_BUFFER, size * Float.BYTES, GL15.GL_DYNAMIC_DRAW);
+		GL15.glBindBuffer(GL31.GL_UNIFORM_BUFFER, 0);
+		GL31.glBindBufferBase(GL31.GL_UNIFORM_BUFFER, binding, this.id);
+	}
+
+	/**
+	 * Uploads data to the buffer.
+	 * Floats are read from the start of the array and written to the buffer starting at the given offset.
+	 * 
+	 * @param bufferOffset Index in the buffer of the first float to write
+	 * @param data Array containing the data, read from index 0
+	 * @param length Number of floats to upload
+	 */
+	public void update(int bufferOffset, float[] data, int length) {
+		this.buffer.clear();
+		this.buffer.put(data, 0, length).flip();
+		GL15.glBindBuffer(GL31.GL_UNIFORM_BUFFER, this.id);
+		GL15.glBufferSubData(GL31.GL_UNIFORM_BUFFER, (long) bufferOffset * Float.BYTES, this.buffer);
+		GL15.glBindBuffer(GL31.GL_UNIFORM_BUFFER, 0);
+	}
+}
@@ -1,13 +1,15 @@
 package hexagon.lwjgl.opengl;
 
+import java.nio.FloatBuffer;
 import java.util.HashMap;
-import java.util.Set;
+import java.util.Map;
 
 import org.lwjgl.BufferUtils;
 import org.lwjgl.opengl.GL11;
 import org.lwjgl.opengl.GL15;
 import org.lwjgl.opengl.GL20;
 import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL33;
 
 /**
  * A class to represent a Vertex Array Object, or VAO.
@@ -21,7 +23,7 @@ public final class VertexObject {
 
 	public static void unbind() {
 		if(currentlyBound != null) {
-			currentlyBound.attributes.forEach(GL20::glDisableVertexAttribArray);
+			currentlyBound.attributes.keySet().forEach(GL20::glDisableVertexAttribArray);
 			GL30.glBindVertexArray(0);
 			currentlyBound = null;
 		}
@@ -30,15 +32,15 @@ public final class VertexObject {
 	/**VAO id */
 	private final int vao;
 	/**Keeps track of all the attribute lists */
-	private final Set<Integer> attributes;
+	private final Map<Integer, Attribute> attributes;
 
 	/**
 	 * Creates a VertexObject.
 	 * 
 	 * @param vao VAO id
-	 * @param attributes Set of attribute lists
+	 * @param attributes Map of attribute lists
 	 */
-	private VertexObject(int vao, Set<Integer> attributes) {
+	private VertexObject(int vao, Map<Integer, Attribute> attributes) {
 		this.vao = vao;
 		this.attributes = attributes;
 	}
@@ -46,11 +48,43 @@ public final class VertexObject {
 	public void bindIfNotBound() {
 		if(this != currentlyBound) {
 			GL30.glBindVertexArray(this.vao);
-			this.attributes.forEach(GL20::glEnableVertexAttribArray);
+			this.attributes.keySet().forEach(GL20::glEnableVertexAttribArray);
 			currentlyBound = this;
 		}
 	}
 
+	/**
+	 * Replaces the data of a streaming attribute.
+	 * The attribute must have been created with {@link Builder#streamAttribute(int, int, int)}
+	 * or {@link Builder#instanceAttribute(int, int, int)}.
+	 * The attribute's buffer grows if the new data does not fit in it.
+	 * 
+	 * @param list Index of the attribute list
+	 * @param data Array containing the new data
+	 * @param length Number of floats from the array to upload
+	 */
+	public void updateAttribute(int list, float[] data, int length) {
+		if(this.attributes.get(list) instanceof StreamAttribArray stream) {
+			stream.update(data, length);
+		}
+	}
+
+	/**
+	 * Replaces part of the data of a dynamic attribute.
+	 * The attribute must have been created with {@link Builder#dynamicAttribute(int, float[], int)}.
+	 * Only the given range is uploaded.
+	 * 
+	 * @param list Index of the attribute list
+	 * @param offset Index of the first float to replace, both in the array and in the attribute's buffer
+	 * @param data Array containing the new data
+	 * @param length Number of floats to upload
+	 */
+	public void updateAttribute(int list, int offset, float[] data, int length) {
+		if(this.attributes.get(list) instanceof DynamicAttribArray dynamic) {
+			dynamic.update(offset, data, length);
+		}
+	}
+
 	/**
 	 * Creates a Vertex Object Builder.
 	 * Uses the builder pattern to create a Vertex Object.
@@ -90,6 +124,55 @@ public final class VertexObject {
 			return this;
 		}
 
+		/**
+		 * Adds a dynamic attribute to the Vertex Object.
+		 * Dynamic attributes have initial data like regular attributes,
+		 * but parts of their data can be replaced with {@link VertexObject#updateAttribute(int, int, float[], int)}.
+		 * 
+		 * @param list Index of the attribute list.
+		 * @param data Initial data.
+		 * @param size Number of floats per vertex.
+		 * 
+		 * @return {@code this} for builder pattern.
+		 */
+		public Builder dynamicAttribute(int list, float[] data, int size) {
+			this.attributes.put(list, new DynamicAttribArray(list, data, size));
+			return this;
+		}
+
+		/**
+		 * Adds a streaming attribute to the Vertex Object.
+		 * Streaming attributes have no initial data and are meant to be updated every frame
+		 * with {@link VertexObject#updateAttribute(int, float[], int)}.
+		 * 
+		 * @param list Index of the attribute list.
+		 * @param size Number of floats per vertex.
+		 * @param capacity Maximum number of vertices.
+		 * 
+		 * @return {@code this} for builder pattern.
+		 */
+		public Builder streamAttribute(int list, int size, int capacity) {
+			this.attributes.put(list, new StreamAttribArray(list, size, capacity, 0));
+			return this;
+		}
+
+		/**
+		 * Adds a per-instance streaming attribute to the Vertex Object.
+		 * Instance attributes advance once per instance instead of once per vertex
+		 * and are used with {@link DrawCalls#drawElementsInstanced(int, int)}.
+		 * They are updated with {@link VertexObject#updateAttribute(int, float[], int)}.
+		 * 
+		 * @param list Index of the attribute list.
+		 * @param size Number of floats per instance.
+		 * @param capacity Initial number of instances, the buffer grows when needed.
+		 * 
+		 * @return {@code this} for builder pattern.
+		 */
+		public Builder instanceAttribute(int list, int size, int capacity) {
+			this.attributes.put(list, new StreamAttribArray(list, size, capacity, 1));
+			return this;
+		}
+
 		/**
 		 * Adds an index buffer.
 		 * Vertex objects with index buffers can be rendered with {@link DrawCalls#drawElements(int)}.
@@ -113,7 +196,7 @@ public final class VertexObject {
 			GL30.glBindVertexArray(vao);
 			this.attributes.values().forEach(Attribute::storeData);
 			GL30.glBindVertexArray(0);
-			return new VertexObject(vao, this.attributes.keySet());
+			return new VertexObject(vao, this.attributes);
 		}
 	}
 
@@ -157,6 +240,126 @@ public final class VertexObject {
 		}
 	}
 
+	/**
+	 * Class to represent a float attribute array whose data can be partially replaced.
+	 */
+	private static class DynamicAttribArray implements Attribute {
+
+		private final int list;
+		private final int size;
+		/**Initial data, released once it is uploaded */
+		private float[] data;
+		/**Buffer used to upload data, grows when needed */
+		private FloatBuffer buffer;
+		private int vbo;
+
+		/**
+		 * Creates dynamic attrib array.
+		 * 
+		 * @param list Index of the attribute list.
+		 * @param data Initial data.
+		 * @param size Number of floats per vertex.
+		 */
+		private DynamicAttribArray(int list, float[] data, int size) {
+			this.list = list;
+			this.data = data;
+			this.size = size;
+			this.buffer = BufferUtils.createFloatBuffer(Math.max(size, 256));
+		}
+
+		@Override
+		public void storeData() {
+			this.vbo = OpenGL.createVBO();
+			GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, this.vbo);
+			GL15.glBufferData(GL15.GL_ARRAY_BUFFER, BufferUtils.createFloatBuffer(this.data.length).put(this.data).flip(), GL15.GL_DYNAMIC_DRAW);
+			GL20.glVertexAttribPointer(this.list, this.size, GL11.GL_FLOAT, false, 0, 0);
+			GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
+			this.data = null;
+		}
+
+		/**
+		 * Uploads a range of data with {@link GL15#glBufferSubData(int, long, FloatBuffer)}.
+		 * 
+		 * @param offset Index of the first float to replace, both in the array and in the buffer.
+		 * @param data Array containing the new data.
+		 * @param length Number of floats to upload.
+		 */
+		private void update(int offset, float[] data, int length) {
+			if(length > this.buffer.capacity()) {
+				this.buffer = BufferUtils.createFloatBuffer(Integer.highestOneBit(length - 1) << 1);
+			}
+			this.buffer.clear();
+			this.buffer.put(data, offset, length).flip();
+			GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, this.vbo);
+			GL15.glBufferSubData(GL15.GL_ARRAY_BUFFER, (long) offset * Float.BYTES, this.buffer);
+			GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
+		}
+	}
+
+	/**
+	 * Class to represent a float attribute array whose data changes every frame.
+	 */
+	private static class StreamAttribArray implements Attribute {
+
+		private final int list;
+		private final int size;
+		/**0 for per-vertex attributes, 1 for per-instance attributes */
+		private final int divisor;
+		/**Buffer used to upload data, its capacity is the size of the vertex buffer */
+		private FloatBuffer buffer;
+		private int vbo;
+
+		/**
+		 * Creates stream attrib array.
+		 * 
+		 * @param list Index of the attribute list.
+		 * @param size Number of floats per vertex or per instance.
+		 * @param capacity Initial number of vertices or instances.
+		 * @param divisor 0 for per-vertex attributes, 1 for per-instance attributes.
+		 */
+		private StreamAttribArray(int list, int size, int capacity, int divisor) {
+			this.list = list;
+			this.size = size;
+			this.divisor = divisor;
+			this.buffer = BufferUtils.createFloatBuffer(size * Math.max(1, capacity));
+		}
+
+		@Override
+		public void storeData() {
+			this.vbo = OpenGL.createVBO();
+			GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, this.vbo);
+			GL15.glBufferData(GL15.GL_ARRAY_BUFFER, this.buffer.capacity() * Float.BYTES, GL15.GL_STREAM_DRAW);
+			GL20.glVertexAttribPointer(this.list, this.size, GL11.GL_FLOAT, false, 0, 0);
+			if(this.divisor != 0) {
+				GL33.glVertexAttribDivisor(this.list, this.divisor);
+			}
+			GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
+		}
+
+		/**
+		 * Orphans the vertex buffer and uploads new data.
+		 * Doubles the size of the buffer until the data fits in it.
+		 * 
+		 * @param data Array containing the new data.
+		 * @param length Number of floats to upload.
+		 */
+		private void update(float[] data, int length) {
+			if(length > this.buffer.capacity()) {
+				int capacity = this.buffer.capacity();
+				while(capacity < length) {
+					capacity *= 2;
+				}
+				this.buffer = BufferUtils.createFloatBuffer(capacity);
+			}
+			this.buffer.clear();
+			this.buffer.put(data, 0, length).flip();
+			GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, this.vbo);
+			GL15.glBufferData(GL15.GL_ARRAY_BUFFER, this.buffer.capacity() * Float.BYTES, GL15.GL_STREAM_DRAW);
+			GL15.glBufferSubData(GL15.GL_ARRAY_BUFFER, 0, this.buffer);
+			GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
+		}
+	}
+
 	/**
 	 * Class to represent an indices buffer.
 	 */
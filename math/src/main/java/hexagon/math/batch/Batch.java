@@ -0,0 +1,100 @@
+package hexagon.math.batch;
+
+import hexagon.math.matrix.Matrix4;
+
+/**
+ * Operations on arrays of values.
+ * <p>
+ * 	Values are stored in primitive arrays, one array per component.
+ * 	If the math module was built with the {@code vector} profile and the {@code jdk.incubator.vector} module is available
+ * 	(i.e., the program was started with {@code --add-modules jdk.incubator.vector}),
+ * 	operations process several values at once using the hardware's SIMD instructions.
+ * 	Otherwise they fall back to plain loops.
+ * </p>
+ * <p>
+ * 	There are no overloads for {@link java.nio.FloatBuffer}s because the engine keeps the data it processes in arrays
+ * 	and only copies it to buffers to upload it to the GPU, after it has been processed.
+ * </p>
+ * 
+ * @author Nico
+ */
+public final class Batch {
+
+	/**Implementation of batch operations chosen when this class is loaded */
+	private static final BatchOperations OPERATIONS = loadOperations();
+
+	/**
+	 * Used internally to choose the implementation of batch operations.
+	 * 
+	 * @return The vector implementation if the vector API is available, otherwise the scalar one
+	 */
+	private static BatchOperations loadOperations() {
+		try {
+			Class.forName("jdk.incubator.vector.FloatVector");
+			return (BatchOperations) Class.forName("hexagon.math.batch.VectorOperations").getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException | LinkageError e) {
+			return new ScalarOperations();
+		}
+	}
+
+	/**
+	 * Gets the implementation of batch operations in use.
+	 * 
+	 * @return The vector implementation if the vector API is available, otherwise the scalar one
+	 */
+	static BatchOperations operations() {
+		return OPERATIONS;
+	}
+
+	/**
+	 * Checks if batch operations use the vector API.
+	 * 
+	 * @return True if batch operations use SIMD instructions, false if they use plain loops
+	 */
+	public static boolean isVectorized() {
+		return !(OPERATIONS instanceof ScalarOperations);
+	}
+
+	/**
+	 * Transforms 2D points by a matrix.
+	 * Points are treated as row vectors {@code (x, y, 0, 1)}, which is how transformation matrices are applied in shaders.
+	 * The result arrays can be the same as the input arrays.
+	 * 
+	 * @param matrix The transformation matrix
+	 * @param x X coordinates of the points
+	 * @param y Y coordinates of the points
+	 * @param resultX Array where the x coordinates of the transformed points are stored
+	 * @param resultY Array where the y coordinates of the transformed points are stored
+	 * @param count Number of points to transform
+	 */
+	public static void transformPoints(Matrix4 matrix, float[] x, float[] y, float[] resultX, float[] resultY, int count) {
+		OPERATIONS.transformPoints(matrix, x, y, resultX, resultY, count);
+	}
+
+	/**
+	 * Computes the axis-aligned bounding box of 2D points.
+	 * If there are no points, the minimum is positive infinity and the maximum is negative infinity.
+	 * 
+	 * @param x X coordinates of the points
+	 * @param y Y coordinates of the points
+	 * @param count Number of points
+	 * @param result Array of at least 4 elements where the minimum x, minimum y, maximum x, and maximum y are stored
+	 */
+	public static void bounds(float[] x, float[] y, int count, float[] result) {
+		OPERATIONS.bounds(x, y, count, result);
+	}
+
+	/**
+	 * Computes the linear interpolation between two arrays.
+	 * The result array can be the same as one of the input arrays.
+	 * 
+	 * @param from Values to interpolate from
+	 * @param to Values to interpolate to
+	 * @param t Interpolation factor, 0 gives the first array, 1 gives the second one
+	 * @param result Array where the result is stored
+	 * @param count Number of values to interpolate
+	 */
+	public static void lerp(float[] from, float[] to, float t, float[] result, int count) {
+		OPERATIONS.lerp(from, to, t, result, count);
+	}
+}
@@ -0,0 +1,33 @@
+package hexagon.math.batch;
+
+import hexagon.math.matrix.Matrix4;
+
+/**
+ * Operations on arrays of values, implemented by {@link ScalarOperations} and {@code VectorOperations}.
+ * Use the static methods in {@link Batch} to get the best available implementation.
+ * 
+ * @author Nico
+ */
+interface BatchOperations {
+
+	/**
+	 * Transforms 2D points by a matrix.
+	 * 
+	 * @see Batch#transformPoints(Matrix4, float[], float[], float[], float[], int)
+	 */
+	void transformPoints(Matrix4 matrix, float[] x, float[] y, float[] resultX, float[] resultY, int count);
+
+	/**
+	 * Computes the bounding box of 2D points.
+	 * 
+	 * @see Batch#bounds(float[], float[], int, float[])
+	 */
+	void bounds(float[] x, float[] y, int count, float[] result);
+
+	/**
+	 * Interpolates two arrays.
+	 * 
+	 * @see Batch#lerp(float[], float[], float, float[], int)
+	 */
+	void lerp(float[] from, float[] to, float t, float[] result, int count);
+}
@@ -0,0 +1,45 @@
+package hexagon.math.batch;
+
+import hexagon.math.matrix.Matrix4;
+
+/**
+ * Implementation of batch operations with plain loops.
+ * Used when the vector API is not available.
+ * 
+ * @author Nico
+ */
+final class ScalarOperations implements BatchOperations {
+
+	@Override
+	public void transformPoints(Matrix4 matrix, float[] x, float[] y, float[] resultX, float[] resultY, int count) {
+		float m00 = matrix.m00(), m01 = matrix.m01(), m10 = matrix.m10(), m11 = matrix.m11(), m30 = matrix.m30(), m31 = matrix.m31();
+		for(int i = 0; i < count; i++) {
+			float px = x[i], py = y[i];
+			resultX[i] = px * m00 + py * m10 + m30;
+			resultY[i] = px * m01 + py * m11 + m31;
+		}
+	}
+
+	@Override
+	public void bounds(float[] x, float[] y, int count, float[] result) {
+		float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY;
+		float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+		for(int i = 0; i < count; i++) {
+			minX = Math.min(minX, x[i]);
+			minY = Math.min(minY, y[i]);
+			maxX = Math.max(maxX, x[i]);
+			maxY = Math.max(maxY, y[i]);
+		}
+		result[0] = minX;
+		result[1] = minY;
+		result[2] = maxX;
+		result[3] = maxY;
+	}
+
+	@Override
+	public void lerp(float[] from, float[] to, float t, float[] result, int count) {
+		for(int i = 0; i < count; i++) {
+			result[i] = from[i] + (to[i] - from[i]) * t;
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package hexagon.math.batch;
+
+import hexagon.math.matrix.Matrix4;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Implementation of batch operations with the {@code jdk.incubator.vector} API.
+ * Processes as many values at once as the hardware's preferred vector size allows
+ * and uses scalar code for the remaining values.
+ * <p>
+ * 	This class can only be loaded if the {@code jdk.incubator.vector} module is available.
+ * </p>
+ * 
+ * @author Nico
+ */
+final class VectorOperations implements BatchOperations {
+
+	/**Preferred vector species of the current hardware */
+	private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+	@Override
+	public void transformPoints(Matrix4 matrix, float[] x, float[] y, float[] resultX, float[] resultY, int count) {
+		float m00 = matrix.m00(), m01 = matrix.m01(), m10 = matrix.m10(), m11 = matrix.m11(), m30 = matrix.m30(), m31 = matrix.m31();
+		FloatVector vm00 = FloatVector.broadcast(SPECIES, m00), vm01 = FloatVector.broadcast(SPECIES, m01);
+		FloatVector vm10 = FloatVector.broadcast(SPECIES, m10), vm11 = FloatVector.broadcast(SPECIES, m11);
+		FloatVector vm30 = FloatVector.broadcast(SPECIES, m30), vm31 = FloatVector.broadcast(SPECIES, m31);
+		int i = 0;
+		for(int bound = SPECIES.loopBound(count); i < bound; i += SPECIES.length()) {
+			FloatVector px = FloatVector.fromArray(SPECIES, x, i);
+			FloatVector py = FloatVector.fromArray(SPECIES, y, i);
+			FloatVector rx = px.fma(vm00, py.fma(vm10, vm30));
+			FloatVector ry = px.fma(vm01, py.fma(vm11, vm31));
+			rx.intoArray(resultX, i);
+			ry.intoArray(resultY, i);
+		}
+		for(; i < count; i++) {
+			float px = x[i], py = y[i];
+			resultX[i] = px * m00 + py * m10 + m30;
+			resultY[i] = px * m01 + py * m11 + m31;
+		}
+	}
+
+	@Override
+	public void bounds(float[] x, float[] y, int count, float[] result) {
+		float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY;
+		float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+		int i = 0;
+		int bound = SPECIES.loopBound(count);
+		if(bound > 0) {
+			FloatVector vMinX = FloatVector.broadcast(SPECIES, minX), vMinY = FloatVector.broadcast(SPECIES, minY);
+			FloatVector vMaxX = FloatVector.broadcast(SPECIES, maxX), vMaxY = FloatVector.broadcast(SPECIES, maxY);
+			for(; i < bound; i += SPECIES.length()) {
+				FloatVector px = FloatVector.fromArray(SPECIES, x, i);
+				FloatVector py = FloatVector.fromArray(SPECIES, y, i);
+				vMinX = vMinX.min(px);
+				vMinY = vMinY.min(py);
+				vMaxX = vMaxX.max(px);
+				vMaxY = vMaxY.max(py);
+			}
+			minX = vMinX.reduceLanes(VectorOperators.MIN);
+			minY = vMinY.reduceLanes(VectorOperators.MIN);
+			maxX = vMaxX.reduceLanes(VectorOperators.MAX);
+			maxY = vMaxY.reduceLanes(VectorOperators.MAX);
+		}
+		for(; i < count; i++) {
+			minX = Math.min(minX, x[i]);
+			minY = Math.min(minY, y[i]);
+			maxX = Math.max(maxX, x[i]);
+			maxY = Math.max(maxY, y[i]);
+		}
+		result[0] = minX;
+		result[1] = minY;
+		result[2] = maxX;
+		result[3] = maxY;
+	}
+
+	@Override
+	public void lerp(float[] from, float[] to, float t, float[] result, int count) {
+		int i = 0;
+		for(int bound = SPECIES.loopBound(count); i < bound; i += SPECIES.length()) {
+			FloatVector a = FloatVector.fromArray(SPECIES, from, i);
+			FloatVector b = FloatVector.fromArray(SPECIES, to, i);
+			b.sub(a).mul(t).add(a).intoArray(result, i);
+		}
+		for(; i < count; i++) {
+			result[i] = from[i] + (to[i] - from[i]) * t;
+		}
+	}
+}
@@ -91,11 +91,13 @@ public record Matrix4(float m00, float m01, float m02, float m03, float m10, flo
 	 * @return The result of the multiplication of this matrix by the given vector
 	 */
 	public Float4 multiply(Float4 vector) {
-		float x = this.row(0).dotProduct(vector);
-		float y = this.row(1).dotProduct(vector);
-		float z = this.row(2).dotProduct(vector);
-		float w = this.row(3).dotProduct(vector);
-		return new Float4(x, y, z, w);
+		float x = vector.x(), y = vector.y(), z = vector.z(), w = vector.w();
+		return new Float4(
+			this.m00() * x + this.m01() * y + this.m02() * z + this.m03() * w,
+			this.m10() * x + this.m11() * y + this.m12() * z + this.m13() * w,
+			this.m20() * x + this.m21() * y + this.m22() * z + this.m23() * w,
+			this.m30() * x + this.m31() * y + this.m32() * z + this.m33() * w
+		);
 	}
 
 	/**
@@ -142,22 +144,22 @@ public record Matrix4(float m00, float m01, float m02, float m03, float m10, flo
 	 */
 	public Matrix4 multiply(Matrix4 matrix) {
 		return matrix != null ? new Matrix4(
-			this.row(0).dotProduct(matrix.column(0)),
-			this.row(0).dotProduct(matrix.column(1)),
-			this.row(0).dotProduct(matrix.column(2)),
-			this.row(0).dotProduct(matrix.column(3)),
-			this.row(1).dotProduct(matrix.column(0)),
-			this.row(1).dotProduct(matrix.column(1)),
-			this.row(1).dotProduct(matrix.column(2)),
-			this.row(1).dotProduct(matrix.column(3)),
-			this.row(2).dotProduct(matrix.column(0)),
-			this.row(2).dotProduct(matrix.column(1)),
-			this.row(2).dotProduct(matrix.column(2)),
-			this.row(2).dotProduct(matrix.column(3)),
-			this.row(3).dotProduct(matrix.column(0)),
-			this.row(3).dotProduct(matrix.column(1)),
-			this.row(3).dotProduct(matrix.column(2)),
-			this.row(3).dotProduct(matrix.column(3))
+			this.m00() * matrix.m00() + this.m01() * matrix.m10() + this.m02() * matrix.m20() + this.m03() * matrix.m30(),
+			this.m00() * matrix.m01() + this.m01() * matrix.m11() + this.m02() * matrix.m21() + this.m03() * matrix.m31(),
+			this.m00() * matrix.m02() + this.m01() * matrix.m12() + this.m02() * matrix.m22() + this.m03() * matrix.m32(),
+			this.m00() * matrix.m03() + this.m01() * matrix.m13() + this.m02() * matrix.m23() + this.m03() * matrix.m33(),
+			this.m10() * matrix.m00() + this.m11() * matrix.m10() + this.m12() * matrix.m20() + this.m13() * matrix.m30(),
+			this.m10() * matrix.m01() + this.m11() * matrix.m11() + this.m12() * matrix.m21() + this.m13() * matrix.m31(),
+			this.m10() * matrix.m02() + this.m11() * matrix.m12() + this.m12() * matrix.m22() + this.m13() * matrix.m32(),
+			this.m10() * matrix.m03() + this.m11() * matrix.m13() + this.m12() * matrix.m23() + this.m13() * matrix.m33(),
+			this.m20() * matrix.m00() + this.m21() * matrix.m10() + this.m22() * matrix.m20() + this.m23() * matrix.m30(),
+			this.m20() * matrix.m01() + this.m21() * matrix.m11() + this.m22() * matrix.m21() + this.m23() * matrix.m31(),
+			this.m20() * matrix.m02() + this.m21() * matrix.m12() + this.m22() * matrix.m22() + this.m23() * matrix.m32(),
+			this.m20() * matrix.m03() + this.m21() * matrix.m13() + this.m22() * matrix.m23() + this.m23() * matrix.m33(),
+			this.m30() * matrix.m00() + this.m31() * matrix.m10() + this.m32() * matrix.m20() + this.m33() * matrix.m30(),
+			this.m30() * matrix.m01() + this.m31() * matrix.m11() + this.m32() * matrix.m21() + this.m33() * matrix.m31(),
+			this.m30() * matrix.m02() + this.m31() * matrix.m12() + this.m32() * matrix.m22() + this.m33() * matrix.m32(),
+			this.m30() * matrix.m03() + this.m31() * matrix.m13() + this.m32() * matrix.m23() + this.m33() * matrix.m33()
 		) : ZERO;
 	}
 
@@ -0,0 +1,251 @@
+package hexagon.math.matrix;
+
+/**
+ * Mutable 4x4 matrix.
+ * 
+ * <p>
+ * 	Mutable companion of {@link Matrix4} meant to be used as a scratch object in code that runs every frame.
+ * 	Operations write their result in an existing matrix instead of allocating a new one.
+ * 	Use {@link Matrix4f#toMatrix4()} to get an immutable copy of the result.
+ * </p>
+ * 
+ * @author Nico
+ */
+public final class Matrix4f {
+
+	/**
+	 * Multiplies two matrices and stores the result in the destination matrix.
+	 * The destination can be the same object as one of the two factors.
+	 * 
+	 * @param a The first matrix in the multiplication
+	 * @param b The second matrix in the multiplication
+	 * @param dest The matrix where the result is stored
+	 * 
+	 * @return The destination matrix
+	 */
+	public static Matrix4f mul(Matrix4f a, Matrix4f b, Matrix4f dest) {
+		return dest.set(
+			a.m00 * b.m00 + a.m01 * b.m10 + a.m02 * b.m20 + a.m03 * b.m30,
+			a.m00 * b.m01 + a.m01 * b.m11 + a.m02 * b.m21 + a.m03 * b.m31,
+			a.m00 * b.m02 + a.m01 * b.m12 + a.m02 * b.m22 + a.m03 * b.m32,
+			a.m00 * b.m03 + a.m01 * b.m13 + a.m02 * b.m23 + a.m03 * b.m33,
+			a.m10 * b.m00 + a.m11 * b.m10 + a.m12 * b.m20 + a.m13 * b.m30,
+			a.m10 * b.m01 + a.m11 * b.m11 + a.m12 * b.m21 + a.m13 * b.m31,
+			a.m10 * b.m02 + a.m11 * b.m12 + a.m12 * b.m22 + a.m13 * b.m32,
+			a.m10 * b.m03 + a.m11 * b.m13 + a.m12 * b.m23 + a.m13 * b.m33,
+			a.m20 * b.m00 + a.m21 * b.m10 + a.m22 * b.m20 + a.m23 * b.m30,
+			a.m20 * b.m01 + a.m21 * b.m11 + a.m22 * b.m21 + a.m23 * b.m31,
+			a.m20 * b.m02 + a.m21 * b.m12 + a.m22 * b.m22 + a.m23 * b.m32,
+			a.m20 * b.m03 + a.m21 * b.m13 + a.m22 * b.m23 + a.m23 * b.m33,
+			a.m30 * b.m00 + a.m31 * b.m10 + a.m32 * b.m20 + a.m33 * b.m30,
+			a.m30 * b.m01 + a.m31 * b.m11 + a.m32 * b.m21 + a.m33 * b.m31,
+			a.m30 * b.m02 + a.m31 * b.m12 + a.m32 * b.m22 + a.m33 * b.m32,
+			a.m30 * b.m03 + a.m31 * b.m13 + a.m32 * b.m23 + a.m33 * b.m33
+		);
+	}
+
+	/**First row */
+	public float m00, m01, m02, m03;
+	/**Second row */
+	public float m10, m11, m12, m13;
+	/**Third row */
+	public float m20, m21, m22, m23;
+	/**Fourth row */
+	public float m30, m31, m32, m33;
+
+	/**
+	 * Creates an identity matrix.
+	 */
+	public Matrix4f() {
+		this.identity();
+	}
+
+	/**
+	 * Creates a matrix with the values of the given one.
+	 * 
+	 * @param matrix The matrix to copy
+	 */
+	public Matrix4f(Matrix4 matrix) {
+		this.set(matrix);
+	}
+
+	/**
+	 * Sets all the values of this matrix.
+	 * Values are given row by row, in the same order as the {@link Matrix4} constructor.
+	 * 
+	 * @param m00 Value in the first row and first column
+	 * @param m01 Value in the first row and second column
+	 * @param m02 Value in the first row and third column
+	 * @param m03 Value in the first row and fourth column
+	 * @param m10 Value in the second row and first column
+	 * @param m11 Value in the second row and second column
+	 * @param m12 Value in the second row and third column
+	 * @param m13 Value in the second row and fourth column
+	 * @param m20 Value in the third row and first column
+	 * @param m21 Value in the third row and second column
+	 * @param m22 Value in the third row and third column
+	 * @param m23 Value in the third row and fourth column
+	 * @param m30 Value in the fourth row and first column
+	 * @param m31 Value in the fourth row and second column
+	 * @param m32 Value in the fourth row and third column
+	 * @param m33 Value in the fourth row and fourth column
+	 * 
+	 * @return {@code this}
+	 */
+	public Matrix4f set(float m00, float m01, float m02, float m03, float m10, float m11, float m12, float m13, float m20, float m21, float m22, float m23, float m30, float m31, float m32, float m33) {
+		this.m00 = m00; this.m01 = m01; this.m02 = m02; this.m03 = m03;
+		this.m10 = m10; this.m11 = m11; this.m12 = m12; this.m13 = m13;
+		this.m20 = m20; this.m21 = m21; this.m22 = m22; this.m23 = m23;
+		this.m30 = m30; this.m31 = m31; this.m32 = m32; this.m33 = m33;
+		return this;
+	}
+
+	/**
+	 * Copies the values of the given matrix in this matrix.
+	 * If the given matrix is {@code null} this matrix is set to zero.
+	 * 
+	 * @param matrix The matrix to copy
+	 * 
+	 * @return {@code this}
+	 */
+	public Matrix4f set(Matrix4 matrix) {
+		if(matrix == null) matrix = Matrix4.ZERO;
+		return this.set(
+			matrix.m00(), matrix.m01(), matrix.m02(), matrix.m03(),
+			matrix.m10(), matrix.m11(), matrix.m12(), matrix.m13(),
+			matrix.m20(), matrix.m21(), matrix.m22(), matrix.m23(),
+			matrix.m30(), matrix.m31(), matrix.m32(), matrix.m33()
+		);
+	}
+
+	/**
+	 * Copies the values of the given matrix in this matrix.
+	 * 
+	 * @param matrix The matrix to copy
+	 * 
+	 * @return {@code this}
+	 */
+	public Matrix4f set(Matrix4f matrix) {
+		return this.set(
+			matrix.m00, matrix.m01, matrix.m02, matrix.m03,
+			matrix.m10, matrix.m11, matrix.m12, matrix.m13,
+			matrix.m20, matrix.m21, matrix.m22, matrix.m23,
+			matrix.m30, matrix.m31, matrix.m32, matrix.m33
+		);
+	}
+
+	/**
+	 * Sets this matrix to the identity matrix.
+	 * 
+	 * @return {@code this}
+	 */
+	public Matrix4f identity() {
+		return this.set(Matrix4.IDENTITY);
+	}
+
+	/**
+	 * Sets this matrix to a translation matrix.
+	 * The translation is stored in the last row, like in {@code Matrices.translation(translation).transposed()}.
+	 * 
+	 * @param x Translation on the x axis
+	 * @param y Translation on the y axis
+	 * @param z Translation on the z axis
+	 * 
+	 * @return {@code this}
+	 */
+	public Matrix4f translation(float x, float y, float z) {
+		return this.set(
+			1.0f, 0.0f, 0.0f, 0.0f,
+			0.0f, 1.0f, 0.0f, 0.0f,
+			0.0f, 0.0f, 1.0f, 0.0f,
+			x, y, z, 1.0f
+		);
+	}
+
+	/**
+	 * Sets this matrix to a scaling matrix.
+	 * 
+	 * @param x Scale on the x axis
+	 * @param y Scale on the y axis
+	 * @param z Scale on the z axis
+	 * 
+	 * @return {@code this}
+	 */
+	public Matrix4f scaling(float x, float y, float z) {
+		return this.set(
+			x, 0.0f, 0.0f, 0.0f,
+			0.0f, y, 0.0f, 0.0f,
+			0.0f, 0.0f, z, 0.0f,
+			0.0f, 0.0f, 0.0f, 1.0f
+		);
+	}
+
+	/**
+	 * Sets this matrix to a rotation matrix.
+	 * Gives the same result as {@link Matrices#rotationDegrees(hexagon.math.vector.Float3)}.
+	 * 
+	 * @param x Rotation around the x axis in degrees
+	 * @param y Rotation around the y axis in degrees
+	 * @param z Rotation around the z axis in degrees
+	 * 
+	 * @return {@code this}
+	 */
+	public Matrix4f rotationDegrees(float x, float y, float z) {
+		return this.rotationRadians((float) Math.toRadians(x), (float) Math.toRadians(y), (float) Math.toRadians(z));
+	}
+
+	/**
+	 * Sets this matrix to a rotation matrix.
+	 * Gives the same result as {@link Matrices#rotationRadians(hexagon.math.vector.Float3)}.
+	 * 
+	 * @param x Rotation around the x axis in radians
+	 * @param y Rotation around the y axis in radians
+	 * @param z Rotation around the z axis in radians
+	 * 
+	 * @return {@code this}
+	 */
+	public Matrix4f rotationRadians(float x, float y, float z) {
+		float cx = (float) Math.cos(x), sx = (float) Math.sin(x);
+		float cy = (float) Math.cos(y), sy = (float) Math.sin(y);
+		float cz = (float) Math.cos(z), sz = (float) Math.sin(z);
+		return this.set(
+			cy * cz, cy * sz, -sy, 0.0f,
+			sx * sy * cz - cx * sz, sx * sy * sz + cx * cz, sx * cy, 0.0f,
+			cx * sy * cz + sx * sz, cx * sy * sz - sx * cz, cx * cy, 0.0f,
+			0.0f, 0.0f, 0.0f, 1.0f
+		);
+	}
+
+	/**
+	 * Multiplies this matrix by the given one and stores the result in this matrix.
+	 * 
+	 * @param matrix The second matrix in the multiplication
+	 * 
+	 * @return {@code this}
+	 */
+	public Matrix4f mul(Matrix4f matrix) {
+		return mul(this, matrix, this);
+	}
+
+	/**
+	 * Creates an immutable copy of this matrix.
+	 * 
+	 * @return A {@link Matrix4} with the values of this matrix
+	 */
+	public Matrix4 toMatrix4() {
+		return new Matrix4(
+			this.m00, this.m01, this.m02, this.m03,
+			this.m10, this.m11, this.m12, this.m13,
+			this.m20, this.m21, this.m22, this.m23,
+			this.m30, this.m31, this.m32, this.m33
+		);
+	}
+
+	@Override
+	public String toString() {
+		return "Matrix4f[" + this.m00 + ", " + this.m01 + ", " + this.m02 + ", " + this.m03 + ", "
+				+ this.m10 + ", " + this.m11 + ", " + this.m12 + ", " + this.m13 + ", "
+				+ this.m20 + ", " + this.m21 + ", " + this.m22 + ", " + this.m23 + ", "
+				+ this.m30 + ", " + this.m31 + ", " + this.m32 + ", " + this.m33 + "]";
+	}
+}
@@ -0,0 +1,153 @@
+package hexagon.math.vector;
+
+/**
+ * Mutable 2D float vector.
+ * 
+ * <p>
+ * 	Mutable companion of {@link Float2} meant to be used as a scratch object in code that runs every frame.
+ * 	Operations modify the vector they are called on or write their result in a destination vector instead of allocating a new one.
+ * 	Use {@link Float2m#toFloat2()} to get an immutable copy.
+ * </p>
+ * 
+ * @author Nico
+ */
+public final class Float2m {
+
+	/**
+	 * Sums two vectors and stores the result in the destination vector.
+	 * The destination can be the same object as one of the two vectors.
+	 * 
+	 * @param a The first vector to sum
+	 * @param b The second vector to sum
+	 * @param dest The vector where the result is stored
+	 * 
+	 * @return The destination vector
+	 */
+	public static Float2m add(Float2m a, Float2m b, Float2m dest) {
+		return dest.set(a.x + b.x, a.y + b.y);
+	}
+
+	/**
+	 * Subtracts the second vector from the first one and stores the result in the destination vector.
+	 * The destination can be the same object as one of the two vectors.
+	 * 
+	 * @param a The first vector
+	 * @param b The vector to subtract
+	 * @param dest The vector where the result is stored
+	 * 
+	 * @return The destination vector
+	 */
+	public static Float2m sub(Float2m a, Float2m b, Float2m dest) {
+		return dest.set(a.x - b.x, a.y - b.y);
+	}
+
+	/**
+	 * Multiplies two vectors component by component and stores the result in the destination vector.
+	 * The destination can be the same object as one of the two vectors.
+	 * 
+	 * @param a The first vector
+	 * @param b The second vector
+	 * @param dest The vector where the result is stored
+	 * 
+	 * @return The destination vector
+	 */
+	public static Float2m mul(Float2m a, Float2m b, Float2m dest) {
+		return dest.set(a.x * b.x, a.y * b.y);
+	}
+
+	/**X component */
+	public float x;
+	/**Y component */
+	public float y;
+
+	/**
+	 * Creates a vector with all components set to zero.
+	 */
+	public Float2m() {
+		this(0.0f, 0.0f);
+	}
+
+	/**
+	 * Creates a vector with the given components.
+	 * 
+	 * @param x X component
+	 * @param y Y component
+	 */
+	public Float2m(float x, float y) {
+		this.set(x, y);
+	}
+
+	/**
+	 * Sets the components of this vector.
+	 * 
+	 * @param x X component
+	 * @param y Y component
+	 * 
+	 * @return {@code this}
+	 */
+	public Float2m set(float x, float y) {
+		this.x = x;
+		this.y = y;
+		return this;
+	}
+
+	/**
+	 * Copies the components of the given vector in this vector.
+	 * If the given vector is {@code null} this vector is set to zero.
+	 * 
+	 * @param v The vector to copy
+	 * 
+	 * @return {@code this}
+	 */
+	public Float2m set(Float2 v) {
+		return v != null ? this.set(v.x(), v.y()) : this.set(0.0f, 0.0f);
+	}
+
+	/**
+	 * Adds the given values to this vector.
+	 * 
+	 * @param x X component of the second vector
+	 * @param y Y component of the second vector
+	 * 
+	 * @return {@code this}
+	 */
+	public Float2m add(float x, float y) {
+		return this.set(this.x + x, this.y + y);
+	}
+
+	/**
+	 * Multiplies this vector by a scalar.
+	 * 
+	 * @param k The scalar
+	 * 
+	 * @return {@code this}
+	 */
+	public Float2m scale(float k) {
+		return this.set(this.x * k, this.y * k);
+	}
+
+	/**
+	 * Computes the dot product between this vector and the given one.
+	 * 
+	 * @param v The second vector
+	 * 
+	 * @return The dot product between the two vectors
+	 */
+	public float dotProduct(Float2m v) {
+		return this.x * v.x + this.y * v.y;
+	}
+
+	/**
+	 * Creates an immutable copy of this vector.
+	 * 
+	 * @return A {@link Float2} with the components of this vector
+	 */
+	public Float2 toFloat2() {
+		return new Float2(this.x, this.y);
+	}
+
+	@Override
+	public String toString() {
+		return "Float2m[" + this.x + ", " + this.y + "]";
+	}
+}
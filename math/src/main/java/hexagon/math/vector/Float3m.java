@@ -0,0 +1,159 @@
+package hexagon.math.vector;
+
+/**
+ * Mutable 3D float vector.
+ * 
+ * <p>
+ * 	Mutable companion of {@link Float3} meant to be used as a scratch object in code that runs every frame.
+ * 	Operations modify the vector they are called on or write their result in a destination vector instead of allocating a new one.
+ * 	Use {@link Float3m#toFloat3()} to get an immutable copy.
+ * </p>
+ * 
+ * @author Nico
+ */
+public final class Float3m {
+
+	/**
+	 * Sums two vectors and stores the result in the destination vector.
+	 * The destination can be the same object as one of the two vectors.
+	 * 
+	 * @param a The first vector to sum
+	 * @param b The second vector to sum
+	 * @param dest The vector where the result is stored
+	 * 
+	 * @return The destination vector
+	 */
+	public static Float3m add(Float3m a, Float3m b, Float3m dest) {
+		return dest.set(a.x + b.x, a.y + b.y, a.z + b.z);
+	}
+
+	/**
+	 * Subtracts the second vector from the first one and stores the result in the destination vector.
+	 * The destination can be the same object as one of the two vectors.
+	 * 
+	 * @param a The first vector
+	 * @param b The vector to subtract
+	 * @param dest The vector where the result is stored
+	 * 
+	 * @return The destination vector
+	 */
+	public static Float3m sub(Float3m a, Float3m b, Float3m dest) {
+		return dest.set(a.x - b.x, a.y - b.y, a.z - b.z);
+	}
+
+	/**
+	 * Multiplies two vectors component by component and stores the result in the destination vector.
+	 * The destination can be the same object as one of the two vectors.
+	 * 
+	 * @param a The first vector
+	 * @param b The second vector
+	 * @param dest The vector where the result is stored
+	 * 
+	 * @return The destination vector
+	 */
+	public static Float3m mul(Float3m a, Float3m b, Float3m dest) {
+		return dest.set(a.x * b.x, a.y * b.y, a.z * b.z);
+	}
+
+	/**X component */
+	public float x;
+	/**Y component */
+	public float y;
+	/**Z component */
+	public float z;
+
+	/**
+	 * Creates a vector with all components set to zero.
+	 */
+	public Float3m() {
+		this(0.0f, 0.0f, 0.0f);
+	}
+
+	/**
+	 * Creates a vector with the given components.
+	 * 
+	 * @param x X component
+	 * @param y Y component
+	 * @param z Z component
+	 */
+	public Float3m(float x, float y, float z) {
+		this.set(x, y, z);
+	}
+
+	/**
+	 * Sets the components of this vector.
+	 * 
+	 * @param x X component
+	 * @param y Y component
+	 * @param z Z component
+	 * 
+	 * @return {@code this}
+	 */
+	public Float3m set(float x, float y, float z) {
+		this.x = x;
+		this.y = y;
+		this.z = z;
+		return this;
+	}
+
+	/**
+	 * Copies the components of the given vector in this vector.
+	 * If the given vector is {@code null} this vector is set to zero.
+	 * 
+	 * @param v The vector to copy
+	 * 
+	 * @return {@code this}
+	 */
+	public Float3m set(Float3 v) {
+		return v != null ? this.set(v.x(), v.y(), v.z()) : this.set(0.0f, 0.0f, 0.0f);
+	}
+
+	/**
+	 * Adds the given values to this vector.
+	 * 
+	 * @param x X component of the second vector
+	 * @param y Y component of the second vector
+	 * @param z Z component of the second vector
+	 * 
+	 * @return {@code this}
+	 */
+	public Float3m add(float x, float y, float z) {
+		return this.set(this.x + x, this.y + y, this.z + z);
+	}
+
+	/**
+	 * Multiplies this vector by a scalar.
+	 * 
+	 * @param k The scalar
+	 * 
+	 * @return {@code this}
+	 */
+	public Float3m scale(float k) {
+		return this.set(this.x * k, this.y * k, this.z * k);
+	}
+
+	/**
+	 * Computes the dot product between this vector and the given one.
+	 * 
+	 * @param v The second vector
+	 * 
+	 * @return The dot product between the two vectors
+	 */
+	public float dotProduct(Float3m v) {
+		return this.x * v.x + this.y * v.y + this.z * v.z;
+	}
+
+	/**
+	 * Creates an immutable copy of this vector.
+	 * 
+	 * @return A {@link Float3} with the components of this vector
+	 */
+	public Float3 toFloat3() {
+		return new Float3(this.x, this.y, this.z);
+	}
+
+	@Override
+	public String toString() {
+		return "Float3m[" + this.x + ", " + this.y + ", " + this.z + "]";
+	}
+}
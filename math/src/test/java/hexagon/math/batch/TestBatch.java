@@ -0,0 +1,107 @@
+package hexagon.math.batch;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import hexagon.math.matrix.Matrix4;
+
+public class TestBatch {
+
+	public static final float PRECISION_ERROR = 0.0001f;
+
+	static Matrix4 transformation = new Matrix4(
+			0.5f, 0.8f, 0.0f, 0.0f,
+			-0.8f, 0.5f, 0.0f, 0.0f,
+			0.0f, 0.0f, 1.0f, 0.0f,
+			3.0f, -2.0f, 0.0f, 1.0f
+	);
+
+	static float[] values(int count, float seed) {
+		float[] values = new float[count];
+		for(int i = 0; i < count; i++) {
+			values[i] = (float) Math.sin(i * seed) * 100.0f;
+		}
+		return values;
+	}
+
+	static BatchOperations[] implementations() {
+		// The vector implementation is only available when building with the vector profile
+		return Batch.isVectorized() ? new BatchOperations[] {new ScalarOperations(), Batch.operations()} : new BatchOperations[] {new ScalarOperations()};
+	}
+
+	@Test
+	public void testTransformPoints() {
+		float[] x = values(37, 1.3f), y = values(37, 0.7f);
+		for(BatchOperations operations : implementations()) {
+			float[] resultX = new float[37], resultY = new float[37];
+			operations.transformPoints(transformation, x, y, resultX, resultY, 37);
+			for(int i = 0; i < 37; i++) {
+				Assertions.assertEquals(x[i] * 0.5f - y[i] * 0.8f + 3.0f, resultX[i], PRECISION_ERROR);
+				Assertions.assertEquals(x[i] * 0.8f + y[i] * 0.5f - 2.0f, resultY[i], PRECISION_ERROR);
+			}
+		}
+	}
+
+	@Test
+	public void testTransformPointsInPlace() {
+		for(BatchOperations operations : implementations()) {
+			float[] x = values(37, 1.3f), y = values(37, 0.7f);
+			float[] expectedX = new float[37], expectedY = new float[37];
+			new ScalarOperations().transformPoints(transformation, x, y, expectedX, expectedY, 37);
+			operations.transformPoints(transformation, x, y, x, y, 37);
+			for(int i = 0; i < 37; i++) {
+				Assertions.assertEquals(expectedX[i], x[i], PRECISION_ERROR);
+				Assertions.assertEquals(expectedY[i], y[i], PRECISION_ERROR);
+			}
+		}
+	}
+
+	@Test
+	public void testBounds() {
+		float[] x = values(53, 1.3f), y = values(53, 0.7f);
+		x[41] = -500.0f;
+		y[2] = 500.0f;
+		for(BatchOperations operations : implementations()) {
+			float[] result = new float[4];
+			operations.bounds(x, y, 53, result);
+			Assertions.assertEquals(-500.0f, result[0]);
+			Assertions.assertEquals(500.0f, result[3]);
+			float[] expected = new float[4];
+			new ScalarOperations().bounds(x, y, 53, expected);
+			for(int i = 0; i < 4; i++) {
+				Assertions.assertEquals(expected[i], result[i]);
+			}
+		}
+	}
+
+	@Test
+	public void testBoundsEmpty() {
+		for(BatchOperations operations : implementations()) {
+			float[] result = new float[4];
+			operations.bounds(new float[0], new float[0], 0, result);
+			Assertions.assertEquals(Float.POSITIVE_INFINITY, result[0]);
+			Assertions.assertEquals(Float.NEGATIVE_INFINITY, result[2]);
+		}
+	}
+
+	@Test
+	public void testLerp() {
+		float[] from = values(29, 1.3f), to = values(29, 0.7f);
+		for(BatchOperations operations : implementations()) {
+			float[] result = new float[29];
+			operations.lerp(from, to, 0.25f, result, 29);
+			for(int i = 0; i < 29; i++) {
+				Assertions.assertEquals(from[i] + (to[i] - from[i]) * 0.25f, result[i], PRECISION_ERROR);
+			}
+		}
+	}
+
+	@Test
+	public void testPartialCount() {
+		float[] from = values(29, 1.3f), to = values(29, 0.7f);
+		float[] result = new float[29];
+		Batch.lerp(from, to, 1.0f, result, 10);
+		Assertions.assertEquals(to[9], result[9], PRECISION_ERROR);
+		Assertions.assertEquals(0.0f, result[10]);
+	}
+}
@@ -0,0 +1,72 @@
+package hexagon.math.matrix;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import hexagon.math.vector.Float3;
+
+public class TestMatrix4f {
+
+	public static final float PRECISION_ERROR = 0.0001f;
+
+	@Test
+	public void testMultiply() {
+		Matrix4 expected = TestMatrix4.mat1.multiply(TestMatrix4.mat2);
+		Matrix4f actual = Matrix4f.mul(new Matrix4f(TestMatrix4.mat1), new Matrix4f(TestMatrix4.mat2), new Matrix4f());
+		Assertions.assertEquals(expected, actual.toMatrix4());
+	}
+
+	@Test
+	public void testMultiplyInPlace() {
+		Matrix4 expected = TestMatrix4.mat1.multiply(TestMatrix4.mat2);
+		Matrix4f a = new Matrix4f(TestMatrix4.mat1);
+		Matrix4f b = new Matrix4f(TestMatrix4.mat2);
+		Assertions.assertSame(a, Matrix4f.mul(a, b, a));
+		Assertions.assertEquals(expected, a.toMatrix4());
+	}
+
+	@Test
+	public void testMultiplySelf() {
+		Matrix4 expected = TestMatrix4.mat1.multiply(TestMatrix4.mat1);
+		Matrix4f a = new Matrix4f(TestMatrix4.mat1);
+		Assertions.assertEquals(expected, a.mul(a).toMatrix4());
+	}
+
+	@Test
+	public void testIdentity() {
+		Assertions.assertEquals(Matrix4.IDENTITY, new Matrix4f().toMatrix4());
+	}
+
+	@Test
+	public void testTranslation() {
+		Matrix4 expected = Matrices.translation(new Float3(1.0f, 2.0f, 3.0f)).transposed();
+		Assertions.assertEquals(expected, new Matrix4f().translation(1.0f, 2.0f, 3.0f).toMatrix4());
+	}
+
+	@Test
+	public void testScaling() {
+		Matrix4 expected = Matrices.scaling(new Float3(1.0f, 2.0f, 3.0f));
+		Assertions.assertEquals(expected, new Matrix4f().scaling(1.0f, 2.0f, 3.0f).toMatrix4());
+	}
+
+	@Test
+	public void testRotation() {
+		Matrix4 expected = Matrices.rotationDegrees(new Float3(30.0f, 45.0f, 60.0f));
+		Matrix4 actual = new Matrix4f().rotationDegrees(30.0f, 45.0f, 60.0f).toMatrix4();
+		assertEqualsWithinError(expected, actual);
+	}
+
+	@Test
+	public void testSetNull() {
+		Assertions.assertEquals(Matrix4.ZERO, new Matrix4f().set((Matrix4) null).toMatrix4());
+	}
+
+	public static void assertEqualsWithinError(Matrix4 expected, Matrix4 actual) {
+		for(int i = 0; i < 4; i++) {
+			Assertions.assertEquals(expected.row(i).x(), actual.row(i).x(), PRECISION_ERROR);
+			Assertions.assertEquals(expected.row(i).y(), actual.row(i).y(), PRECISION_ERROR);
+			Assertions.assertEquals(expected.row(i).z(), actual.row(i).z(), PRECISION_ERROR);
+			Assertions.assertEquals(expected.row(i).w(), actual.row(i).w(), PRECISION_ERROR);
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package hexagon.math.vector;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestFloat2m {
+
+	@Test
+	public void testAdd() {
+		Float2m actual = Float2m.add(new Float2m(1.0f, 2.0f), new Float2m(0.5f, 1.5f), new Float2m());
+		Assertions.assertEquals(new Float2(1.5f, 3.5f), actual.toFloat2());
+	}
+
+	@Test
+	public void testSubtractInPlace() {
+		Float2m a = new Float2m(1.0f, 2.0f);
+		Assertions.assertSame(a, Float2m.sub(a, new Float2m(0.5f, 1.5f), a));
+		Assertions.assertEquals(new Float2(0.5f, 0.5f), a.toFloat2());
+	}
+
+	@Test
+	public void testMultiply() {
+		Float2m actual = Float2m.mul(new Float2m(1.0f, 2.0f), new Float2m(0.5f, 1.5f), new Float2m());
+		Assertions.assertEquals(new Float2(0.5f, 3.0f), actual.toFloat2());
+	}
+
+	@Test
+	public void testScale() {
+		Float2m actual = new Float2m(1.0f, 2.0f).scale(2.0f);
+		Assertions.assertEquals(new Float2(2.0f, 4.0f), actual.toFloat2());
+	}
+}
@@ -0,0 +1,54 @@
+package hexagon.math.vector;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestFloat3m {
+
+	@Test
+	public void testAdd() {
+		Float3m actual = Float3m.add(new Float3m(1.0f, 2.0f, 3.0f), new Float3m(0.5f, 1.5f, 2.0f), new Float3m());
+		Assertions.assertEquals(new Float3(1.5f, 3.5f, 5.0f), actual.toFloat3());
+	}
+
+	@Test
+	public void testAddInPlace() {
+		Float3m a = new Float3m(1.0f, 2.0f, 3.0f);
+		Assertions.assertSame(a, Float3m.add(a, a, a));
+		Assertions.assertEquals(new Float3(2.0f, 4.0f, 6.0f), a.toFloat3());
+	}
+
+	@Test
+	public void testSubtract() {
+		Float3m actual = Float3m.sub(new Float3m(1.0f, 2.0f, 3.0f), new Float3m(0.5f, 1.5f, 2.0f), new Float3m());
+		Assertions.assertEquals(new Float3(0.5f, 0.5f, 1.0f), actual.toFloat3());
+	}
+
+	@Test
+	public void testMultiply() {
+		Float3m actual = Float3m.mul(new Float3m(1.0f, 2.0f, 3.0f), new Float3m(0.5f, 1.5f, 2.0f), new Float3m());
+		Assertions.assertEquals(new Float3(0.5f, 3.0f, 6.0f), actual.toFloat3());
+	}
+
+	@Test
+	public void testAddValues() {
+		Float3m actual = new Float3m(1.0f, 2.0f, 3.0f).add(1.0f, 1.0f, 1.0f);
+		Assertions.assertEquals(new Float3(2.0f, 3.0f, 4.0f), actual.toFloat3());
+	}
+
+	@Test
+	public void testScale() {
+		Float3m actual = new Float3m(1.0f, 2.0f, 3.0f).scale(2.0f);
+		Assertions.assertEquals(new Float3(2.0f, 4.0f, 6.0f), actual.toFloat3());
+	}
+
+	@Test
+	public void testDotProduct() {
+		Assertions.assertEquals(14.0f, new Float3m(1.0f, 2.0f, 3.0f).dotProduct(new Float3m(1.0f, 2.0f, 3.0f)));
+	}
+
+	@Test
+	public void testSetNull() {
+		Assertions.assertEquals(Float3.ZERO, new Float3m(1.0f, 2.0f, 3.0f).set((Float3) null).toFloat3());
+	}
+}
@@ -1,5 +1,7 @@
 package hexagon.utils.json;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -9,6 +11,7 @@ import java.util.stream.Stream;
 
 import org.json.JSONArray;
 import org.json.JSONException;
+import org.json.JSONTokener;
 
 import hexagon.utils.resources.ResourceLoadingException;
 import hexagon.utils.resources.Resources;
@@ -20,7 +23,11 @@ public final class JsonArray {
 	}
 
 	public static JsonArray fromFile(String file) throws ResourceLoadingException {
-		return fromString(Resources.readString(file));
+		try(Reader reader = Resources.openReader(file)) {
+			return new JsonArray(new JSONArray(new JSONTokener(reader)));
+		} catch(IOException e) {
+			throw new ResourceLoadingException("Exception loading resource " + file, e);
+		}
 	}
 
 	public static JsonArray fromFileOrEmpty(String file) {
@@ -37,7 +44,7 @@ public final class JsonArray {
 	
 	private final JSONArray wrapped;
 
-	private JsonArray(JSONArray wrapped) {
+	JsonArray(JSONArray wrapped) {
 		this.wrapped = wrapped;
 	}
 
@@ -91,7 +98,7 @@ public final class JsonArray {
 
 	public Optional<JsonObject> getObject(int index) {
 		try {
-			return Optional.of(JsonObject.fromString(this.wrapped.getJSONObject(index).toString()));
+			return Optional.of(new JsonObject(this.wrapped.getJSONObject(index)));
 		} catch(JSONException e) {
 			return Optional.empty();
 		}
@@ -113,6 +120,34 @@ public final class JsonArray {
 		return this.getArray(index).orElse(JsonArray.empty());
 	}
 
+	/**
+	 * Copies the elements of this array in an {@code int[]} without boxing them.
+	 * Elements that are not numbers are read as {@code 0}.
+	 * 
+	 * @return An array containing the elements of this array as integers
+	 */
+	public int[] toIntArray() {
+		int[] values = new int[this.length()];
+		for(int i = 0; i < values.length; i++) {
+			values[i] = this.wrapped.opt(i) instanceof Number number ? number.intValue() : this.getInt(i, 0);
+		}
+		return values;
+	}
+
+	/**
+	 * Copies the elements of this array in a {@code float[]} without boxing them.
+	 * Elements that are not numbers are read as {@code 0.0f}.
+	 * 
+	 * @return An array containing the elements of this array as floats
+	 */
+	public float[] toFloatArray() {
+		float[] values = new float[this.length()];
+		for(int i = 0; i < values.length; i++) {
+			values[i] = this.wrapped.opt(i) instanceof Number number ? number.floatValue() : this.getFloat(i, 0.0f);
+		}
+		return values;
+	}
+
 	public int length() {
 		return this.wrapped.length();
 	}
@@ -130,9 +165,8 @@ public final class JsonArray {
 
 	public IntStream streamInts() {
 		return IntStream.range(0, this.length())
-			.mapToObj(i -> this.getInt(i))
-			.filter(Optional::isPresent)
-			.mapToInt(Optional::get);
+			.filter(i -> this.wrapped.opt(i) instanceof Number || this.getInt(i).isPresent())
+			.map(i -> this.wrapped.opt(i) instanceof Number number ? number.intValue() : this.getInt(i, 0));
 	}
 
 	public void forEachFloat(Consumer<Float> consumer) {
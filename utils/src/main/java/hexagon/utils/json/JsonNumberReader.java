@@ -0,0 +1,293 @@
+package hexagon.utils.json;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+import hexagon.utils.resources.ResourceLoadingException;
+import hexagon.utils.resources.Resources;
+
+/**
+ * Streaming reader for json arrays of numbers.
+ * <p>
+ * 	Reads arrays such as {@code [1, 2, 3]} straight into {@code int[]} or {@code float[]}
+ * 	without building a json tree and without boxing the values.
+ * 	Meant for large numeric data like the tiles of a tilemap.
+ * </p>
+ * 
+ * @author Nico
+ */
+public final class JsonNumberReader {
+
+	/**Powers of ten that can be represented exactly as doubles */
+	private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+	/**
+	 * Reads an array of integers from a file.
+	 * 
+	 * @param filePath Path of the file to load from the resources folder starting with {@code /}.
+	 * 
+	 * @return The values in the array.
+	 * 
+	 * @throws ResourceLoadingException If the file cannot be found, or an IO error occurs, or the file is not an array of numbers.
+	 */
+	public static int[] readInts(String filePath) throws ResourceLoadingException {
+		try(Reader reader = Resources.openReader(filePath)) {
+			return readInts(reader);
+		} catch(IOException e) {
+			throw new ResourceLoadingException("Exception loading resource " + filePath, e);
+		}
+	}
+
+	/**
+	 * Reads an array of integers.
+	 * Numbers with a fractional part or an exponent are truncated.
+	 * 
+	 * @param reader The reader to read from, it is not closed.
+	 * 
+	 * @return The values in the array.
+	 * 
+	 * @throws IOException If an IO error occurs or the content is not an array of numbers.
+	 */
+	public static int[] readInts(Reader reader) throws IOException {
+		JsonNumberReader numbers = new JsonNumberReader(reader);
+		int[] values = new int[64];
+		int length = 0;
+		while(numbers.hasNext()) {
+			if(length == values.length) {
+				values = Arrays.copyOf(values, length * 2);
+			}
+			values[length++] = (int) numbers.next();
+		}
+		return Arrays.copyOf(values, length);
+	}
+
+	/**
+	 * Reads an array of floats from a file.
+	 * 
+	 * @param filePath Path of the file to load from the resources folder starting with {@code /}.
+	 * 
+	 * @return The values in the array.
+	 * 
+	 * @throws ResourceLoadingException If the file cannot be found, or an IO error occurs, or the file is not an array of numbers.
+	 */
+	public static float[] readFloats(String filePath) throws ResourceLoadingException {
+		try(Reader reader = Resources.openReader(filePath)) {
+			return readFloats(reader);
+		} catch(IOException e) {
+			throw new ResourceLoadingException("Exception loading resource " + filePath, e);
+		}
+	}
+
+	/**
+	 * Reads an array of floats.
+	 * 
+	 * @param reader The reader to read from, it is not closed.
+	 * 
+	 * @return The values in the array.
+	 * 
+	 * @throws IOException If an IO error occurs or the content is not an array of numbers.
+	 */
+	public static float[] readFloats(Reader reader) throws IOException {
+		JsonNumberReader numbers = new JsonNumberReader(reader);
+		float[] values = new float[64];
+		int length = 0;
+		while(numbers.hasNext()) {
+			if(length == values.length) {
+				values = Arrays.copyOf(values, length * 2);
+			}
+			values[length++] = (float) numbers.next();
+		}
+		return Arrays.copyOf(values, length);
+	}
+
+	/**The reader to read from */
+	private final Reader reader;
+	/**Characters read from the reader */
+	private final char[] buffer = new char[8192];
+	/**Index of the next character in the buffer */
+	private int position = 0;
+	/**Number of characters in the buffer */
+	private int limit = 0;
+	/**Number of characters consumed before the buffer */
+	private long offset = 0;
+	/**State of the reader: 0 before the array, 1 before the first element, 2 after an element, 3 after the array */
+	private int state = 0;
+
+	/**
+	 * Creates a json number reader.
+	 * 
+	 * @param reader The reader to read from.
+	 */
+	private JsonNumberReader(Reader reader) {
+		this.reader = reader;
+	}
+
+	/**
+	 * Used internally to check if there is another number in the array.
+	 * Consumes the opening bracket and the separators.
+	 * 
+	 * @return True if there is another number, false if the array is over.
+	 * 
+	 * @throws IOException If an IO error occurs or the content is not an array of numbers.
+	 */
+	private boolean hasNext() throws IOException {
+		if(this.state == 0) {
+			this.expect('[');
+			this.state = 1;
+			if(this.peekSkippingWhitespace() == ']') {
+				this.position++;
+				this.state = 3;
+			}
+		} else if(this.state == 2) {
+			int c = this.peekSkippingWhitespace();
+			if(c == ']') {
+				this.state = 3;
+			} else if(c != ',') {
+				throw this.error("Expected ',' or ']'");
+			}
+			this.position++;
+		}
+		return this.state != 3;
+	}
+
+	/**
+	 * Used internally to read the next number.
+	 * The mantissa is accumulated in a long and scaled with an exact power of ten,
+	 * digits beyond the precision of a long are ignored.
+	 * 
+	 * @return The number that was read.
+	 * 
+	 * @throws IOException If an IO error occurs or the next element is not a number.
+	 */
+	private double next() throws IOException {
+		int c = this.peekSkippingWhitespace();
+		boolean negative = c == '-';
+		if(negative) {
+			this.position++;
+			c = this.peek();
+		}
+		if(c < '0' || c > '9') {
+			throw this.error("Expected number");
+		}
+		long mantissa = 0;
+		int exponent = 0;
+		while((c = this.peek()) >= '0' && c <= '9') {
+			if(mantissa < 100_000_000_000_000_000L) {
+				mantissa = mantissa * 10 + (c - '0');
+			} else {
+				exponent++;
+			}
+			this.position++;
+		}
+		if(c == '.') {
+			this.position++;
+			while((c = this.peek()) >= '0' && c <= '9') {
+				if(mantissa < 100_000_000_000_000_000L) {
+					mantissa = mantissa * 10 + (c - '0');
+					exponent--;
+				}
+				this.position++;
+			}
+		}
+		if(c == 'e' || c == 'E') {
+			this.position++;
+			c = this.peek();
+			boolean negativeExponent = c == '-';
+			if(c == '-' || c == '+') {
+				this.position++;
+			}
+			int value = 0;
+			while((c = this.peek()) >= '0' && c <= '9') {
+				value = Math.min(value * 10 + (c - '0'), 1000);
+				this.position++;
+			}
+			exponent += negativeExponent ? -value : value;
+		}
+		this.state = 2;
+		double result = scale(mantissa, exponent);
+		return negative ? -result : result;
+	}
+
+	/**
+	 * Used internally to multiply a mantissa by a power of ten.
+	 * 
+	 * @param mantissa The mantissa.
+	 * @param exponent The power of ten.
+	 * 
+	 * @return The scaled value.
+	 */
+	private static double scale(long mantissa, int exponent) {
+		double result = mantissa;
+		while(exponent > 0) {
+			int step = Math.min(exponent, POWERS_OF_TEN.length - 1);
+			result *= POWERS_OF_TEN[step];
+			exponent -= step;
+		}
+		while(exponent < 0) {
+			int step = Math.min(-exponent, POWERS_OF_TEN.length - 1);
+			result /= POWERS_OF_TEN[step];
+			exponent += step;
+		}
+		return result;
+	}
+
+	/**
+	 * Used internally to consume a character after skipping whitespace.
+	 * 
+	 * @param expected The expected character.
+	 * 
+	 * @throws IOException If an IO error occurs or the next character is not the expected one.
+	 */
+	private void expect(char expected) throws IOException {
+		if(this.peekSkippingWhitespace() != expected) {
+			throw this.error("Expected '" + expected + "'");
+		}
+		this.position++;
+	}
+
+	/**
+	 * Used internally to skip whitespace and get the next character without consuming it.
+	 * 
+	 * @return The next character or -1 if the end of the stream was reached.
+	 * 
+	 * @throws IOException If an IO error occurs.
+	 */
+	private int peekSkippingWhitespace() throws IOException {
+		int c;
+		while((c = this.peek()) == ' ' || c == '\n' || c == '\r' || c == '\t') {
+			this.position++;
+		}
+		return c;
+	}
+
+	/**
+	 * Used internally to get the next character without consuming it.
+	 * 
+	 * @return The next character or -1 if the end of the stream was reached.
+	 * 
+	 * @throws IOException If an IO error occurs.
+	 */
+	private int peek() throws IOException {
+		if(this.position == this.limit) {
+			this.offset += this.limit;
+			this.position = 0;
+			this.limit = Math.max(this.reader.read(this.buffer), 0);
+			if(this.limit == 0) {
+				return -1;
+			}
+		}
+		return this.buffer[this.position];
+	}
+
+	/**
+	 * Used internally to create an exception for malformed content.
+	 * 
+	 * @param message The error message.
+	 * 
+	 * @return The exception to throw.
+	 */
+	private IOException error(String message) {
+		return new IOException(message + " at character " + (this.offset + this.position));
+	}
+}
@@ -1,11 +1,14 @@
 package hexagon.utils.json;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 
 import org.json.JSONException;
 import org.json.JSONObject;
+import org.json.JSONTokener;
 
 import hexagon.utils.resources.ResourceLoadingException;
 import hexagon.utils.resources.Resources;
@@ -17,7 +20,11 @@ public final class JsonObject {
 	}
 
 	public static JsonObject fromFile(String file) throws ResourceLoadingException {
-		return fromString(Resources.readString(file));
+		try(Reader reader = Resources.openReader(file)) {
+			return new JsonObject(new JSONObject(new JSONTokener(reader)));
+		} catch(IOException e) {
+			throw new ResourceLoadingException("Exception loading resource " + file, e);
+		}
 	}
 
 	public static JsonObject fromFileOrEmpty(String file) {
@@ -34,7 +41,7 @@ public final class JsonObject {
 
 	private final JSONObject wrapped;
 
-	private JsonObject(JSONObject wrapped) {
+	JsonObject(JSONObject wrapped) {
 		this.wrapped = wrapped;
 	}
 
@@ -100,7 +107,7 @@ public final class JsonObject {
 
 	public Optional<JsonArray> getArray(String key) {
 		try {
-			return Optional.of(JsonArray.fromString(this.wrapped.getJSONArray(key).toString()));
+			return Optional.of(new JsonArray(this.wrapped.getJSONArray(key)));
 		} catch(JSONException e) {
 			return Optional.empty();
 		}
@@ -3,7 +3,10 @@ package hexagon.utils.resources;
 import java.awt.image.BufferedImage;
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.Scanner;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -54,6 +57,24 @@ public final class Resources {
 		}
 	}
 
+	/**
+	 * Opens a file as a buffered reader, so that it can be read without loading it in a single string.
+	 * The reader must be closed by the caller.
+	 * 
+	 * @param filePath Path of the file to open from the resources folder starting with {@code /}.
+	 * 
+	 * @return A reader for the file.
+	 * 
+	 * @throws ResourceLoadingException If the file is not found.
+	 */
+	public static Reader openReader(String filePath) throws ResourceLoadingException {
+		InputStream stream = Resources.class.getResourceAsStream(filePath);
+		if(stream == null) {
+			throw new ResourceLoadingException("Cannot find file " + filePath, null);
+		}
+		return new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+	}
+
 	/**
 	 * Loads an image file using {@link javax.imageio.ImageIO}.
 	 * 
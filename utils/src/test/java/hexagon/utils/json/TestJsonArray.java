@@ -0,0 +1,34 @@
+package hexagon.utils.json;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestJsonArray {
+
+	@Test
+	public void testToIntArray() {
+		Assertions.assertArrayEquals(new int[] {1, -2, 300000}, JsonArray.fromString("[1, -2, 300000]").toIntArray());
+	}
+
+	@Test
+	public void testToFloatArray() {
+		Assertions.assertArrayEquals(new float[] {1.5f, -2.25f, 3.0f}, JsonArray.fromString("[1.5, -2.25, 3]").toFloatArray());
+	}
+
+	@Test
+	public void testEmpty() {
+		Assertions.assertArrayEquals(new int[0], JsonArray.fromString("[]").toIntArray());
+		Assertions.assertArrayEquals(new float[0], JsonArray.empty().toFloatArray());
+	}
+
+	@Test
+	public void testNonNumbers() {
+		Assertions.assertArrayEquals(new int[] {1, 0, 3}, JsonArray.fromString("[1, true, 3]").toIntArray());
+		Assertions.assertArrayEquals(new float[] {0.0f, 2.0f}, JsonArray.fromString("[\"a\", 2]").toFloatArray());
+	}
+
+	@Test
+	public void testFractionsToInts() {
+		Assertions.assertArrayEquals(new int[] {1, -1}, JsonArray.fromString("[1.75, -1.75]").toIntArray());
+	}
+}
@@ -0,0 +1,138 @@
+package hexagon.utils.json;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestJsonNumberReader {
+
+	/**Reader that returns at most a few characters at a time to split numbers across reads */
+	static class SlowReader extends Reader {
+
+		private final String string;
+		private final int step;
+		private int position = 0;
+
+		SlowReader(String string, int step) {
+			this.string = string;
+			this.step = step;
+		}
+
+		@Override
+		public int read(char[] buffer, int offset, int length) {
+			if(this.position == this.string.length()) {
+				return -1;
+			}
+			int count = Math.min(Math.min(length, this.step), this.string.length() - this.position);
+			this.string.getChars(this.position, this.position + count, buffer, offset);
+			this.position += count;
+			return count;
+		}
+
+		@Override
+		public void close() {}
+	}
+
+	static float[] readFloats(String json) throws IOException {
+		return JsonNumberReader.readFloats(new StringReader(json));
+	}
+
+	static int[] readInts(String json) throws IOException {
+		return JsonNumberReader.readInts(new StringReader(json));
+	}
+
+	static void assertParsed(String... numbers) throws IOException {
+		float[] values = readFloats("[" + String.join(",", numbers) + "]");
+		Assertions.assertEquals(numbers.length, values.length);
+		for(int i = 0; i < numbers.length; i++) {
+			float expected = (float) Double.parseDouble(numbers[i]);
+			Assertions.assertEquals(expected, values[i], Math.ulp(expected), numbers[i]);
+		}
+	}
+
+	@Test
+	public void testEmptyArray() throws IOException {
+		Assertions.assertArrayEquals(new int[0], readInts("[]"));
+		Assertions.assertArrayEquals(new float[0], readFloats("  [ \n\t ]  "));
+	}
+
+	@Test
+	public void testWhitespace() throws IOException {
+		Assertions.assertArrayEquals(new int[] {1, 2, 3}, readInts("\r\n[ 1 ,\n2\t,3 ]\n"));
+	}
+
+	@Test
+	public void testIntegers() throws IOException {
+		Assertions.assertArrayEquals(new int[] {0, -5, 42, 2147483647, -2147483648}, readInts("[0, -5, 42, 2147483647, -2147483648]"));
+	}
+
+	@Test
+	public void testIntegersAreTruncated() throws IOException {
+		Assertions.assertArrayEquals(new int[] {12, -12, 1000, 0}, readInts("[12.9, -12.9, 1e3, 5e-1]"));
+	}
+
+	@Test
+	public void testFractionsAndExponents() throws IOException {
+		assertParsed("0.5", "-0.25", "3.14159", "-2.5e3", "1E-7", "6.02e+23", "1.0e38", "-0", "0.0", "123456.789");
+	}
+
+	@Test
+	public void testLongMantissa() throws IOException {
+		assertParsed("12345678901234567890123", "0.12345678901234567890123", "-9999999999999999999.5", "1234567890123456789e-10");
+	}
+
+	@Test
+	public void testMatchesParseDouble() throws IOException {
+		Random random = new Random(42);
+		String[] numbers = new String[2000];
+		for(int i = 0; i < numbers.length; i++) {
+			numbers[i] = switch(i % 3) {
+				case 0 -> Float.toString((random.nextFloat() - 0.5f) * 1000.0f);
+				case 1 -> Integer.toString(random.nextInt());
+				default -> (random.nextInt(19) - 9) + "." + random.nextInt(100000) + "e" + (random.nextInt(41) - 20);
+			};
+		}
+		assertParsed(numbers);
+	}
+
+	@Test
+	public void testBufferBoundary() throws IOException {
+		// Every number starts at a different offset from the end of the 8192 characters buffer
+		for(int padding = 8180; padding < 8195; padding++) {
+			String json = " ".repeat(padding) + "[-123.456e1, 98765]";
+			Assertions.assertArrayEquals(new int[] {-1234, 98765}, JsonNumberReader.readInts(new StringReader(json)));
+		}
+		StringBuilder json = new StringBuilder("[");
+		int[] expected = new int[5000];
+		for(int i = 0; i < expected.length; i++) {
+			expected[i] = i * 7919 - 100000;
+			json.append(i > 0 ? ", " : "").append(expected[i]);
+		}
+		json.append(']');
+		Assertions.assertArrayEquals(expected, JsonNumberReader.readInts(new StringReader(json.toString())));
+		Assertions.assertArrayEquals(expected, JsonNumberReader.readInts(new SlowReader(json.toString(), 3)));
+	}
+
+	@Test
+	public void testMalformed() {
+		Assertions.assertThrows(IOException.class, () -> readInts("[1,]"));
+		Assertions.assertThrows(IOException.class, () -> readInts("[1 2]"));
+		Assertions.assertThrows(IOException.class, () -> readInts("[-]"));
+		Assertions.assertThrows(IOException.class, () -> readInts("[1, 2"));
+		Assertions.assertThrows(IOException.class, () -> readInts("1, 2]"));
+		Assertions.assertThrows(IOException.class, () -> readInts("[\"1\"]"));
+		Assertions.assertThrows(IOException.class, () -> readInts(""));
+	}
+
+	@Test
+	public void testErrorPosition() {
+		IOException exception = Assertions.assertThrows(IOException.class, () -> readInts("[1 2]"));
+		Assertions.assertTrue(exception.getMessage().endsWith("at character 3"), exception.getMessage());
+		exception = Assertions.assertThrows(IOException.class, () -> readInts("[1,]"));
+		Assertions.assertTrue(exception.getMessage().endsWith("at character 3"), exception.getMessage());
+	}
+}